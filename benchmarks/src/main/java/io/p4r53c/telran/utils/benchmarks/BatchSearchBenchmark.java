@@ -0,0 +1,98 @@
+package io.p4r53c.telran.utils.benchmarks;
+
+import io.p4r53c.telran.utils.ArraysUtils;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@code binarySearchAll} against a loop of single-key {@code binarySearch}
+ * calls, for a request of 10K keys given sorted or in arrival order.
+ *
+ * @author p4r53c
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+@State(Scope.Thread)
+public class BatchSearchBenchmark {
+
+    @Param({ "1000000", "100000000" })
+    int size;
+
+    @Param({ "10000" })
+    int keyCount;
+
+    @Param({ "true", "false" })
+    boolean sortedKeys;
+
+    int[] sorted;
+    int[] keys;
+    int[] results;
+
+    Integer[] boxedSorted;
+    Integer[] boxedKeys;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+
+        sorted = Distribution.RANDOM.sortedInts(size);
+        keys = new int[keyCount];
+        results = new int[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            keys[i] = random.nextBoolean() ? sorted[random.nextInt(size)] : random.nextInt();
+        }
+        if (sortedKeys) {
+            Arrays.sort(keys);
+        }
+
+        // Boxed variant stays at 1M elements to fit the heap
+        boxedSorted = Distribution.boxed(Arrays.copyOf(sorted, Math.min(size, 1_000_000)));
+        boxedKeys = Distribution.boxed(keys);
+    }
+
+    @Benchmark
+    public int[] singleKeyLoop() {
+        for (int i = 0; i < keyCount; i++) {
+            results[i] = ArraysUtils.binarySearch(sorted, keys[i]);
+        }
+        return results;
+    }
+
+    @Benchmark
+    public int[] batch() {
+        ArraysUtils.binarySearchAll(sorted, keys, results);
+        return results;
+    }
+
+    @Benchmark
+    public int[] singleKeyLoopGeneric() {
+        for (int i = 0; i < keyCount; i++) {
+            results[i] = ArraysUtils.binarySearch(boxedSorted, boxedKeys[i], Comparator.naturalOrder());
+        }
+        return results;
+    }
+
+    @Benchmark
+    public int[] batchGeneric() {
+        ArraysUtils.binarySearchAll(boxedSorted, boxedKeys, Comparator.naturalOrder(), results);
+        return results;
+    }
+}
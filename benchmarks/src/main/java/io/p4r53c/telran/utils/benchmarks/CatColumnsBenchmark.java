@@ -0,0 +1,127 @@
+package io.p4r53c.telran.utils.benchmarks;
+
+import io.p4r53c.telran.utils.ArraysUtils;
+import io.p4r53c.telran.utils.transformer.Cat;
+import io.p4r53c.telran.utils.transformer.CatColumns;
+import io.p4r53c.telran.utils.transformer.CatTransformer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The same cats held as a {@code List<Cat>} and as {@link CatColumns}: scaling
+ * every weight, counting and filtering one kind, and sorting by weight.
+ *
+ * The row-wise side scales through a {@link CatTransformer} that copies every
+ * cat, as the transformers are used elsewhere, and filters by comparing kind
+ * strings.
+ *
+ * @author p4r53c
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+@State(Scope.Thread)
+public class CatColumnsBenchmark {
+
+    private static final String[] KINDS = { "Domestic", "Street", "Wild", "Persian", "Siamese" };
+
+    @Param({ "1000", "1000000" })
+    int size;
+
+    List<Cat> cats;
+    CatColumns columns;
+
+    Cat[] catsToSort;
+    CatColumns columnsToSort;
+
+    CatTransformer<Cat, Cat> doubleWeight = cat -> new Cat(cat.getWeight() * 2, cat.getName(), cat.getKind());
+
+    @Setup
+    public void setUp() {
+        int[] weights = Distribution.RANDOM.ints(size);
+
+        cats = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            cats.add(new Cat(weights[i], "Cat" + (i % 1000), new String(KINDS[i % KINDS.length])));
+        }
+        columns = CatColumns.fromCats(cats);
+    }
+
+    @Setup(Level.Invocation)
+    public void copyUnsorted() {
+        catsToSort = cats.toArray(new Cat[0]);
+        columnsToSort = CatColumns.fromCats(cats);
+    }
+
+    @Benchmark
+    public List<Cat> scaleRows() {
+        return doubleWeight.transformAll(cats);
+    }
+
+    @Benchmark
+    public CatColumns scaleColumns() {
+        columns.scaleWeights(2);
+        return columns;
+    }
+
+    @Benchmark
+    public int countKindRows() {
+        int count = 0;
+
+        for (Cat cat : cats) {
+            count += cat.getKind().equals("Wild") ? 1 : 0;
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int countKindColumns() {
+        return columns.countKind("Wild");
+    }
+
+    @Benchmark
+    public List<Cat> filterKindRows() {
+        List<Cat> result = new ArrayList<>();
+
+        for (Cat cat : cats) {
+            if (cat.getKind().equals("Wild")) {
+                result.add(cat);
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public CatColumns filterKindColumns() {
+        return columns.filterByKind("Wild");
+    }
+
+    @Benchmark
+    public Cat[] sortRows() {
+        ArraysUtils.sortByIntKey(catsToSort, Cat::getWeight);
+        return catsToSort;
+    }
+
+    @Benchmark
+    public CatColumns sortColumns() {
+        columnsToSort.sortByWeight();
+        return columnsToSort;
+    }
+}
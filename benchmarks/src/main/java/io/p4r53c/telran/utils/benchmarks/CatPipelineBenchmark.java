@@ -0,0 +1,110 @@
+package io.p4r53c.telran.utils.benchmarks;
+
+import io.p4r53c.telran.utils.transformer.BigCat;
+import io.p4r53c.telran.utils.transformer.Cat;
+import io.p4r53c.telran.utils.transformer.CatPipeline;
+import io.p4r53c.telran.utils.transformer.CatTransformer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * A chain of {@code stages} Cat/BigCat transformers applied to a list: nested
+ * lambdas calling {@code verboseTransform} at every hop, as
+ * {@code transformChain} used to build them, against a {@link CatPipeline}
+ * applied element by element and in batches.
+ *
+ * INFO is disabled by the benchmarks' {@code logback.xml}, so the nested chain
+ * only pays for the level checks and the call depth.
+ *
+ * @author p4r53c
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+@State(Scope.Thread)
+public class CatPipelineBenchmark {
+
+    @Param({ "2", "4", "8" })
+    int stages;
+
+    @Param({ "1000", "100000" })
+    int size;
+
+    List<Cat> cats;
+    Cat[] catArray;
+    Cat[] destination;
+
+    CatTransformer<Cat, Cat> nested;
+    CatPipeline<Cat, Cat> pipeline;
+
+    @Setup
+    public void setUp() {
+        cats = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            cats.add(new Cat(i % 40, "Cat" + i, i % 2 == 0 ? "Domestic" : "Street"));
+        }
+        catArray = cats.toArray(new Cat[0]);
+        destination = new Cat[size];
+
+        CatTransformer<Cat, BigCat> catToBigCat = cat -> new BigCat(cat.getWeight() + 1, cat.getName(),
+                cat.getKind());
+        CatTransformer<BigCat, Cat> bigCatToCat = bigCat -> new Cat(bigCat.getWeight(), bigCat.getName(),
+                bigCat.getKind());
+        CatTransformer<Cat, Cat> roundTrip = chain(catToBigCat, bigCatToCat);
+        CatPipeline.Builder<Cat, Cat> builder = CatPipeline.from(catToBigCat).then(bigCatToCat);
+
+        nested = roundTrip;
+        for (int s = 2; s < stages; s += 2) {
+            nested = chain(nested, roundTrip);
+            builder = builder.then(catToBigCat).then(bigCatToCat);
+        }
+        pipeline = builder.build();
+    }
+
+    /** The former {@code transformChain}. */
+    private static <T, R, V> CatTransformer<T, V> chain(CatTransformer<T, R> first, CatTransformer<R, V> second) {
+        return t -> second.verboseTransform(first.verboseTransform(t));
+    }
+
+    @Benchmark
+    public List<Cat> nestedChain() {
+        return nested.transformAll(cats);
+    }
+
+    @Benchmark
+    public List<Cat> pipelinePerElement() {
+        List<Cat> result = new ArrayList<>(size);
+
+        for (Cat cat : cats) {
+            result.add(pipeline.verboseTransform(cat));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<Cat> pipelineBatch() {
+        return pipeline.transformAll(cats);
+    }
+
+    @Benchmark
+    public Cat[] pipelineArrayBatch() {
+        pipeline.transformAll(catArray, destination);
+        return destination;
+    }
+}
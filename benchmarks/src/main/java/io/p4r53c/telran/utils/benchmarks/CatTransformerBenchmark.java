@@ -0,0 +1,91 @@
+package io.p4r53c.telran.utils.benchmarks;
+
+import io.p4r53c.telran.utils.transformer.BigCat;
+import io.p4r53c.telran.utils.transformer.Cat;
+import io.p4r53c.telran.utils.transformer.CatTransformer;
+import io.p4r53c.telran.utils.transformer.ExecutionMode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@code transformAll} turning {@link Cat}s into {@link BigCat}s in every
+ * {@link ExecutionMode}, with a CPU-bound transformation and with one that
+ * blocks for {@code blockMicros} per cat, as an enrichment lookup would.
+ *
+ * Concurrency is the default of each mode. Sequential runs of the blocking
+ * transformation on 100000 cats take several seconds per operation.
+ *
+ * @author p4r53c
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+@State(Scope.Thread)
+public class CatTransformerBenchmark {
+
+    private static final String[] KINDS = { "Domestic", "Street", "Wild", "Persian" };
+
+    @Param({ "100", "10000", "100000" })
+    int size;
+
+    @Param
+    ExecutionMode mode;
+
+    @Param({ "0", "50" })
+    int blockMicros;
+
+    List<Cat> cats;
+    CatTransformer<Cat, BigCat> catToBigCat;
+
+    @Setup
+    public void setUp() {
+        cats = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            cats.add(new Cat(i % 40, "Cat" + i, KINDS[i % KINDS.length]));
+        }
+
+        long blockNanos = TimeUnit.MICROSECONDS.toNanos(blockMicros);
+
+        catToBigCat = cat -> {
+            if (blockNanos > 0) {
+                LockSupport.parkNanos(blockNanos);
+            }
+            return new BigCat(cat.getWeight() * 10 + score(cat.getName()), cat.getName().toUpperCase(),
+                    "Big " + cat.getKind());
+        };
+    }
+
+    /** A little arithmetic so the CPU-bound case has something to parallelize. */
+    private static int score(String name) {
+        int score = 0;
+
+        for (int round = 0; round < 64; round++) {
+            for (int i = 0; i < name.length(); i++) {
+                score = 31 * score + name.charAt(i) * (round + 1);
+            }
+        }
+        return score & 7;
+    }
+
+    @Benchmark
+    public List<BigCat> transformAll() {
+        return catToBigCat.transformAll(cats, mode);
+    }
+}
@@ -0,0 +1,107 @@
+package io.p4r53c.telran.utils.benchmarks;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Input distributions shared by all benchmarks.
+ *
+ * Every generator is seeded, so two runs of the same benchmark see exactly the
+ * same data.
+ *
+ * @author p4r53c
+ */
+public enum Distribution {
+
+    SORTED,
+    REVERSED,
+    RANDOM,
+    NEARLY_SORTED,
+    MANY_DUPLICATES;
+
+    private static final long SEED = 42L;
+
+    /** Share of elements displaced in {@link #NEARLY_SORTED}. */
+    private static final int NEARLY_SORTED_SWAPS_PERCENT = 1;
+
+    /** Number of distinct values in {@link #MANY_DUPLICATES}. */
+    private static final int DISTINCT_VALUES = 16;
+
+    /**
+     * Generates an array of the given size following this distribution.
+     *
+     * @param size the number of elements
+     * @return a freshly generated array
+     */
+    public int[] ints(int size) {
+        Random random = new Random(SEED);
+        int[] array = new int[size];
+
+        switch (this) {
+            case SORTED -> fillAscending(array);
+            case REVERSED -> {
+                for (int i = 0; i < size; i++) {
+                    array[i] = size - i;
+                }
+            }
+            case RANDOM -> {
+                for (int i = 0; i < size; i++) {
+                    array[i] = random.nextInt();
+                }
+            }
+            case NEARLY_SORTED -> {
+                fillAscending(array);
+                int swaps = Math.max(1, size / 100 * NEARLY_SORTED_SWAPS_PERCENT);
+
+                for (int i = 0; i < swaps && size > 1; i++) {
+                    int a = random.nextInt(size);
+                    int b = random.nextInt(size);
+                    int temp = array[a];
+                    array[a] = array[b];
+                    array[b] = temp;
+                }
+            }
+            case MANY_DUPLICATES -> {
+                for (int i = 0; i < size; i++) {
+                    array[i] = random.nextInt(DISTINCT_VALUES);
+                }
+            }
+        }
+        return array;
+    }
+
+    /**
+     * Generates an ascending copy of this distribution, suitable for the search
+     * methods which require sorted input.
+     *
+     * @param size the number of elements
+     * @return a sorted array with the values of {@link #ints(int)}
+     */
+    public int[] sortedInts(int size) {
+        int[] array = ints(size);
+
+        Arrays.sort(array);
+        return array;
+    }
+
+    /**
+     * Boxes the given array for the generic {@code T[]} code paths.
+     *
+     * @param array the primitive array
+     * @return the boxed copy
+     */
+    public static Integer[] boxed(int[] array) {
+        Integer[] result = new Integer[array.length];
+
+        for (int i = 0; i < array.length; i++) {
+            result[i] = array[i];
+        }
+        return result;
+    }
+
+    private static void fillAscending(int[] array) {
+        for (int i = 0; i < array.length; i++) {
+            array[i] = i;
+        }
+    }
+}
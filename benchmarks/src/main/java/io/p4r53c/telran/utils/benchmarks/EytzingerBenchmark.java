@@ -0,0 +1,78 @@
+package io.p4r53c.telran.utils.benchmarks;
+
+import io.p4r53c.telran.utils.ArraysUtils;
+import io.p4r53c.telran.utils.EytzingerIndex;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link EytzingerIndex#search(int)} against {@code binarySearch(int[], int)}
+ * on arrays sized for L1 (16 KB), L2 (256 KB), L3 (8 MB) and DRAM (256 MB).
+ *
+ * Keys are uniformly random over the value range, so every lookup takes a
+ * different path through the array.
+ *
+ * @author p4r53c
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+@State(Scope.Thread)
+public class EytzingerBenchmark {
+
+    private static final int KEYS = 1 << 12;
+
+    @Param({ "4096", "65536", "2097152", "67108864" })
+    int size;
+
+    int[] sorted;
+    EytzingerIndex index;
+    int[] keys;
+    int cursor;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+
+        sorted = new int[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = 2 * i;
+        }
+        index = EytzingerIndex.of(sorted);
+
+        keys = new int[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = random.nextInt(2 * size);
+        }
+    }
+
+    private int nextKey() {
+        cursor = (cursor + 1) & (KEYS - 1);
+        return keys[cursor];
+    }
+
+    @Benchmark
+    public int binarySearch() {
+        return ArraysUtils.binarySearch(sorted, nextKey());
+    }
+
+    @Benchmark
+    public int eytzingerSearch() {
+        return index.search(nextKey());
+    }
+}
@@ -0,0 +1,147 @@
+package io.p4r53c.telran.utils.benchmarks;
+
+import io.p4r53c.telran.utils.ArraysUtils;
+import io.p4r53c.telran.utils.Person;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@code T[]} binary searches: explicit comparator, the comparator-less
+ * overload and {@code binarySearchByExplicitPredicate}.
+ *
+ * The comparator-less overload is measured on {@code Integer}, {@code String}
+ * and {@link Person} arrays against {@code binarySearchByToString}, the
+ * toString ordering it used before. The GC profiler attached by
+ * {@link BenchmarkRunner} shows the difference in {@code gc.alloc.rate.norm}:
+ * zero bytes per search against two strings per probe. The toString searches
+ * run on arrays sorted by toString, so both sides do the same number of
+ * probes.
+ *
+ * Boxed arrays are capped at 1M elements, 100M {@code Integer}s do not fit a
+ * sane heap.
+ *
+ * @author p4r53c
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+@State(Scope.Thread)
+public class GenericSearchBenchmark {
+
+    private static final int KEYS = 1024;
+
+    @Param({ "1000", "1000000" })
+    int size;
+
+    @Param({ "SORTED", "MANY_DUPLICATES" })
+    Distribution distribution;
+
+    Integer[] sorted;
+    Integer[] keys;
+    int cursor;
+
+    Integer[] sortedByToString;
+    String[] strings;
+    String[] stringKeys;
+    Person[] persons;
+    Person[] personsByToString;
+    Person[] personKeys;
+
+    @Setup
+    public void setUp() {
+        sorted = Distribution.boxed(distribution.sortedInts(size));
+        keys = new Integer[KEYS];
+
+        Random random = new Random(7);
+
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = random.nextBoolean() ? sorted[random.nextInt(size)] : Integer.valueOf(random.nextInt());
+        }
+
+        sortedByToString = sorted.clone();
+        ArraysUtils.sort(sortedByToString, Comparator.comparing((Integer i) -> i.toString()));
+
+        strings = new String[size];
+        persons = new Person[size];
+        for (int i = 0; i < size; i++) {
+            strings[i] = "login" + sorted[i];
+            persons[i] = new Person(sorted[i], "name" + sorted[i]);
+        }
+        ArraysUtils.sort(strings, Comparator.naturalOrder());
+
+        personsByToString = persons.clone();
+        ArraysUtils.sort(personsByToString, Comparator.comparing(Person::toString));
+
+        stringKeys = new String[KEYS];
+        personKeys = new Person[KEYS];
+        for (int i = 0; i < KEYS; i++) {
+            stringKeys[i] = "login" + keys[i];
+            personKeys[i] = new Person(keys[i], "name" + keys[i]);
+        }
+    }
+
+    private Integer nextKey() {
+        cursor = (cursor + 1) & (KEYS - 1);
+        return keys[cursor];
+    }
+
+    @Benchmark
+    public int binarySearchComparator() {
+        return ArraysUtils.binarySearch(sorted, nextKey(), Comparator.naturalOrder());
+    }
+
+    @Benchmark
+    public int binarySearchWithoutComparator() {
+        return ArraysUtils.binarySearch(sorted, nextKey());
+    }
+
+    @Benchmark
+    public int binarySearchByExplicitPredicate() {
+        return ArraysUtils.binarySearchByExplicitPredicate(sorted, nextKey());
+    }
+
+    @Benchmark
+    public int binarySearchByToString() {
+        return ArraysUtils.binarySearchByToString(sortedByToString, nextKey());
+    }
+
+    @Benchmark
+    public int binarySearchStrings() {
+        cursor = (cursor + 1) & (KEYS - 1);
+        return ArraysUtils.binarySearch(strings, stringKeys[cursor]);
+    }
+
+    @Benchmark
+    public int binarySearchStringsByToString() {
+        cursor = (cursor + 1) & (KEYS - 1);
+        return ArraysUtils.binarySearchByToString(strings, stringKeys[cursor]);
+    }
+
+    @Benchmark
+    public int binarySearchPersons() {
+        cursor = (cursor + 1) & (KEYS - 1);
+        return ArraysUtils.binarySearch(persons, personKeys[cursor]);
+    }
+
+    @Benchmark
+    public int binarySearchPersonsByToString() {
+        cursor = (cursor + 1) & (KEYS - 1);
+        return ArraysUtils.binarySearchByToString(personsByToString, personKeys[cursor]);
+    }
+}
@@ -0,0 +1,101 @@
+package io.p4r53c.telran.utils.benchmarks;
+
+import io.p4r53c.telran.utils.ArraysUtils;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Non-allocating counterparts of the {@link MutationBenchmark} edits.
+ *
+ * In-place edits are measured as an insert followed by the matching remove, so
+ * the buffer returns to its initial state after every call. The GC profiler
+ * attached by {@link BenchmarkRunner} should report
+ * {@code gc.alloc.rate.norm} of zero bytes per operation for all of them.
+ *
+ * @author p4r53c
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+@State(Scope.Thread)
+public class InPlaceMutationBenchmark {
+
+    @Param({ "1000", "1000000" })
+    int size;
+
+    @Param
+    Distribution distribution;
+
+    int[] data;
+    int[] buffer;
+    int[] destination;
+    int[] sortedBuffer;
+    Integer[] boxed;
+    Integer[] boxedBuffer;
+    Integer[] boxedDestination;
+    Integer boxedValue;
+
+    @Setup
+    public void setUp() {
+        data = distribution.ints(size);
+        buffer = Arrays.copyOf(data, size + 1);
+        destination = new int[size + 1];
+        sortedBuffer = Arrays.copyOf(distribution.sortedInts(size), size + 1);
+        boxed = Distribution.boxed(data);
+        boxedBuffer = Arrays.copyOf(boxed, size + 1);
+        boxedDestination = new Integer[size + 1];
+        boxedValue = size;
+    }
+
+    @Benchmark
+    public int insertAndRemoveInPlace() {
+        int length = ArraysUtils.insertInPlace(buffer, size, size / 2, size);
+
+        return ArraysUtils.removeInPlace(buffer, length, size / 2);
+    }
+
+    @Benchmark
+    public int insertSortedAndRemoveInPlace() {
+        int value = sortedBuffer[size / 2];
+        int length = ArraysUtils.insertSortedInPlace(sortedBuffer, size, value);
+
+        return ArraysUtils.removeInPlace(sortedBuffer, length, ArraysUtils.lowerBound(sortedBuffer, 0, length, value));
+    }
+
+    @Benchmark
+    public int insertAndRemoveInPlaceGeneric() {
+        int length = ArraysUtils.insertInPlace(boxedBuffer, size, size / 2, boxedValue);
+
+        return ArraysUtils.removeInPlace(boxedBuffer, length, size / 2);
+    }
+
+    @Benchmark
+    public int insertByArraycopyIntoDestination() {
+        return ArraysUtils.insertByArraycopy(data, size / 2, size, destination);
+    }
+
+    @Benchmark
+    public int removeByArraycopyIntoDestination() {
+        return ArraysUtils.removeByArraycopy(data, size / 2, destination);
+    }
+
+    @Benchmark
+    public int insertSortedGenericIntoDestination() {
+        return ArraysUtils.insertSorted(boxed, size / 2, boxedValue, boxedDestination);
+    }
+}
@@ -0,0 +1,86 @@
+package io.p4r53c.telran.utils.benchmarks;
+
+import io.p4r53c.telran.utils.ArraysUtils;
+import io.p4r53c.telran.utils.IntArrayList;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Building an array of n values one by one: the copying helpers of
+ * {@link ArraysUtils} against {@link IntArrayList}.
+ *
+ * @author p4r53c
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+@State(Scope.Thread)
+public class IntArrayListBenchmark {
+
+    @Param({ "1000", "10000" })
+    int size;
+
+    @Param({ "RANDOM", "SORTED" })
+    Distribution distribution;
+
+    int[] values;
+
+    @Setup
+    public void setUp() {
+        values = distribution.ints(size);
+    }
+
+    @Benchmark
+    public int[] appendByCopyOf() {
+        int[] result = new int[0];
+
+        for (int value : values) {
+            result = ArraysUtils.addByCopyOf(result, value);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public int[] appendToList() {
+        IntArrayList list = new IntArrayList();
+
+        for (int value : values) {
+            list.add(value);
+        }
+        return list.backingArray();
+    }
+
+    @Benchmark
+    public int[] insertSortedByCopy() {
+        int[] result = new int[0];
+
+        for (int value : values) {
+            result = ArraysUtils.insertSorted(result, value);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public int[] addSortedToList() {
+        IntArrayList list = new IntArrayList();
+
+        for (int value : values) {
+            list.addSorted(value);
+        }
+        return list.backingArray();
+    }
+}
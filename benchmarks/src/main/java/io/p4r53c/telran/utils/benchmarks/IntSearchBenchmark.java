@@ -0,0 +1,92 @@
+package io.p4r53c.telran.utils.benchmarks;
+
+import io.p4r53c.telran.utils.ArraysUtils;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@code searchByIndex}, {@code binarySearch(int[], int)} and the bound
+ * searches over 1K, 1M and 100M elements.
+ *
+ * Keys are drawn from the data itself with a 50% miss rate and cycled through a
+ * fixed table, so the measurement is not dominated by a single hot cache line.
+ *
+ * @author p4r53c
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+@State(Scope.Thread)
+public class IntSearchBenchmark {
+
+    private static final int KEYS = 1024;
+
+    @Param({ "1000", "1000000", "100000000" })
+    int size;
+
+    @Param
+    Distribution distribution;
+
+    int[] data;
+    int[] sorted;
+    int[] keys;
+    int cursor;
+
+    @Setup
+    public void setUp() {
+        data = distribution.ints(size);
+        sorted = distribution.sortedInts(size);
+        keys = new int[KEYS];
+
+        Random random = new Random(7);
+
+        for (int i = 0; i < KEYS; i++) {
+            keys[i] = random.nextBoolean() ? sorted[random.nextInt(size)] : random.nextInt();
+        }
+    }
+
+    private int nextKey() {
+        cursor = (cursor + 1) & (KEYS - 1);
+        return keys[cursor];
+    }
+
+    @Benchmark
+    public int searchByIndex() {
+        return ArraysUtils.searchByIndex(data, nextKey());
+    }
+
+    @Benchmark
+    public int binarySearch() {
+        return ArraysUtils.binarySearch(sorted, nextKey());
+    }
+
+    @Benchmark
+    public int lowerBound() {
+        return ArraysUtils.lowerBound(sorted, nextKey());
+    }
+
+    @Benchmark
+    public int upperBound() {
+        return ArraysUtils.upperBound(sorted, nextKey());
+    }
+
+    @Benchmark
+    public int[] equalRange() {
+        return ArraysUtils.equalRange(sorted, nextKey());
+    }
+}
@@ -0,0 +1,67 @@
+package io.p4r53c.telran.utils.benchmarks;
+
+import io.p4r53c.telran.utils.ArraysUtils;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@code int[]} sort engine against {@link Arrays#sort(int[])} on sizes the
+ * bubble sort could never reach. See {@link SortBenchmark} for the comparison
+ * with the old bubble sort.
+ *
+ * @author p4r53c
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+@State(Scope.Thread)
+public class IntSortBenchmark {
+
+    @Param({ "1000", "1000000", "10000000" })
+    int size;
+
+    @Param
+    Distribution distribution;
+
+    int[] source;
+    int[] ints;
+
+    @Setup
+    public void setUp() {
+        source = distribution.ints(size);
+        ints = new int[size];
+    }
+
+    @Setup(Level.Invocation)
+    public void copy() {
+        System.arraycopy(source, 0, ints, 0, size);
+    }
+
+    @Benchmark
+    public int[] sortEngine() {
+        ArraysUtils.sort(ints);
+        return ints;
+    }
+
+    @Benchmark
+    public int[] jdkSort() {
+        Arrays.sort(ints);
+        return ints;
+    }
+}
@@ -0,0 +1,116 @@
+package io.p4r53c.telran.utils.benchmarks;
+
+import io.p4r53c.telran.utils.ArraysUtils;
+import io.p4r53c.telran.utils.Person;
+
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Sorting by key against sorting with the equivalent comparator, the
+ * {@code UserIdComparator} and {@code UserLoginComparator} cases of the tests
+ * played by {@link Person} ids and names ({@code User} is not visible outside
+ * its package).
+ *
+ * Names share the {@code "name"} prefix, as logins often share a domain or a
+ * company prefix, so the cached-prefix mode has to fall back to full string
+ * comparisons; {@code sortByShortName} shows the case where it does not.
+ *
+ * @author p4r53c
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+@State(Scope.Thread)
+public class KeySortBenchmark {
+
+    private static final Comparator<Person> BY_ID = Comparator.comparingLong(Person::getId);
+    private static final Comparator<Person> BY_NAME = Comparator.comparing(Person::getName);
+
+    @Param({ "1000", "100000", "1000000" })
+    int size;
+
+    @Param({ "RANDOM", "MANY_DUPLICATES" })
+    Distribution distribution;
+
+    Person[] source;
+    Person[] shortNameSource;
+    Person[] persons;
+
+    @Setup
+    public void setUp() {
+        int[] ids = distribution.ints(size);
+
+        source = new Person[size];
+        shortNameSource = new Person[size];
+        for (int i = 0; i < size; i++) {
+            source[i] = new Person(ids[i], "name" + ids[i]);
+            shortNameSource[i] = new Person(ids[i], Integer.toString(ids[i], Character.MAX_RADIX));
+        }
+        persons = new Person[size];
+    }
+
+    @Setup(Level.Invocation)
+    public void copy() {
+        System.arraycopy(source, 0, persons, 0, size);
+    }
+
+    @Benchmark
+    public Person[] sortByIdComparator() {
+        ArraysUtils.sort(persons, BY_ID);
+        return persons;
+    }
+
+    @Benchmark
+    public Person[] sortByLongKey() {
+        ArraysUtils.sortByLongKey(persons, Person::getId);
+        return persons;
+    }
+
+    @Benchmark
+    public Person[] sortByIntKey() {
+        ArraysUtils.sortByIntKey(persons, p -> (int) p.getId());
+        return persons;
+    }
+
+    @Benchmark
+    public Person[] sortByNameComparator() {
+        ArraysUtils.sort(persons, BY_NAME);
+        return persons;
+    }
+
+    @Benchmark
+    public Person[] sortByStringKey() {
+        ArraysUtils.sortByStringKey(persons, Person::getName);
+        return persons;
+    }
+
+    @Benchmark
+    public Person[] sortByShortNameComparator() {
+        System.arraycopy(shortNameSource, 0, persons, 0, size);
+        ArraysUtils.sort(persons, BY_NAME);
+        return persons;
+    }
+
+    @Benchmark
+    public Person[] sortByShortNameKey() {
+        System.arraycopy(shortNameSource, 0, persons, 0, size);
+        ArraysUtils.sortByStringKey(persons, Person::getName);
+        return persons;
+    }
+}
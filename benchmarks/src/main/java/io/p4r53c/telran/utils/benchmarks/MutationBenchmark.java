@@ -0,0 +1,98 @@
+package io.p4r53c.telran.utils.benchmarks;
+
+import io.p4r53c.telran.utils.ArraysUtils;
+import io.p4r53c.telran.utils.SortednessProfile;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Copying add/insert/remove helpers, the sortedness checks and the
+ * sortedness profile.
+ *
+ * Each benchmark performs one edit against a source array that never changes,
+ * so the numbers are the per-edit cost including the fresh result array.
+ *
+ * @author p4r53c
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+@State(Scope.Thread)
+public class MutationBenchmark {
+
+    @Param({ "1000", "1000000" })
+    int size;
+
+    @Param
+    Distribution distribution;
+
+    int[] data;
+    int[] sorted;
+    Integer[] boxed;
+
+    @Setup
+    public void setUp() {
+        data = distribution.ints(size);
+        sorted = distribution.sortedInts(size);
+        boxed = Distribution.boxed(data);
+    }
+
+    @Benchmark
+    public int[] addByCopyOf() {
+        return ArraysUtils.addByCopyOf(data, size);
+    }
+
+    @Benchmark
+    public int[] addByArraycopy() {
+        return ArraysUtils.addByArraycopy(data, size);
+    }
+
+    @Benchmark
+    public int[] insertByArraycopy() {
+        return ArraysUtils.insertByArraycopy(data, size / 2, size);
+    }
+
+    @Benchmark
+    public int[] removeByArraycopy() {
+        return ArraysUtils.removeByArraycopy(data, size / 2);
+    }
+
+    @Benchmark
+    public int[] insertSorted() {
+        return ArraysUtils.insertSorted(sorted, sorted[size / 2]);
+    }
+
+    @Benchmark
+    public Integer[] insertSortedGeneric() {
+        return ArraysUtils.insertSorted(boxed, size / 2, size);
+    }
+
+    @Benchmark
+    public boolean isSorted() {
+        return ArraysUtils.isSorted(data);
+    }
+
+    @Benchmark
+    public boolean isOneSwapNeeded() {
+        return ArraysUtils.isOneSwapNeeded(data);
+    }
+
+    @Benchmark
+    public SortednessProfile sortednessProfile() {
+        return ArraysUtils.sortednessProfile(data);
+    }
+}
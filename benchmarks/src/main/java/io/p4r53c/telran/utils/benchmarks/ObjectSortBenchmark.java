@@ -0,0 +1,82 @@
+package io.p4r53c.telran.utils.benchmarks;
+
+import io.p4r53c.telran.utils.ArraysUtils;
+import io.p4r53c.telran.utils.Person;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@code sort(T[], Comparator)} on {@link Person} records against
+ * {@link Arrays#sort(Object[], Comparator)}, by id and by name.
+ *
+ * @author p4r53c
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+@State(Scope.Thread)
+public class ObjectSortBenchmark {
+
+    private static final Comparator<Person> BY_ID = Comparator.comparingLong(Person::getId);
+    private static final Comparator<Person> BY_NAME = Comparator.comparing(Person::getName);
+
+    @Param({ "1000", "100000", "1000000" })
+    int size;
+
+    @Param
+    Distribution distribution;
+
+    Person[] source;
+    Person[] persons;
+
+    @Setup
+    public void setUp() {
+        int[] ids = distribution.ints(size);
+
+        source = new Person[size];
+        for (int i = 0; i < size; i++) {
+            source[i] = new Person(ids[i], "name" + ids[i]);
+        }
+        persons = new Person[size];
+    }
+
+    @Setup(Level.Invocation)
+    public void copy() {
+        System.arraycopy(source, 0, persons, 0, size);
+    }
+
+    @Benchmark
+    public Person[] sortById() {
+        ArraysUtils.sort(persons, BY_ID);
+        return persons;
+    }
+
+    @Benchmark
+    public Person[] sortByName() {
+        ArraysUtils.sort(persons, BY_NAME);
+        return persons;
+    }
+
+    @Benchmark
+    public Person[] jdkSortById() {
+        Arrays.sort(persons, BY_ID);
+        return persons;
+    }
+}
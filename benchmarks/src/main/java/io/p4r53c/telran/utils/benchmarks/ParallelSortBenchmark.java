@@ -0,0 +1,87 @@
+package io.p4r53c.telran.utils.benchmarks;
+
+import io.p4r53c.telran.utils.ArraysUtils;
+
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Scalability of {@code parallelSort} for {@code int[]} and {@code T[]} with a
+ * dedicated {@link ForkJoinPool} of 1 to 64 workers. The 1-worker pool is the
+ * sequential baseline.
+ *
+ * @author p4r53c
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms8g", "-Xmx8g" })
+@State(Scope.Benchmark)
+public class ParallelSortBenchmark {
+
+    @Param({ "1", "2", "4", "8", "16", "32", "64" })
+    int threads;
+
+    @Param({ "10000000" })
+    int size;
+
+    @Param({ "8192" })
+    int threshold;
+
+    @Param({ "RANDOM", "NEARLY_SORTED" })
+    Distribution distribution;
+
+    ForkJoinPool pool;
+    int[] source;
+    int[] ints;
+    Integer[] boxedSource;
+    Integer[] boxed;
+
+    @Setup
+    public void setUp() {
+        pool = new ForkJoinPool(threads);
+        source = distribution.ints(size);
+        boxedSource = Distribution.boxed(source);
+        ints = new int[size];
+        boxed = new Integer[size];
+    }
+
+    @Setup(Level.Invocation)
+    public void copy() {
+        System.arraycopy(source, 0, ints, 0, size);
+        System.arraycopy(boxedSource, 0, boxed, 0, size);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public int[] parallelSortInts() {
+        ArraysUtils.parallelSort(ints, threshold, pool);
+        return ints;
+    }
+
+    @Benchmark
+    public Integer[] parallelSortObjects() {
+        ArraysUtils.parallelSort(boxed, Comparator.naturalOrder(), threshold, pool);
+        return boxed;
+    }
+}
@@ -0,0 +1,71 @@
+package io.p4r53c.telran.utils.benchmarks;
+
+import io.p4r53c.telran.utils.ArraysUtils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Predicate based filtering: {@code getSubArrayByPredicate} and both
+ * {@code removeIf} flavours, keeping roughly half of the elements. The
+ * parallel variant runs in the common pool for arrays of 16K elements and up.
+ *
+ * @author p4r53c
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+@State(Scope.Thread)
+public class PredicateBenchmark {
+
+    private static final Predicate<Integer> IS_EVEN = i -> (i & 1) == 0;
+
+    private static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    @Param({ "1000", "100000", "10000000" })
+    int size;
+
+    @Param({ "RANDOM", "MANY_DUPLICATES" })
+    Distribution distribution;
+
+    Integer[] data;
+
+    @Setup
+    public void setUp() {
+        data = Distribution.boxed(distribution.ints(size));
+    }
+
+    @Benchmark
+    public Integer[] getSubArrayByPredicate() {
+        return ArraysUtils.getSubArrayByPredicate(data, IS_EVEN);
+    }
+
+    @Benchmark
+    public Integer[] getSubArrayByPredicateParallel() {
+        return ArraysUtils.getSubArrayByPredicate(data, IS_EVEN, PARALLEL_THRESHOLD);
+    }
+
+    @Benchmark
+    public Integer[] removeIfbyGetSubArrayByPredicate() {
+        return ArraysUtils.removeIfbyGetSubArrayByPredicate(data, IS_EVEN);
+    }
+
+    @Benchmark
+    public Integer[] removeIfByStreamApiAndPredicate() {
+        return ArraysUtils.removeIfByStreamApiAndPredicate(data, IS_EVEN);
+    }
+}
@@ -0,0 +1,158 @@
+package io.p4r53c.telran.utils.benchmarks;
+
+import io.p4r53c.telran.utils.ArraysUtils;
+
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@code long[]}, {@code double[]} and {@code short[]} overloads against
+ * the boxed generic path they replace: sorting with a natural-order comparator
+ * and searching with {@link ArraysUtils#binarySearch(Object[], Object,
+ * Comparator)}.
+ *
+ * @author p4r53c
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+@State(Scope.Thread)
+public class PrimitiveFamiliesBenchmark {
+
+    @Param({ "1000", "1000000" })
+    int size;
+
+    @Param({ "RANDOM", "MANY_DUPLICATES" })
+    Distribution distribution;
+
+    long[] longSource;
+    double[] doubleSource;
+    short[] shortSource;
+
+    long[] longs;
+    double[] doubles;
+    short[] shorts;
+    Long[] boxedLongs;
+    Double[] boxedDoubles;
+
+    long[] sortedLongs;
+    Long[] sortedBoxedLongs;
+    double[] sortedDoubles;
+    Double[] sortedBoxedDoubles;
+
+    long longKey;
+    double doubleKey;
+
+    @Setup
+    public void setUp() {
+        int[] ints = distribution.ints(size);
+
+        longSource = new long[size];
+        doubleSource = new double[size];
+        shortSource = new short[size];
+
+        for (int i = 0; i < size; i++) {
+            longSource[i] = (long) ints[i] << 16;
+            doubleSource[i] = ints[i] / 7.0;
+            shortSource[i] = (short) ints[i];
+        }
+
+        longs = new long[size];
+        doubles = new double[size];
+        shorts = new short[size];
+        boxedLongs = new Long[size];
+        boxedDoubles = new Double[size];
+
+        sortedLongs = longSource.clone();
+        sortedDoubles = doubleSource.clone();
+        ArraysUtils.sort(sortedLongs);
+        ArraysUtils.sort(sortedDoubles);
+
+        sortedBoxedLongs = new Long[size];
+        sortedBoxedDoubles = new Double[size];
+        for (int i = 0; i < size; i++) {
+            sortedBoxedLongs[i] = sortedLongs[i];
+            sortedBoxedDoubles[i] = sortedDoubles[i];
+        }
+
+        longKey = sortedLongs[size / 3];
+        doubleKey = sortedDoubles[size / 3];
+    }
+
+    @Setup(Level.Invocation)
+    public void copy() {
+        System.arraycopy(longSource, 0, longs, 0, size);
+        System.arraycopy(doubleSource, 0, doubles, 0, size);
+        System.arraycopy(shortSource, 0, shorts, 0, size);
+
+        for (int i = 0; i < size; i++) {
+            boxedLongs[i] = longSource[i];
+            boxedDoubles[i] = doubleSource[i];
+        }
+    }
+
+    @Benchmark
+    public long[] sortLongs() {
+        ArraysUtils.sort(longs);
+        return longs;
+    }
+
+    @Benchmark
+    public Long[] sortBoxedLongs() {
+        ArraysUtils.sort(boxedLongs, Comparator.naturalOrder());
+        return boxedLongs;
+    }
+
+    @Benchmark
+    public double[] sortDoubles() {
+        ArraysUtils.sort(doubles);
+        return doubles;
+    }
+
+    @Benchmark
+    public Double[] sortBoxedDoubles() {
+        ArraysUtils.sort(boxedDoubles, Comparator.naturalOrder());
+        return boxedDoubles;
+    }
+
+    @Benchmark
+    public short[] sortShorts() {
+        ArraysUtils.sort(shorts);
+        return shorts;
+    }
+
+    @Benchmark
+    public int binarySearchLongs() {
+        return ArraysUtils.binarySearch(sortedLongs, longKey);
+    }
+
+    @Benchmark
+    public int binarySearchBoxedLongs() {
+        return ArraysUtils.binarySearch(sortedBoxedLongs, longKey, Comparator.naturalOrder());
+    }
+
+    @Benchmark
+    public int binarySearchDoubles() {
+        return ArraysUtils.binarySearch(sortedDoubles, doubleKey);
+    }
+
+    @Benchmark
+    public int binarySearchBoxedDoubles() {
+        return ArraysUtils.binarySearch(sortedBoxedDoubles, doubleKey, Comparator.naturalOrder());
+    }
+}
@@ -0,0 +1,127 @@
+package io.p4r53c.telran.utils.benchmarks;
+
+import io.p4r53c.telran.utils.ArraysUtils;
+import io.p4r53c.telran.utils.CharPredicate;
+import io.p4r53c.telran.utils.CharacterRule;
+import io.p4r53c.telran.utils.RuleMatcher;
+import io.p4r53c.telran.utils.emums.ErrorString;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Validating a batch of short identifiers: {@code matchesRules} in a loop
+ * against the {@link RuleMatcher} bulk methods, sequential and parallel, on
+ * separate arrays and on one packed array.
+ *
+ * @author p4r53c
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+@State(Scope.Thread)
+public class RuleBatchBenchmark {
+
+    private static final int IDENTIFIER_LENGTH = 16;
+    private static final int PARALLEL_THRESHOLD = 1 << 12;
+    private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789_ ";
+
+    @Param({ "10000", "1000000" })
+    int count;
+
+    CharacterRule[] mustBeRules;
+    CharacterRule[] mustNotBeRules;
+    RuleMatcher matcher;
+    char[][] inputs;
+    char[] packed;
+    int[] offsets;
+
+    @Setup
+    public void setUp() {
+        mustBeRules = new CharacterRule[] {
+                CharacterRule.mustBe(Character::isUpperCase, ErrorString.UPPERCASE_REQUIRED),
+                CharacterRule.mustBe(Character::isLowerCase, ErrorString.LOWERCASE_REQUIRED),
+                CharacterRule.mustBe(Character::isDigit, ErrorString.DIGIT_REQUIRED),
+                CharacterRule.mustBe(CharPredicate.is('.'), ErrorString.DOT_REQUIRED)
+        };
+        mustNotBeRules = new CharacterRule[] {
+                CharacterRule.mustNotBe(Character::isWhitespace, ErrorString.SPACES_NOT_ALLOWED)
+        };
+        matcher = RuleMatcher.compile(mustBeRules, mustNotBeRules);
+
+        Random random = new Random(13);
+
+        inputs = new char[count][];
+        packed = new char[count * IDENTIFIER_LENGTH];
+        offsets = new int[count + 1];
+
+        for (int i = 0; i < count; i++) {
+            inputs[i] = randomIdentifier(random);
+            System.arraycopy(inputs[i], 0, packed, i * IDENTIFIER_LENGTH, IDENTIFIER_LENGTH);
+            offsets[i + 1] = (i + 1) * IDENTIFIER_LENGTH;
+        }
+    }
+
+    /**
+     * Three out of four identifiers are valid, the rest miss a rule or
+     * contain a space.
+     */
+    private static char[] randomIdentifier(Random random) {
+        char[] result = new char[IDENTIFIER_LENGTH];
+
+        for (int i = 0; i < IDENTIFIER_LENGTH; i++) {
+            result[i] = ALPHABET.charAt(random.nextInt(ALPHABET.length()));
+        }
+        if (random.nextInt(4) != 0) {
+            result[random.nextInt(4)] = 'A';
+            result[4 + random.nextInt(4)] = 'a';
+            result[8 + random.nextInt(4)] = '7';
+            result[12 + random.nextInt(4)] = '.';
+        }
+        return result;
+    }
+
+    @Benchmark
+    public int matchesRulesLoop() {
+        int invalid = 0;
+
+        for (char[] input : inputs) {
+            invalid += ArraysUtils.matchesRules(input, mustBeRules, mustNotBeRules).isEmpty() ? 0 : 1;
+        }
+        return invalid;
+    }
+
+    @Benchmark
+    public long[] errorMasks() {
+        return matcher.errorMasks(inputs);
+    }
+
+    @Benchmark
+    public long[] errorMasksParallel() {
+        return matcher.errorMasks(inputs, PARALLEL_THRESHOLD);
+    }
+
+    @Benchmark
+    public long[] errorMasksPacked() {
+        return matcher.errorMasks(packed, offsets);
+    }
+
+    @Benchmark
+    public long[] errorMasksPackedParallel() {
+        return matcher.errorMasks(packed, offsets, PARALLEL_THRESHOLD);
+    }
+}
@@ -0,0 +1,111 @@
+package io.p4r53c.telran.utils.benchmarks;
+
+import io.p4r53c.telran.utils.ArraysUtils;
+import io.p4r53c.telran.utils.CharPredicate;
+import io.p4r53c.telran.utils.CharacterRule;
+import io.p4r53c.telran.utils.RuleMatcher;
+import io.p4r53c.telran.utils.emums.ErrorString;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@code matchesRules} with the rule set used by the HW9 tests, on valid
+ * identifiers and on inputs breaking every rule: boxed rules, rules built on
+ * {@link CharPredicate}, and the rule set compiled into a {@link RuleMatcher}.
+ *
+ * @author p4r53c
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+@State(Scope.Thread)
+public class RulesBenchmark {
+
+    private static final String VALID_ALPHABET = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789.";
+    private static final String INVALID_ALPHABET = "abcdefghijklmnopqrstuvwxyz ";
+
+    @Param({ "16", "1024", "1048576" })
+    int length;
+
+    @Param({ "true", "false" })
+    boolean valid;
+
+    char[] input;
+    CharacterRule[] mustBeRules;
+    CharacterRule[] mustNotBeRules;
+    CharacterRule[] primitiveMustBeRules;
+    CharacterRule[] primitiveMustNotBeRules;
+    RuleMatcher matcher;
+
+    @Setup
+    public void setUp() {
+        mustBeRules = new CharacterRule[] {
+                new CharacterRule(true, Character::isUpperCase, ErrorString.UPPERCASE_REQUIRED),
+                new CharacterRule(true, Character::isLowerCase, ErrorString.LOWERCASE_REQUIRED),
+                new CharacterRule(true, Character::isDigit, ErrorString.DIGIT_REQUIRED),
+                new CharacterRule(true, ch -> ch == '.', ErrorString.DOT_REQUIRED)
+        };
+        mustNotBeRules = new CharacterRule[] {
+                new CharacterRule(false, Character::isWhitespace, ErrorString.SPACES_NOT_ALLOWED)
+        };
+        primitiveMustBeRules = new CharacterRule[] {
+                CharacterRule.mustBe(Character::isUpperCase, ErrorString.UPPERCASE_REQUIRED),
+                CharacterRule.mustBe(Character::isLowerCase, ErrorString.LOWERCASE_REQUIRED),
+                CharacterRule.mustBe(Character::isDigit, ErrorString.DIGIT_REQUIRED),
+                CharacterRule.mustBe(CharPredicate.is('.'), ErrorString.DOT_REQUIRED)
+        };
+        primitiveMustNotBeRules = new CharacterRule[] {
+                CharacterRule.mustNotBe(Character::isWhitespace, ErrorString.SPACES_NOT_ALLOWED)
+        };
+        input = randomChars(length, valid);
+        matcher = RuleMatcher.compile(mustBeRules, mustNotBeRules);
+    }
+
+    @Benchmark
+    public String matchesRules() {
+        return ArraysUtils.matchesRules(input, mustBeRules, mustNotBeRules);
+    }
+
+    @Benchmark
+    public String matchesRulesPrimitive() {
+        return ArraysUtils.matchesRules(input, primitiveMustBeRules, primitiveMustNotBeRules);
+    }
+
+    @Benchmark
+    public String compiledMatch() {
+        return matcher.match(input);
+    }
+
+    static char[] randomChars(int length, boolean valid) {
+        String alphabet = valid ? VALID_ALPHABET : INVALID_ALPHABET;
+        Random random = new Random(42);
+        char[] result = new char[length];
+
+        for (int i = 0; i < length; i++) {
+            result[i] = alphabet.charAt(random.nextInt(alphabet.length()));
+        }
+        if (valid && length >= 4) {
+            // Make sure every must-be rule is hit at least once
+            result[0] = 'A';
+            result[1] = 'a';
+            result[2] = '1';
+            result[3] = '.';
+        }
+        return result;
+    }
+}
@@ -0,0 +1,98 @@
+package io.p4r53c.telran.utils.benchmarks;
+
+import io.p4r53c.telran.utils.ArraysUtils;
+
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * In-place sorts of {@code int[]} and {@code T[]}.
+ *
+ * Every invocation sorts a fresh copy of the source array. Default sizes are
+ * kept small because the bubble sorts are quadratic; pass
+ * {@code -p size=1000000} to push further.
+ *
+ * @author p4r53c
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+@State(Scope.Thread)
+public class SortBenchmark {
+
+    @Param({ "1000", "10000" })
+    int size;
+
+    @Param
+    Distribution distribution;
+
+    int[] source;
+    int[] ints;
+    Integer[] boxedSource;
+    Integer[] boxed;
+
+    @Setup
+    public void setUp() {
+        source = distribution.ints(size);
+        boxedSource = Distribution.boxed(source);
+        ints = new int[size];
+        boxed = new Integer[size];
+    }
+
+    @Setup(Level.Invocation)
+    public void copy() {
+        System.arraycopy(source, 0, ints, 0, size);
+        System.arraycopy(boxedSource, 0, boxed, 0, size);
+    }
+
+    @Benchmark
+    public int[] sortByPushing() {
+        ArraysUtils.sortByPushing(ints);
+        return ints;
+    }
+
+    /**
+     * The bubble sort {@code sortByPushing} used before the sort engine, kept as
+     * the baseline.
+     */
+    @Benchmark
+    public int[] bubbleSortBaseline() {
+        int n = ints.length;
+        boolean isSorted = false;
+
+        while (!isSorted) {
+            n--;
+            isSorted = true;
+            for (int i = 0; i < n; i++) {
+                if (ints[i] > ints[i + 1]) {
+                    int temp = ints[i];
+                    ints[i] = ints[i + 1];
+                    ints[i + 1] = temp;
+                    isSorted = false;
+                }
+            }
+        }
+        return ints;
+    }
+
+    @Benchmark
+    public Integer[] sortComparator() {
+        ArraysUtils.sort(boxed, Comparator.naturalOrder());
+        return boxed;
+    }
+}
@@ -0,0 +1,124 @@
+package io.p4r53c.telran.utils.benchmarks;
+
+import io.p4r53c.telran.utils.ArraysUtils;
+import io.p4r53c.telran.utils.SortedArrays;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link SortedArrays} on ID lists against the loops they replace: an
+ * intersection that binary searches every element of one list in the other,
+ * and merges that concatenate and sort.
+ *
+ * {@code ratio} is the length of the large list divided by that of the small
+ * one; from 8 up the operations gallop through the large list.
+ *
+ * @author p4r53c
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+@State(Scope.Thread)
+public class SortedArraysBenchmark {
+
+    private static final int LISTS = 16;
+
+    @Param({ "1000000" })
+    int size;
+
+    @Param({ "1", "16", "1024" })
+    int ratio;
+
+    int[] large;
+    int[] small;
+    int[][] lists;
+    int[] destination;
+
+    @Setup
+    public void setUp() {
+        large = Distribution.RANDOM.sortedInts(size);
+        small = Distribution.MANY_DUPLICATES.sortedInts(size / ratio);
+
+        lists = new int[LISTS][];
+        for (int i = 0; i < LISTS; i++) {
+            lists[i] = Distribution.RANDOM.sortedInts(size / LISTS + i);
+        }
+        destination = new int[2 * size + LISTS * LISTS];
+    }
+
+    @Benchmark
+    public int intersection() {
+        return SortedArrays.intersection(small, large, destination);
+    }
+
+    @Benchmark
+    public int intersectionByBinarySearch() {
+        int k = 0;
+
+        for (int value : small) {
+            if (ArraysUtils.binarySearch(large, value) >= 0) {
+                destination[k++] = value;
+            }
+        }
+        return k;
+    }
+
+    @Benchmark
+    public int union() {
+        return SortedArrays.union(small, large, destination);
+    }
+
+    @Benchmark
+    public int difference() {
+        return SortedArrays.difference(large, small, destination);
+    }
+
+    @Benchmark
+    public int merge() {
+        return SortedArrays.merge(small, large, destination);
+    }
+
+    @Benchmark
+    public int mergeByCopyAndSort() {
+        System.arraycopy(small, 0, destination, 0, small.length);
+        System.arraycopy(large, 0, destination, small.length, large.length);
+
+        int[] merged = Arrays.copyOf(destination, small.length + large.length);
+        ArraysUtils.sort(merged);
+        return merged.length;
+    }
+
+    @Benchmark
+    public int mergeAll() {
+        return SortedArrays.mergeAll(lists, destination);
+    }
+
+    @Benchmark
+    public int mergeAllByCopyAndSort() {
+        int k = 0;
+
+        for (int[] list : lists) {
+            System.arraycopy(list, 0, destination, k, list.length);
+            k += list.length;
+        }
+
+        int[] merged = Arrays.copyOf(destination, k);
+        ArraysUtils.sort(merged);
+        return merged.length;
+    }
+}
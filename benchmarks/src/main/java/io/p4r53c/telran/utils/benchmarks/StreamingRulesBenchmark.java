@@ -0,0 +1,96 @@
+package io.p4r53c.telran.utils.benchmarks;
+
+import io.p4r53c.telran.utils.CharPredicate;
+import io.p4r53c.telran.utils.CharacterRule;
+import io.p4r53c.telran.utils.RuleMatcher;
+import io.p4r53c.telran.utils.emums.ErrorString;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Rule validation of large payloads: a materialized {@code char[]} against a
+ * {@code Reader}, a string-backed {@code CharBuffer} and a memory-mapped file.
+ * Valid payloads have to be read to the end; invalid ones stop at the first
+ * space when failing fast.
+ *
+ * @author p4r53c
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+@State(Scope.Thread)
+public class StreamingRulesBenchmark {
+
+    @Param({ "1048576", "67108864" })
+    int length;
+
+    @Param({ "true", "false" })
+    boolean valid;
+
+    RuleMatcher matcher;
+    char[] input;
+    String text;
+    Path file;
+
+    @Setup
+    public void setUp() throws IOException {
+        matcher = RuleMatcher.compile(new CharacterRule[] {
+                CharacterRule.mustBe(Character::isUpperCase, ErrorString.UPPERCASE_REQUIRED),
+                CharacterRule.mustBe(Character::isLowerCase, ErrorString.LOWERCASE_REQUIRED),
+                CharacterRule.mustBe(Character::isDigit, ErrorString.DIGIT_REQUIRED),
+                CharacterRule.mustBe(CharPredicate.is('.'), ErrorString.DOT_REQUIRED)
+        }, new CharacterRule[] {
+                CharacterRule.mustNotBe(Character::isWhitespace, ErrorString.SPACES_NOT_ALLOWED)
+        });
+        input = RulesBenchmark.randomChars(length, valid);
+        text = new String(input);
+        file = Files.createTempFile("rules-benchmark", ".txt");
+        Files.writeString(file, text, StandardCharsets.UTF_8);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public String charArray() {
+        return matcher.match(input);
+    }
+
+    @Benchmark
+    public String reader() throws IOException {
+        return matcher.match(new StringReader(text), true);
+    }
+
+    @Benchmark
+    public String charBuffer() {
+        return matcher.match(CharBuffer.wrap(text), true);
+    }
+
+    @Benchmark
+    public String mappedFile() throws IOException {
+        return matcher.match(file, StandardCharsets.UTF_8, true);
+    }
+}
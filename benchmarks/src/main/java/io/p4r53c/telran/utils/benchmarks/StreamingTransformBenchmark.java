@@ -0,0 +1,104 @@
+package io.p4r53c.telran.utils.benchmarks;
+
+import io.p4r53c.telran.utils.transformer.BigCat;
+import io.p4r53c.telran.utils.transformer.Cat;
+import io.p4r53c.telran.utils.transformer.CatPipeline;
+import io.p4r53c.telran.utils.transformer.CatTransformer;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Streaming transformation of cats generated on the fly, as if read line by
+ * line from a file, against collecting them into a list for
+ * {@code transformAll}.
+ *
+ * The streaming benchmarks run in a 64 MB heap to show that memory stays flat:
+ * 10 million cats and their big cats would need well over a gigabyte at once.
+ * The list benchmark gets a 4 GB heap.
+ *
+ * @author p4r53c
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public class StreamingTransformBenchmark {
+
+    private static final String[] KINDS = { "Domestic", "Street", "Wild", "Persian" };
+
+    @Param({ "10000000" })
+    int size;
+
+    @Param({ "1", "64", "256", "4096" })
+    int batchSize;
+
+    CatTransformer<Cat, BigCat> catToBigCat;
+    CatPipeline<Cat, BigCat> pipeline;
+
+    @Setup
+    public void setUp() {
+        catToBigCat = cat -> new BigCat(cat.getWeight(), cat.getName(), cat.getKind());
+        pipeline = CatPipeline.from(catToBigCat)
+                .then(bigCat -> new BigCat(bigCat.getWeight() * 10, bigCat.getName(), bigCat.getKind()))
+                .build();
+    }
+
+    private Stream<Cat> cats() {
+        return IntStream.range(0, size).mapToObj(i -> new Cat(i % 40, "Cat" + i, KINDS[i & 3]));
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = { "-Xms64m", "-Xmx64m" })
+    public long transformStream() {
+        return catToBigCat.transformStream(cats(), batchSize).mapToLong(BigCat::getWeight).sum();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = { "-Xms64m", "-Xmx64m" })
+    public long transformIterator() {
+        Iterator<BigCat> bigCats = catToBigCat.transformIterator(cats().iterator(), batchSize);
+        long sum = 0;
+
+        while (bigCats.hasNext()) {
+            sum += bigCats.next().getWeight();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = { "-Xms64m", "-Xmx64m" })
+    public long pipelineStream() {
+        return pipeline.transformStream(cats(), batchSize).mapToLong(BigCat::getWeight).sum();
+    }
+
+    /** Ignores {@code batchSize}; the whole input and output are in memory. */
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+    public long transformAllList() {
+        List<Cat> cats = cats().collect(Collectors.toList());
+        long sum = 0;
+
+        for (BigCat bigCat : catToBigCat.transformAll(cats)) {
+            sum += bigCat.getWeight();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,124 @@
+package io.p4r53c.telran.utils.benchmarks;
+
+import io.p4r53c.telran.utils.ArraysUtils;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Linear scans ({@code searchByIndex}, {@code isSorted},
+ * {@code isOneSwapNeeded}) with the scalar loops and with the SIMD kernels at
+ * 128, 256 and 512-bit vectors.
+ *
+ * The vector width is fixed per fork with {@code -XX:MaxVectorSize}, which
+ * caps the preferred {@code IntVector} species (4, 8 and 16 lanes). A width
+ * the host does not support runs at the widest available one. Searched values
+ * are absent and arrays are sorted, so every scan covers the whole array.
+ *
+ * @author p4r53c
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public class VectorScanBenchmark {
+
+    private static final String VECTOR_MODULE = "--add-modules=jdk.incubator.vector";
+
+    @Param({ "1000", "1000000", "100000000" })
+    int size;
+
+    int[] sorted;
+    int missing;
+
+    @Setup
+    public void setUp() {
+        sorted = Distribution.SORTED.sortedInts(size);
+        missing = new Random(15).nextBoolean() ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g", "-Dio.p4r53c.telran.utils.scalar=true" })
+    public int searchByIndexScalar() {
+        return ArraysUtils.searchByIndex(sorted, missing);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g", VECTOR_MODULE, "-XX:MaxVectorSize=16" })
+    public int searchByIndexVector128() {
+        return ArraysUtils.searchByIndex(sorted, missing);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g", VECTOR_MODULE, "-XX:MaxVectorSize=32" })
+    public int searchByIndexVector256() {
+        return ArraysUtils.searchByIndex(sorted, missing);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g", VECTOR_MODULE, "-XX:MaxVectorSize=64" })
+    public int searchByIndexVector512() {
+        return ArraysUtils.searchByIndex(sorted, missing);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g", "-Dio.p4r53c.telran.utils.scalar=true" })
+    public boolean isSortedScalar() {
+        return ArraysUtils.isSorted(sorted);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g", VECTOR_MODULE, "-XX:MaxVectorSize=16" })
+    public boolean isSortedVector128() {
+        return ArraysUtils.isSorted(sorted);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g", VECTOR_MODULE, "-XX:MaxVectorSize=32" })
+    public boolean isSortedVector256() {
+        return ArraysUtils.isSorted(sorted);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g", VECTOR_MODULE, "-XX:MaxVectorSize=64" })
+    public boolean isSortedVector512() {
+        return ArraysUtils.isSorted(sorted);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g", "-Dio.p4r53c.telran.utils.scalar=true" })
+    public boolean isOneSwapNeededScalar() {
+        return ArraysUtils.isOneSwapNeeded(sorted);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g", VECTOR_MODULE, "-XX:MaxVectorSize=16" })
+    public boolean isOneSwapNeededVector128() {
+        return ArraysUtils.isOneSwapNeeded(sorted);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g", VECTOR_MODULE, "-XX:MaxVectorSize=32" })
+    public boolean isOneSwapNeededVector256() {
+        return ArraysUtils.isOneSwapNeeded(sorted);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g", VECTOR_MODULE, "-XX:MaxVectorSize=64" })
+    public boolean isOneSwapNeededVector512() {
+        return ArraysUtils.isOneSwapNeeded(sorted);
+    }
+}
@@ -0,0 +1,99 @@
+package io.p4r53c.telran.utils.benchmarks;
+
+import io.p4r53c.telran.utils.transformer.BigCat;
+import io.p4r53c.telran.utils.transformer.Cat;
+import io.p4r53c.telran.utils.transformer.CatTransformer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The cost of logging in {@code transformAll}, with INFO disabled (the default
+ * {@code logback.xml}) and enabled but discarded ({@code logback-verbose.xml}).
+ *
+ * {@code eagerMessage} reproduces the former {@code verboseTransform}, which
+ * concatenated the message before calling the logger whatever its level.
+ *
+ * @author p4r53c
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@State(Scope.Thread)
+public class VerboseTransformBenchmark {
+
+    private static final String VERBOSE_CONFIG = "-Dlogback.configurationFile=logback-verbose.xml";
+
+    @Param({ "1000" })
+    int size;
+
+    List<Cat> cats;
+    CatTransformer<Cat, BigCat> catToBigCat;
+    CatTransformer<Cat, BigCat> sampled;
+
+    @Setup
+    public void setUp() {
+        cats = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            cats.add(new Cat(i % 40, "Cat" + i, i % 2 == 0 ? "Domestic" : "Street"));
+        }
+        catToBigCat = cat -> new BigCat(cat.getWeight(), cat.getName(), cat.getKind());
+        sampled = catToBigCat.sampled(1000);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+    public List<BigCat> infoDisabled() {
+        return catToBigCat.transformAll(cats);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+    public List<BigCat> eagerMessageInfoDisabled() {
+        return eagerMessage();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g", VERBOSE_CONFIG })
+    public List<BigCat> infoEnabled() {
+        return catToBigCat.transformAll(cats);
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g", VERBOSE_CONFIG })
+    public List<BigCat> eagerMessageInfoEnabled() {
+        return eagerMessage();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g", VERBOSE_CONFIG })
+    public List<BigCat> sampledInfoEnabled() {
+        return sampled.transformAll(cats);
+    }
+
+    private List<BigCat> eagerMessage() {
+        List<BigCat> result = new ArrayList<>();
+
+        for (Cat cat : cats) {
+            BigCat bigCat = catToBigCat.transform(cat);
+
+            CatTransformer.logger.info("Transforming " + cat.toString() + " to " + bigCat.toString());
+            result.add(bigCat);
+        }
+        return result;
+    }
+}
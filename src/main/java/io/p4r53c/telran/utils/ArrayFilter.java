@@ -0,0 +1,119 @@
+package io.p4r53c.telran.utils;
+
+import java.lang.reflect.Array;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/**
+ * Single-pass filter for object arrays.
+ *
+ * The predicate is evaluated once per element and the outcome is recorded in a
+ * bitset of 64-element words. The result array is then allocated at its exact
+ * size and filled by walking the set bits, so the cost is O(n) time and one
+ * output allocation plus n / 8 bytes of marks, no matter how many elements
+ * match.
+ *
+ * The parallel mode marks and gathers whole words per task, so no two tasks
+ * ever write the same word or the same output slot.
+ *
+ * @author p4r53c
+ */
+final class ArrayFilter {
+
+    private static final int WORD_SHIFT = 6;
+    private static final int WORD_SIZE = 1 << WORD_SHIFT;
+
+    private ArrayFilter() {
+    }
+
+    /**
+     * Returns the elements for which the predicate outcome equals
+     * {@code keepMatches}, in their original order.
+     *
+     * @param array             the array to be filtered
+     * @param predicate         the predicate used to test elements, must be
+     *                          thread safe for parallel runs
+     * @param keepMatches       true to keep the matching elements, false to
+     *                          drop them
+     * @param parallelThreshold arrays of at least this length are filtered in
+     *                          parallel
+     * @return a new array of the same component type with the kept elements
+     */
+    static <T> T[] filter(T[] array, Predicate<? super T> predicate, boolean keepMatches, int parallelThreshold) {
+        if (parallelThreshold < 1) {
+            throw new IllegalArgumentException("Threshold must be positive: " + parallelThreshold);
+        }
+
+        long[] marks = new long[(array.length + WORD_SIZE - 1) >>> WORD_SHIFT];
+
+        if (array.length >= parallelThreshold) {
+            IntStream.range(0, marks.length).parallel()
+                    .forEach(word -> marks[word] = markWord(array, word, predicate, keepMatches));
+            return gatherParallel(array, marks);
+        }
+
+        for (int word = 0; word < marks.length; word++) {
+            marks[word] = markWord(array, word, predicate, keepMatches);
+        }
+        return gather(array, marks);
+    }
+
+    private static <T> long markWord(T[] array, int word, Predicate<? super T> predicate, boolean keepMatches) {
+        int from = word << WORD_SHIFT;
+        int to = Math.min(from + WORD_SIZE, array.length);
+        long bits = 0;
+
+        for (int i = from; i < to; i++) {
+            if (predicate.test(array[i]) == keepMatches) {
+                bits |= 1L << (i - from);
+            }
+        }
+        return bits;
+    }
+
+    private static <T> T[] gather(T[] array, long[] marks) {
+        int count = 0;
+
+        for (long bits : marks) {
+            count += Long.bitCount(bits);
+        }
+
+        T[] result = newArray(array, count);
+        int k = 0;
+
+        for (int word = 0; word < marks.length; word++) {
+            k = gatherWord(array, word, marks[word], result, k);
+        }
+        return result;
+    }
+
+    private static <T> T[] gatherParallel(T[] array, long[] marks) {
+        // offsets[w] is the number of kept elements before word w
+        int[] offsets = new int[marks.length + 1];
+
+        for (int word = 0; word < marks.length; word++) {
+            offsets[word + 1] = offsets[word] + Long.bitCount(marks[word]);
+        }
+
+        T[] result = newArray(array, offsets[marks.length]);
+
+        IntStream.range(0, marks.length).parallel()
+                .forEach(word -> gatherWord(array, word, marks[word], result, offsets[word]));
+        return result;
+    }
+
+    private static <T> int gatherWord(T[] array, int word, long bits, T[] result, int k) {
+        int base = word << WORD_SHIFT;
+
+        while (bits != 0) {
+            result[k++] = array[base + Long.numberOfTrailingZeros(bits)];
+            bits &= bits - 1;
+        }
+        return k;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T[] newArray(T[] array, int length) {
+        return (T[]) Array.newInstance(array.getClass().getComponentType(), length);
+    }
+}
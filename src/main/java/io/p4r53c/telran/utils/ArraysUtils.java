@@ -1,13 +1,13 @@
 package io.p4r53c.telran.utils;
 
-import io.p4r53c.telran.utils.emums.ErrorString;
-
 import java.util.Arrays;
 import java.util.Comparator;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 import java.util.function.Predicate;
-import java.util.stream.IntStream;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 /**
  * Utility methods for working with arrays.
@@ -30,12 +30,7 @@ public class ArraysUtils {
      *         the value is not found
      */
     public static int searchByIndex(int[] array, int value) {
-        int index = 0;
-
-        while (index < array.length && value != array[index]) {
-            index++;
-        }
-        return index == array.length ? -1 : index;
+        return IntScans.indexOf(array, value);
     }
 
     /**
@@ -108,471 +103,1869 @@ public class ArraysUtils {
 
     // ---------------------------------------------------------------------------
     //
-    // Arrays sorting
+    // In-place editing
+    //
+    // The methods below never allocate. They either write the result into a
+    // buffer supplied by the caller or shift elements within the spare capacity
+    // of the array, and return the new logical length.
     //
     // ---------------------------------------------------------------------------
 
     /**
-     * Sorts an array in ascending order by pushing the maximum element to the end
-     * in each iteration.
+     * Inserts a value into the first {@code length} elements of the buffer,
+     * shifting the tail one position to the right.
      *
+     * @param buffer the buffer holding the elements in its first {@code length}
+     *               slots
+     * @param length the number of elements in use
+     * @param index  the index at which the value should be inserted
+     * @param value  the value to be inserted
+     * @return the new length, {@code length + 1}
+     * @throws IndexOutOfBoundsException if the index is out of
+     *                                   {@code [0, length]} or the length is out
+     *                                   of {@code [0, buffer.length]}
+     * @throws IllegalArgumentException  if the buffer has no spare capacity
+     */
+    public static int insertInPlace(int[] buffer, int length, int index, int value) {
+        checkSpareCapacity(buffer.length, length, index);
+
+        System.arraycopy(buffer, index, buffer, index + 1, length - index);
+        buffer[index] = value;
+        return length + 1;
+    }
+
+    /**
+     * Removes an element from the first {@code length} elements of the buffer,
+     * shifting the tail one position to the left. The slot at
+     * {@code length - 1} keeps a stale value.
      *
-     * @param array the array to be sorted
+     * @param buffer the buffer holding the elements in its first {@code length}
+     *               slots
+     * @param length the number of elements in use
+     * @param index  the index of the element to be removed
+     * @return the new length, {@code length - 1}
+     * @throws IndexOutOfBoundsException if the index is out of
+     *                                   {@code [0, length)} or the length is out
+     *                                   of {@code [0, buffer.length]}
      */
-    public static void sortByPushing(int[] array) {
-        int n = array.length;
-        boolean isSorted = false;
+    public static int removeInPlace(int[] buffer, int length, int index) {
+        Objects.checkFromToIndex(0, length, buffer.length);
+        Objects.checkIndex(index, length);
 
-        while (!isSorted) {
-            n--;
-            isSorted = pushMaxAtEndBySwap(array, n);
-        }
+        System.arraycopy(buffer, index + 1, buffer, index, length - index - 1);
+        return length - 1;
     }
 
     /**
-     * Searches for a given value in a sorted array using binary search algorithm
-     * and returns the index of the first occurrence.
+     * Inserts a value into the first {@code length} elements of the buffer,
+     * which are sorted in ascending order. The value goes after any elements
+     * equal to it.
      *
-     * @param array the sorted array
-     * @param value the value to be searched for
-     * @return the index of the first occurrence of the value in the array,
-     *         or insertion point which the key would be inserted into the array
+     * @param buffer the buffer holding the sorted elements in its first
+     *               {@code length} slots
+     * @param length the number of elements in use
+     * @param value  the value to be inserted
+     * @return the new length, {@code length + 1}
+     * @throws IndexOutOfBoundsException if the length is out of
+     *                                   {@code [0, buffer.length]}
+     * @throws IllegalArgumentException  if the buffer has no spare capacity
      */
-    public static int binarySearch(int[] array, int value) {
-        int low = 0;
-        int high = array.length - 1;
-        boolean isFound = false;
-        int key = 0;
-
-        while (low <= high) {
-            int mid = low + (high - low) / 2;
-
-            if (array[mid] == value) {
-                isFound = true;
-                key = mid;
-                break;
-            } else if (array[mid] < value) {
-                low = mid + 1;
-            } else {
-                high = mid - 1;
-            }
-        }
-        return isFound ? key : -low - 1;
+    public static int insertSortedInPlace(int[] buffer, int length, int value) {
+        Objects.checkFromToIndex(0, length, buffer.length);
+
+        return insertInPlace(buffer, length, upperBound(buffer, 0, length, value), value);
     }
 
     /**
-     * Inserts a value into a sorted array and returns the new sorted array.
+     * Writes the array with the value inserted at the specified index into the
+     * destination buffer.
      *
-     * @param array the sorted array
-     * @param value the value to be inserted
-     * @return the new sorted array with the value inserted
+     * @param array       the original array
+     * @param index       the index at which the value should be inserted
+     * @param value       the value to be inserted
+     * @param destination the buffer receiving the result, at least
+     *                    {@code array.length + 1} long
+     * @return the number of elements written, {@code array.length + 1}
+     * @throws IndexOutOfBoundsException if the index is out of
+     *                                   {@code [0, array.length]}
+     * @throws IllegalArgumentException  if the destination is too short
      */
-    public static int[] insertSorted(int[] array, int value) {
-        int index = binarySearch(array, value);
+    public static int insertByArraycopy(int[] array, int index, int value, int[] destination) {
+        Objects.checkIndex(index, array.length + 1);
+        checkDestinationLength(destination.length, array.length + 1);
+
+        System.arraycopy(array, index, destination, index + 1, array.length - index);
+        System.arraycopy(array, 0, destination, 0, index);
+        destination[index] = value;
+        return array.length + 1;
+    }
 
-        if (index < 0) {
-            index = -(index + 1);
-        }
+    /**
+     * Writes the array without the element at the specified index into the
+     * destination buffer. The destination may be the array itself.
+     *
+     * @param array       the original array
+     * @param index       the index of the element to be removed
+     * @param destination the buffer receiving the result, at least
+     *                    {@code array.length - 1} long
+     * @return the number of elements written, {@code array.length - 1}
+     * @throws IndexOutOfBoundsException if the index is out of
+     *                                   {@code [0, array.length)}
+     * @throws IllegalArgumentException  if the destination is too short
+     */
+    public static int removeByArraycopy(int[] array, int index, int[] destination) {
+        Objects.checkIndex(index, array.length);
+        checkDestinationLength(destination.length, array.length - 1);
 
-        return insertByArraycopy(array, index, value);
+        System.arraycopy(array, 0, destination, 0, index);
+        System.arraycopy(array, index + 1, destination, index, array.length - index - 1);
+        return array.length - 1;
     }
 
     /**
-     * Determines if only one swap is needed to sort the array.
+     * Object counterpart of {@link #insertInPlace(int[], int, int, int)}.
      *
-     * @param array the input array to be checked
-     * @return true if only one swap is needed to sort the array, false otherwise
+     * @param buffer the buffer holding the elements in its first {@code length}
+     *               slots
+     * @param length the number of elements in use
+     * @param index  the index at which the value should be inserted
+     * @param value  the value to be inserted
+     * @return the new length, {@code length + 1}
+     * @throws IndexOutOfBoundsException if the index is out of
+     *                                   {@code [0, length]} or the length is out
+     *                                   of {@code [0, buffer.length]}
+     * @throws IllegalArgumentException  if the buffer has no spare capacity
      */
-    public static boolean isOneSwapNeeded(int[] array) {
-        int[] tempArray = new int[array.length];
+    public static <T> int insertInPlace(T[] buffer, int length, int index, T value) {
+        checkSpareCapacity(buffer.length, length, index);
+
+        System.arraycopy(buffer, index, buffer, index + 1, length - index);
+        buffer[index] = value;
+        return length + 1;
+    }
+
+    /**
+     * Object counterpart of {@link #removeInPlace(int[], int, int)}. The
+     * vacated slot at {@code length - 1} is set to null, so the buffer does not
+     * keep the removed element reachable.
+     *
+     * @param buffer the buffer holding the elements in its first {@code length}
+     *               slots
+     * @param length the number of elements in use
+     * @param index  the index of the element to be removed
+     * @return the new length, {@code length - 1}
+     * @throws IndexOutOfBoundsException if the index is out of
+     *                                   {@code [0, length)} or the length is out
+     *                                   of {@code [0, buffer.length]}
+     */
+    public static <T> int removeInPlace(T[] buffer, int length, int index) {
+        Objects.checkFromToIndex(0, length, buffer.length);
+        Objects.checkIndex(index, length);
 
-        System.arraycopy(array, 0, tempArray, 0, array.length);
+        System.arraycopy(buffer, index + 1, buffer, index, length - index - 1);
+        buffer[length - 1] = null;
+        return length - 1;
+    }
+
+    /**
+     * Inserts a value into the first {@code length} elements of the buffer,
+     * which are sorted by the comparator. The value goes after any elements
+     * equal to it.
+     *
+     * @param buffer     the buffer holding the sorted elements in its first
+     *                   {@code length} slots
+     * @param length     the number of elements in use
+     * @param value      the value to be inserted
+     * @param comparator the comparator the elements are sorted by
+     * @return the new length, {@code length + 1}
+     * @throws IndexOutOfBoundsException if the length is out of
+     *                                   {@code [0, buffer.length]}
+     * @throws IllegalArgumentException  if the buffer has no spare capacity
+     */
+    public static <T> int insertSortedInPlace(T[] buffer, int length, T value, Comparator<? super T> comparator) {
+        Objects.checkFromToIndex(0, length, buffer.length);
+
+        return insertInPlace(buffer, length, upperBound(buffer, 0, length, value, comparator), value);
+    }
 
-        int firstIndex = findFirstUnsortedElementIndex(tempArray);
-        int secondIndex = findSecondUnsortedElementIndex(tempArray);
+    private static void checkSpareCapacity(int capacity, int length, int index) {
+        Objects.checkFromToIndex(0, length, capacity);
+        Objects.checkIndex(index, length + 1);
 
-        if (firstIndex < secondIndex) {
-            swap(tempArray, firstIndex, secondIndex);
+        if (length == capacity) {
+            throw new IllegalArgumentException("No spare capacity in a buffer of length " + capacity);
         }
+    }
 
-        // KISS! :)
-        return firstIndex <= secondIndex && isSorted(tempArray);
+    private static void checkDestinationLength(int destinationLength, int required) {
+        if (destinationLength < required) {
+            throw new IllegalArgumentException(
+                    "Destination length " + destinationLength + " is less than required " + required);
+        }
     }
+
     // ---------------------------------------------------------------------------
     //
-    // Generics and Comparators
+    // Arrays sorting
     //
     // ---------------------------------------------------------------------------
 
     /**
-     * Sorts an array of elements using the provided comparator.
+     * Sorts an array in ascending order.
      *
-     * @param array      the array to be sorted
-     * @param comparator the comparator to determine the order of the elements
+     * Used to push the maximum element to the end in each iteration (bubble
+     * sort). Kept for compatibility, now delegates to {@link #sort(int[])}.
+     *
+     * @param array the array to be sorted
      */
-    public static <T> void sort(T[] array, Comparator<T> comparator) {
-        int n = array.length;
-        boolean isSorted = false;
-
-        do {
-            n--;
-            isSorted = true;
-            for (int i = 0; i < n; i++) {
-                if (comparator.compare(array[i], array[i + 1]) > 0) {
-                    swap(array, i, i + 1);
-                    isSorted = false;
-                }
-            }
-        } while (!isSorted);
+    public static void sortByPushing(int[] array) {
+        sort(array);
     }
 
     /**
-     * Binary search method to find the index of a specific value in the array using
-     * the provided comparator.
+     * Sorts an array in ascending order in place.
      *
-     * @param array      the array to search in
-     * @param value      the value to search for
-     * @param comparator the comparator to determine the ordering of the elements
-     * @return the index of the value if found, otherwise a negative value
-     *         indicating where the value should be inserted
+     * The strategy is picked per input: sorted and reversed arrays are finished
+     * in a single scan, tiny arrays are insertion sorted, large arrays are radix
+     * sorted and everything else goes through introsort.
+     *
+     * @param array the array to be sorted
      */
-    public static <T> int binarySearch(T[] array, T value, Comparator<T> comparator) {
-        int low = 0;
-        int high = array.length - 1;
-        boolean isFound = false;
-        int key = 0;
-
-        while (low <= high) {
-            int mid = low + (high - low) / 2;
-
-            int comparisonResult = comparator.compare(array[mid], value);
-
-            if (comparisonResult == 0) {
-                key = mid;
-                isFound = true;
-                break;
-            } else if (comparisonResult < 0) {
-                low = mid + 1;
-            } else {
-                high = mid - 1;
-            }
-        }
-
-        return isFound ? key : -low - 1;
+    public static void sort(int[] array) {
+        IntSorter.sort(array, 0, array.length);
     }
 
     /**
-     * Performs a binary search on a sorted array of elements of type T.
-     * 
-     * Without changing of signature.
-     * 
-     * @param array the array to be searched
-     * @param value the value to be found
-     * @return the index of the value if found, otherwise a negative value
-     *         indicating where the value should be inserted
+     * Sorts an array in ascending order using all cores of the common
+     * {@link ForkJoinPool}.
+     *
+     * @param array the array to be sorted
+     * @see #parallelSort(int[], int, ForkJoinPool)
      */
-    public static <T> int binarySearch(T[] array, T value) {
-        return binarySearch(array, value, Comparator.comparing(T::toString)); // No classcasting, but bad performance
-        /*
-         * binarySearch(array, value, (t1, t2) -> ((Comparable<T>) t1).compareTo(t2)); Same as above, classcasting
-         * binarySearch(array, value, (Comparator<T>) Comparator.naturalOrder()); Same as above, classcasting
-         * 
-         * Actually, standard implementation do classcasting, and it is costless operation.
-         * So in this case from efficiency POV more preferrable to use casting to Comparator.
-         * 
-         */
+    public static void parallelSort(int[] array) {
+        parallelSort(array, ParallelSorter.DEFAULT_THRESHOLD, null);
     }
 
     /**
-     * Performs an another binary search on the array using lambda explicit
-     * predicate to determine the value.
-     * 
-     * This method cannot be overloaded for obvious reasons, so it has a different
-     * name, but it is covered by the same tests.
+     * Sorts an array in ascending order using the common {@link ForkJoinPool}.
      *
-     * @param array the array to be searched
-     * @param value the value to be searched for
-     * @return the index of the value if found, otherwise a negative value
-     *         indicating where the value should be inserted
+     * @param array     the array to be sorted
+     * @param threshold ranges up to this length are sorted sequentially
+     * @throws IllegalArgumentException if the threshold is not positive
+     * @see #parallelSort(int[], int, ForkJoinPool)
      */
-    public static <T extends Comparable<T>> int binarySearchByExplicitPredicate(T[] array, T value) {
-        return binarySearch(array, value, Comparator.comparing(((T t) -> t)));
+    public static void parallelSort(int[] array, int threshold) {
+        parallelSort(array, threshold, null);
     }
 
     /**
-     * Finds elements in the given array that satisfy the given predicate and
-     * returns them in a new array.
-     * 
-     * Perhaps, this method should be called "findByPredicate" because it changes
-     * input array.
+     * Sorts an array in ascending order with a fork-join merge sort.
      *
-     * @param array     the array to search for elements
-     * @param predicate the predicate used to test elements
-     * @return a new array containing the elements that satisfy the predicate
+     * The array is split in halves until a range is not longer than
+     * {@code threshold}; such ranges are sorted by the sequential engine of
+     * {@link #sort(int[])} and merged back in parallel. Needs a workspace as long
+     * as the array.
+     *
+     * @param array     the array to be sorted
+     * @param threshold ranges up to this length are sorted sequentially
+     * @param pool      the pool to run in, or null for the common pool
+     * @throws IllegalArgumentException if the threshold is not positive
      */
-    public static <T> T[] getSubArrayByPredicate(T[] array, Predicate<T> predicate) {
-        int n = array.length;
+    public static void parallelSort(int[] array, int threshold, ForkJoinPool pool) {
+        ParallelSorter.sort(array, threshold, pool);
+    }
 
-        T[] result = Arrays.copyOf(array, 0);
+    /**
+     * Searches for a given value in a sorted array using binary search algorithm
+     * and returns the index of the first occurrence.
+     *
+     * @param array the sorted array
+     * @param value the value to be searched for
+     * @return the index of the first occurrence of the value in the array,
+     *         or insertion point which the key would be inserted into the array
+     */
+    public static int binarySearch(int[] array, int value) {
+        int index = lowerBound(array, value);
 
-        for (int i = 0; i < n; i++) {
-            if (predicate.test(array[i])) {
-                result = insertSorted(result, result.length, array[i]);
-            }
-        }
-        return result;
+        return index < array.length && array[index] == value ? index : -index - 1;
     }
 
     /**
-     * Removes elements from the given array based on a predicate.
-     * 
+     * Searches a sorted array for many keys at once. {@code results[i]} gets
+     * exactly what {@link #binarySearch(int[], int)} returns for
+     * {@code keys[i]}.
      *
-     * @param array     the array from which elements will be removed
-     * @param predicate the predicate used to test elements
-     * @return a new array containing the elements that do not satisfy the predicate
+     * Sorted keys are resolved in one merge-like sweep: each search gallops
+     * forward from the previous key's position, so later keys only look at the
+     * shrinking rest of the array. Unsorted keys are searched in interleaved
+     * groups, one level of all searches at a time, so their cache misses overlap
+     * instead of queuing up.
+     *
+     * @param array   the sorted array
+     * @param keys    the values to be searched for, sorted or not
+     * @param results the array receiving one result per key
+     * @throws IllegalArgumentException if {@code results} is shorter than
+     *                                  {@code keys}
      */
-    public static <T> T[] removeIfbyGetSubArrayByPredicate(T[] array, Predicate<T> predicate) {
-        return getSubArrayByPredicate(array, predicate.negate());
+    public static void binarySearchAll(int[] array, int[] keys, int[] results) {
+        checkResultsLength(keys.length, results.length);
+
+        if (isNonDecreasing(keys)) {
+            searchSortedKeys(array, keys, results);
+        } else {
+            searchInterleaved(array, keys, results);
+        }
     }
 
     /**
-     * Removes elements from the given array based on a predicate.
-     * Stream API is used.
+     * Inserts a value into a sorted array and returns the new sorted array.
      *
-     * @param array     the array from which elements will be removed
-     * @param predicate the predicate used to test elements
-     * @return a new array containing the elements that do not satisfy the predicate
+     * The value goes after any elements equal to it, so repeated inserts keep
+     * the order in which equal values arrived.
+     *
+     * @param array the sorted array
+     * @param value the value to be inserted
+     * @return the new sorted array with the value inserted
      */
-    public static <T> T[] removeIfByStreamApiAndPredicate(T[] array, Predicate<T> predicate) {
-        return Arrays.stream(array).filter(predicate.negate()).toArray(size -> Arrays.copyOf(array, size));
+    public static int[] insertSorted(int[] array, int value) {
+        return insertByArraycopy(array, upperBound(array, value), value);
     }
 
     /**
-     * Checks if the given character array satisfies the rules defined in the given
-     * arrays of
-     * must-be and must-not-be rules. Returns a string containing error messages for
-     * any rules
-     * that are not satisfied.
+     * Determines if only one swap is needed to sort the array.
      *
-     * @param array          the character array to check
-     * @param mustBeRules    the array of must-be rules to check against the
-     *                       character array
-     * @param mustNotBeRules the array of must-not-be rules to check against the
-     *                       character array
-     * @return a string containing error messages for any rules that are not
-     *         satisfied
+     * The array is neither copied nor modified: the candidate swap is the
+     * first descent and the element after the last descent, and it is checked
+     * in place. An already sorted array needs no swap, so the result is false,
+     * except for a single element, which has always counted as true.
+     *
+     * @param array the input array to be checked
+     * @return true if only one swap is needed to sort the array, false otherwise
      */
-    public static String matchesRules(char[] array, CharacterRule[] mustBeRules, CharacterRule[] mustNotBeRules) {
-        boolean[] mustBeSatisfied = new boolean[mustBeRules.length];
-        StringBuilder errorMessages = new StringBuilder();
-        Set<ErrorString> addedErrors = new HashSet<>();
+    public static boolean isOneSwapNeeded(int[] array) {
+        if (array.length < 2) {
+            return array.length == 1;
+        }
 
-        checkMustBeRules(array, mustBeRules, mustBeSatisfied);
-        checkMustNotBeRules(array, mustNotBeRules, addedErrors, errorMessages);
-        accumulateErrors(mustBeRules, mustBeSatisfied, addedErrors, errorMessages);
+        int first = IntScans.firstDescent(array);
 
-        return errorMessages.toString();
-    }
+        if (first < 0) {
+            return false;
+        }
 
+        int last = IntScans.lastDescent(array);
 
+        // Each pair is scanned once: before the first, after the last and between the two descents
+        return IntScans.firstDescent(array, first + 1, last + 1) < 0 && isSortedAfterSwap(array, first, last + 1);
+    }
 
     /**
-     * Finds the index of the first unsorted element in the given array.
+     * Scans the array once and describes how far it is from being sorted in
+     * ascending order.
      *
-     * @param array the input array to search for the first unsorted element
-     * @return the index of the first unsorted element, or the last index if the
-     *         array is sorted
+     * @param array the array to be profiled
+     * @return the sortedness profile of the array
      */
-    private static int findFirstUnsortedElementIndex(int[] array) {
-        int n = array.length;
-        int firstIndex = 0;
-
-        while (firstIndex < n - 1 && array[firstIndex] <= array[firstIndex + 1]) {
-            firstIndex++;
-        }
-        return firstIndex;
+    public static SortednessProfile sortednessProfile(int[] array) {
+        return SortednessProfile.of(array);
     }
 
     /**
-     * Finds the index of the second unsorted element in the array.
-     *
-     * @param array the input array to search for the second unsorted element
-     * @return the index of the second unsorted element, or the last index if the
-     *         array is sorted
+     * Checks if swapping {@code array[first]} and {@code array[second]} sorts
+     * the array, given that the array has no descents other than at
+     * {@code first} and {@code second - 1}.
      */
-    private static int findSecondUnsortedElementIndex(int[] array) {
-        int n = array.length;
-        int secondIndex = n - 1;
-
-        while (secondIndex > 0 && array[secondIndex] >= array[secondIndex - 1]) {
-            secondIndex--;
-        }
-        return secondIndex;
+    static boolean isSortedAfterSwap(int[] array, int first, int second) {
+        return (first == 0 || array[first - 1] <= array[second])
+                && (second == first + 1 || array[second] <= array[first + 1] && array[second - 1] <= array[first])
+                && (second == array.length - 1 || array[first] <= array[second + 1]);
     }
 
+    // ---------------------------------------------------------------------------
+    //
+    // Lower and upper bounds
+    //
+    // The loops below halve the search range unconditionally and pick the next
+    // base with a conditional expression instead of an if/else, which the JIT
+    // turns into a conditional move. The number of probes depends only on the
+    // length, so there are no mispredicted branches on random keys.
+    //
+    // ---------------------------------------------------------------------------
+
     /**
-     * Checks if the given array is sorted in ascending order.
+     * Returns the index of the first element in a sorted array that is not less
+     * than the given value.
      *
-     * @param array the array to be checked
-     * @return true if the array is sorted, false otherwise
+     * @param array the sorted array
+     * @param value the value to be searched for
+     * @return the index of the first element {@code >= value}, or
+     *         {@code array.length} if there is none
      */
-    public static boolean isSorted(int[] array) {
-        // For sake of simplicity.
-        // This method can be implemented by while loop but It's just a helper method.
-        return array.length != 0 && IntStream.range(1, array.length).noneMatch(i -> array[i - 1] > array[i]);
+    public static int lowerBound(int[] array, int value) {
+        return lowerBound(array, 0, array.length, value);
     }
 
     /**
-     * Inserts a value into a sorted array at the specified index, maintaining the
-     * sorted order.
+     * Returns the index of the first element in a sorted range that is not less
+     * than the given value.
      *
-     * @param array the sorted array to be inserted into
-     * @param index the index at which the value should be inserted
-     * @param value the value to be inserted
-     * @return a new array with the value inserted at the specified index
+     * @param array the array whose range is sorted
+     * @param from  the index of the first element, inclusive
+     * @param to    the index of the last element, exclusive
+     * @param value the value to be searched for
+     * @return the index of the first element {@code >= value}, or {@code to} if
+     *         there is none
+     * @throws IndexOutOfBoundsException if the range is out of bounds
      */
-    public static <T> T[] insertSorted(T[] array, int index, T value) {
-        T[] result = Arrays.copyOf(array, array.length + 1);
+    public static int lowerBound(int[] array, int from, int to, int value) {
+        Objects.checkFromToIndex(from, to, array.length);
 
-        System.arraycopy(array, index, result, index + 1, array.length - index);
-        result[index] = value;
+        int base = from;
+        int length = to - from;
 
-        return result;
+        if (length == 0) {
+            return from;
+        }
+        while (length > 1) {
+            int half = length >>> 1;
+            base = array[base + half] < value ? base + half : base;
+            length -= half;
+        }
+        return base + (array[base] < value ? 1 : 0);
     }
 
     /**
-     * Swaps elements in the given array to move the maximum element to the end in
-     * each iteration.
+     * Returns the index of the first element in a sorted array that is greater
+     * than the given value.
      *
-     * @param array the array to be sorted
-     * @param n     the number of elements in the array to be sorted
-     * @return true if no swaps were made, false otherwise
+     * @param array the sorted array
+     * @param value the value to be searched for
+     * @return the index of the first element {@code > value}, or
+     *         {@code array.length} if there is none
      */
-    private static boolean pushMaxAtEndBySwap(int[] array, int n) {
-        boolean isSwapped = true;
-
-        for (int i = 0; i < n; i++) {
-            if (array[i] > array[i + 1]) {
-                isSwapped = false;
-                swap(array, i, i + 1);
-            }
-        }
-        return isSwapped;
+    public static int upperBound(int[] array, int value) {
+        return upperBound(array, 0, array.length, value);
     }
 
     /**
-     * Swaps two elements in the given array.
+     * Returns the index of the first element in a sorted range that is greater
+     * than the given value.
      *
-     * @param array the array in which elements should be swapped
-     * @param i     the index of the first element to be swapped
-     * @param j     the index of the second element to be swapped
+     * @param array the array whose range is sorted
+     * @param from  the index of the first element, inclusive
+     * @param to    the index of the last element, exclusive
+     * @param value the value to be searched for
+     * @return the index of the first element {@code > value}, or {@code to} if
+     *         there is none
+     * @throws IndexOutOfBoundsException if the range is out of bounds
      */
-    private static void swap(int[] array, int i, int j) {
-        int temp = array[i];
-        array[i] = array[j];
-        array[j] = temp;
+    public static int upperBound(int[] array, int from, int to, int value) {
+        Objects.checkFromToIndex(from, to, array.length);
+
+        int base = from;
+        int length = to - from;
+
+        if (length == 0) {
+            return from;
+        }
+        while (length > 1) {
+            int half = length >>> 1;
+            base = array[base + half] <= value ? base + half : base;
+            length -= half;
+        }
+        return base + (array[base] <= value ? 1 : 0);
     }
 
     /**
-     * Swaps the elements at indices i and j in the given array.
+     * Returns the range of elements equal to the given value in a sorted array.
      *
-     * @param array the array in which elements should be swapped
-     * @param i     the index of the first element to be swapped
-     * @param j     the index of the second element to be swapped
-     * @param <T>   the type of elements in the array
+     * @param array the sorted array
+     * @param value the value to be searched for
+     * @return a two-element array {@code {lowerBound, upperBound}}; the range is
+     *         empty if the value is absent
      */
-    public static <T> void swap(T[] array, int i, int j) {
-        T temp = array[i];
-        array[i] = array[j];
-        array[j] = temp;
+    public static int[] equalRange(int[] array, int value) {
+        return new int[] { lowerBound(array, value), upperBound(array, value) };
     }
 
-    // -- HW 9 --
-
     /**
-     * Checks if each character in the given array satisfies the rules defined in
-     * the given array of CharacterRules.
+     * Returns the index of the first element in a sorted array that is not less
+     * than the given value.
      *
-     * @param array           the array of characters to check
-     * @param mustBeRules     the array of CharacterRules to check against
-     * @param mustBeSatisfied the array to store the satisfaction of each rule
+     * @param array the sorted array
+     * @param value the value to be searched for
+     * @return the index of the first element {@code >= value}, or
+     *         {@code array.length} if there is none
      */
-    private static void checkMustBeRules(char[] array, CharacterRule[] mustBeRules, boolean[] mustBeSatisfied) {
-        int i = 0;
-        while (i < array.length) {
-            char ch = array[i];
-            int j = 0;
-            while (j < mustBeRules.length) {
-                if (mustBeRules[j].predicate.test(ch)) {
-                    mustBeSatisfied[j] = true;
-                }
-                j++;
-            }
-            i++;
-        }
+    public static int lowerBound(long[] array, long value) {
+        return lowerBound(array, 0, array.length, value);
     }
 
     /**
-     * Checks the given character array against the given array of MustNotBeRules
-     * and appends any errors to the
-     * errorMessages StringBuilder.
+     * Returns the index of the first element in a sorted range that is not less
+     * than the given value.
      *
-     * @param array          the character array to check against the MustNotBeRules
-     * @param mustNotBeRules the array of MustNotBeRules to check against the
-     *                       character array
-     * @param addedErrors    the set of ErrorStrings that have already been added to
-     *                       the errorMessages StringBuilder
-     * @param errorMessages  the StringBuilder to append any errors to
+     * @param array the array whose range is sorted
+     * @param from  the index of the first element, inclusive
+     * @param to    the index of the last element, exclusive
+     * @param value the value to be searched for
+     * @return the index of the first element {@code >= value}, or {@code to} if
+     *         there is none
+     * @throws IndexOutOfBoundsException if the range is out of bounds
      */
-    private static void checkMustNotBeRules(char[] array, CharacterRule[] mustNotBeRules, Set<ErrorString> addedErrors,
-            StringBuilder errorMessages) {
-        int i = 0;
+    public static int lowerBound(long[] array, int from, int to, long value) {
+        Objects.checkFromToIndex(from, to, array.length);
 
-        while (i < array.length) {
-            char ch = array[i];
-            int j = 0;
+        int base = from;
+        int length = to - from;
 
-            while (j < mustNotBeRules.length) {
-                if (mustNotBeRules[j].predicate.test(ch) && addedErrors.add(mustNotBeRules[j].errorString)) {
-                    appendErrorMessage(errorMessages, mustNotBeRules[j].errorString);
-                }
-                j++;
-            }
-            i++;
+        if (length == 0) {
+            return from;
         }
+        while (length > 1) {
+            int half = length >>> 1;
+            base = array[base + half] < value ? base + half : base;
+            length -= half;
+        }
+        return base + (array[base] < value ? 1 : 0);
     }
 
     /**
-     * Accumulates errors based on the given rules.
+     * Returns the index of the first element in a sorted array that is greater
+     * than the given value.
      *
-     * @param mustBeRules     the array of CharacterRules to check against
-     * @param mustBeSatisfied the array to store the satisfaction of each rule
-     * @param addedErrors     the set of ErrorStrings that have already been added
-     *                        to the errorMessages StringBuilder
-     * @param errorMessages   the StringBuilder to append any errors to
+     * @param array the sorted array
+     * @param value the value to be searched for
+     * @return the index of the first element {@code > value}, or
+     *         {@code array.length} if there is none
      */
-    private static void accumulateErrors(CharacterRule[] mustBeRules, boolean[] mustBeSatisfied,
-            Set<ErrorString> addedErrors, StringBuilder errorMessages) {
-        int i = 0;
-
-        while (i < mustBeRules.length) {
-            if (!mustBeSatisfied[i] && mustBeRules[i].isSatisfied && addedErrors.add(mustBeRules[i].errorString)) {
-                appendErrorMessage(errorMessages, mustBeRules[i].errorString);
-            }
-            i++;
-        }
+    public static int upperBound(long[] array, long value) {
+        return upperBound(array, 0, array.length, value);
     }
 
     /**
-     * Appends an error message to the given StringBuilder if it is not empty.
+     * Returns the index of the first element in a sorted range that is greater
+     * than the given value.
      *
-     * @param errorMessages the StringBuilder to append the error message to
-     * @param errorString   the ErrorString containing the error message to append
+     * @param array the array whose range is sorted
+     * @param from  the index of the first element, inclusive
+     * @param to    the index of the last element, exclusive
+     * @param value the value to be searched for
+     * @return the index of the first element {@code > value}, or {@code to} if
+     *         there is none
+     * @throws IndexOutOfBoundsException if the range is out of bounds
      */
-    private static void appendErrorMessage(StringBuilder errorMessages, ErrorString errorString) {
-        if (errorMessages.length() > 0) {
-            errorMessages.append(", ");
+    public static int upperBound(long[] array, int from, int to, long value) {
+        Objects.checkFromToIndex(from, to, array.length);
+
+        int base = from;
+        int length = to - from;
+
+        if (length == 0) {
+            return from;
+        }
+        while (length > 1) {
+            int half = length >>> 1;
+            base = array[base + half] <= value ? base + half : base;
+            length -= half;
+        }
+        return base + (array[base] <= value ? 1 : 0);
+    }
+
+    /**
+     * Returns the range of elements equal to the given value in a sorted array.
+     *
+     * @param array the sorted array
+     * @param value the value to be searched for
+     * @return a two-element array {@code {lowerBound, upperBound}}; the range is
+     *         empty if the value is absent
+     */
+    public static int[] equalRange(long[] array, long value) {
+        return new int[] { lowerBound(array, value), upperBound(array, value) };
+    }
+
+    /**
+     * Returns the index of the first element in an array sorted by the
+     * comparator that is not less than the given value.
+     *
+     * @param array      the sorted array
+     * @param value      the value to be searched for
+     * @param comparator the comparator the array is sorted by
+     * @return the index of the first element {@code >= value}, or
+     *         {@code array.length} if there is none
+     */
+    public static <T> int lowerBound(T[] array, T value, Comparator<? super T> comparator) {
+        return lowerBound(array, 0, array.length, value, comparator);
+    }
+
+    /**
+     * Returns the index of the first element in a range sorted by the
+     * comparator that is not less than the given value.
+     *
+     * @param array      the array whose range is sorted
+     * @param from       the index of the first element, inclusive
+     * @param to         the index of the last element, exclusive
+     * @param value      the value to be searched for
+     * @param comparator the comparator the range is sorted by
+     * @return the index of the first element {@code >= value}, or {@code to} if
+     *         there is none
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     */
+    public static <T> int lowerBound(T[] array, int from, int to, T value, Comparator<? super T> comparator) {
+        Objects.checkFromToIndex(from, to, array.length);
+
+        int base = from;
+        int length = to - from;
+
+        if (length == 0) {
+            return from;
+        }
+        while (length > 1) {
+            int half = length >>> 1;
+            base = comparator.compare(array[base + half], value) < 0 ? base + half : base;
+            length -= half;
+        }
+        return base + (comparator.compare(array[base], value) < 0 ? 1 : 0);
+    }
+
+    /**
+     * Returns the index of the first element in an array sorted by the
+     * comparator that is greater than the given value.
+     *
+     * @param array      the sorted array
+     * @param value      the value to be searched for
+     * @param comparator the comparator the array is sorted by
+     * @return the index of the first element {@code > value}, or
+     *         {@code array.length} if there is none
+     */
+    public static <T> int upperBound(T[] array, T value, Comparator<? super T> comparator) {
+        return upperBound(array, 0, array.length, value, comparator);
+    }
+
+    /**
+     * Returns the index of the first element in a range sorted by the
+     * comparator that is greater than the given value.
+     *
+     * @param array      the array whose range is sorted
+     * @param from       the index of the first element, inclusive
+     * @param to         the index of the last element, exclusive
+     * @param value      the value to be searched for
+     * @param comparator the comparator the range is sorted by
+     * @return the index of the first element {@code > value}, or {@code to} if
+     *         there is none
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     */
+    public static <T> int upperBound(T[] array, int from, int to, T value, Comparator<? super T> comparator) {
+        Objects.checkFromToIndex(from, to, array.length);
+
+        int base = from;
+        int length = to - from;
+
+        if (length == 0) {
+            return from;
+        }
+        while (length > 1) {
+            int half = length >>> 1;
+            base = comparator.compare(array[base + half], value) <= 0 ? base + half : base;
+            length -= half;
+        }
+        return base + (comparator.compare(array[base], value) <= 0 ? 1 : 0);
+    }
+
+    /**
+     * Returns the range of elements equal to the given value in an array sorted
+     * by the comparator.
+     *
+     * @param array      the sorted array
+     * @param value      the value to be searched for
+     * @param comparator the comparator the array is sorted by
+     * @return a two-element array {@code {lowerBound, upperBound}}; the range is
+     *         empty if the value is absent
+     */
+    public static <T> int[] equalRange(T[] array, T value, Comparator<? super T> comparator) {
+        return new int[] { lowerBound(array, value, comparator), upperBound(array, value, comparator) };
+    }
+
+    // ---------------------------------------------------------------------------
+    //
+    // Primitive families
+    //
+    // long[], double[], short[] and char[] counterparts of the int[] methods,
+    // with the same conventions: binarySearch returns the first occurrence or
+    // -(insertion point) - 1, insertSorted puts the value after equal ones, and
+    // isSorted is false for an empty array. Doubles are ordered as by
+    // Double.compare: -0.0 is less than 0.0 and NaN is greater than everything,
+    // and equal to itself.
+    //
+    // ---------------------------------------------------------------------------
+
+    /**
+     * Searches for a given value in an array and returns the index of the first
+     * occurrence.
+     *
+     * @param array the array to be searched
+     * @param value the value to be searched for
+     * @return the index of the first occurrence of the value in the array, or -1 if
+     *         the value is not found
+     */
+    public static int searchByIndex(long[] array, long value) {
+        int index = 0;
+
+        while (index < array.length && array[index] != value) {
+            index++;
+        }
+        return index == array.length ? -1 : index;
+    }
+
+    /**
+     * Searches a sorted array for the given value.
+     *
+     * @param array the sorted array
+     * @param value the value to be searched for
+     * @return the index of the first occurrence of the value, or
+     *         {@code -(insertion point) - 1}
+     */
+    public static int binarySearch(long[] array, long value) {
+        int index = lowerBound(array, value);
+
+        return index < array.length && array[index] == value ? index : -index - 1;
+    }
+
+    /**
+     * Inserts a value into a sorted array and returns the new sorted array. The
+     * value goes after any elements equal to it.
+     *
+     * @param array the sorted array
+     * @param value the value to be inserted
+     * @return the new sorted array with the value inserted
+     */
+    public static long[] insertSorted(long[] array, long value) {
+        int index = upperBound(array, value);
+        long[] result = new long[array.length + 1];
+
+        System.arraycopy(array, 0, result, 0, index);
+        result[index] = value;
+        System.arraycopy(array, index, result, index + 1, array.length - index);
+        return result;
+    }
+
+    /**
+     * Sorts an array in ascending order in place.
+     *
+     * @param array the array to be sorted
+     */
+    public static void sort(long[] array) {
+        LongSorter.sort(array, 0, array.length);
+    }
+
+    /**
+     * Checks if the given array is sorted in ascending order.
+     *
+     * @param array the array to be checked
+     * @return true if the array is sorted, false otherwise
+     */
+    public static boolean isSorted(long[] array) {
+        int i = 1;
+
+        while (i < array.length && array[i - 1] <= array[i]) {
+            i++;
+        }
+        return array.length != 0 && i == array.length;
+    }
+
+    /**
+     * Searches for a given value in an array and returns the index of the first
+     * occurrence. Values are compared as by {@link Double#compare(double, double)}.
+     *
+     * @param array the array to be searched
+     * @param value the value to be searched for
+     * @return the index of the first occurrence of the value in the array, or -1 if
+     *         the value is not found
+     */
+    public static int searchByIndex(double[] array, double value) {
+        int index = 0;
+
+        while (index < array.length && Double.compare(array[index], value) != 0) {
+            index++;
+        }
+        return index == array.length ? -1 : index;
+    }
+
+    /**
+     * Returns the index of the first element in a sorted array that is not less
+     * than the given value.
+     *
+     * @param array the sorted array
+     * @param value the value to be searched for
+     * @return the index of the first element {@code >= value}, or
+     *         {@code array.length} if there is none
+     */
+    public static int lowerBound(double[] array, double value) {
+        return lowerBound(array, 0, array.length, value);
+    }
+
+    /**
+     * Returns the index of the first element in a sorted range that is not less
+     * than the given value.
+     *
+     * @param array the array whose range is sorted
+     * @param from  the index of the first element, inclusive
+     * @param to    the index of the last element, exclusive
+     * @param value the value to be searched for
+     * @return the index of the first element {@code >= value}, or {@code to} if
+     *         there is none
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     */
+    public static int lowerBound(double[] array, int from, int to, double value) {
+        Objects.checkFromToIndex(from, to, array.length);
+
+        int base = from;
+        int length = to - from;
+
+        if (length == 0) {
+            return from;
+        }
+        while (length > 1) {
+            int half = length >>> 1;
+            base = Double.compare(array[base + half], value) < 0 ? base + half : base;
+            length -= half;
+        }
+        return base + (Double.compare(array[base], value) < 0 ? 1 : 0);
+    }
+
+    /**
+     * Returns the index of the first element in a sorted array that is greater
+     * than the given value.
+     *
+     * @param array the sorted array
+     * @param value the value to be searched for
+     * @return the index of the first element {@code > value}, or
+     *         {@code array.length} if there is none
+     */
+    public static int upperBound(double[] array, double value) {
+        return upperBound(array, 0, array.length, value);
+    }
+
+    /**
+     * Returns the index of the first element in a sorted range that is greater
+     * than the given value.
+     *
+     * @param array the array whose range is sorted
+     * @param from  the index of the first element, inclusive
+     * @param to    the index of the last element, exclusive
+     * @param value the value to be searched for
+     * @return the index of the first element {@code > value}, or {@code to} if
+     *         there is none
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     */
+    public static int upperBound(double[] array, int from, int to, double value) {
+        Objects.checkFromToIndex(from, to, array.length);
+
+        int base = from;
+        int length = to - from;
+
+        if (length == 0) {
+            return from;
+        }
+        while (length > 1) {
+            int half = length >>> 1;
+            base = Double.compare(array[base + half], value) <= 0 ? base + half : base;
+            length -= half;
+        }
+        return base + (Double.compare(array[base], value) <= 0 ? 1 : 0);
+    }
+
+    /**
+     * Searches a sorted array for the given value.
+     *
+     * @param array the sorted array
+     * @param value the value to be searched for
+     * @return the index of the first occurrence of the value, or
+     *         {@code -(insertion point) - 1}
+     */
+    public static int binarySearch(double[] array, double value) {
+        int index = lowerBound(array, value);
+
+        return index < array.length && Double.compare(array[index], value) == 0 ? index : -index - 1;
+    }
+
+    /**
+     * Inserts a value into a sorted array and returns the new sorted array. The
+     * value goes after any elements equal to it.
+     *
+     * @param array the sorted array
+     * @param value the value to be inserted
+     * @return the new sorted array with the value inserted
+     */
+    public static double[] insertSorted(double[] array, double value) {
+        int index = upperBound(array, value);
+        double[] result = new double[array.length + 1];
+
+        System.arraycopy(array, 0, result, 0, index);
+        result[index] = value;
+        System.arraycopy(array, index, result, index + 1, array.length - index);
+        return result;
+    }
+
+    /**
+     * Sorts an array in ascending order, as defined by
+     * {@link Double#compare(double, double)}. Unless the array is tiny or
+     * already sorted, a scratch {@code long[]} of the same length is allocated.
+     *
+     * @param array the array to be sorted
+     */
+    public static void sort(double[] array) {
+        LongSorter.sort(array, 0, array.length);
+    }
+
+    /**
+     * Checks if the given array is sorted in ascending order.
+     *
+     * @param array the array to be checked
+     * @return true if the array is sorted, false otherwise
+     */
+    public static boolean isSorted(double[] array) {
+        int i = 1;
+
+        while (i < array.length && Double.compare(array[i - 1], array[i]) <= 0) {
+            i++;
+        }
+        return array.length != 0 && i == array.length;
+    }
+
+    /**
+     * Searches for a given value in an array and returns the index of the first
+     * occurrence.
+     *
+     * @param array the array to be searched
+     * @param value the value to be searched for
+     * @return the index of the first occurrence of the value in the array, or -1 if
+     *         the value is not found
+     */
+    public static int searchByIndex(short[] array, short value) {
+        int index = 0;
+
+        while (index < array.length && array[index] != value) {
+            index++;
+        }
+        return index == array.length ? -1 : index;
+    }
+
+    /**
+     * Returns the index of the first element in a sorted array that is not less
+     * than the given value.
+     *
+     * @param array the sorted array
+     * @param value the value to be searched for
+     * @return the index of the first element {@code >= value}, or
+     *         {@code array.length} if there is none
+     */
+    public static int lowerBound(short[] array, short value) {
+        return lowerBound(array, 0, array.length, value);
+    }
+
+    /**
+     * Returns the index of the first element in a sorted range that is not less
+     * than the given value.
+     *
+     * @param array the array whose range is sorted
+     * @param from  the index of the first element, inclusive
+     * @param to    the index of the last element, exclusive
+     * @param value the value to be searched for
+     * @return the index of the first element {@code >= value}, or {@code to} if
+     *         there is none
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     */
+    public static int lowerBound(short[] array, int from, int to, short value) {
+        Objects.checkFromToIndex(from, to, array.length);
+
+        int base = from;
+        int length = to - from;
+
+        if (length == 0) {
+            return from;
+        }
+        while (length > 1) {
+            int half = length >>> 1;
+            base = array[base + half] < value ? base + half : base;
+            length -= half;
+        }
+        return base + (array[base] < value ? 1 : 0);
+    }
+
+    /**
+     * Returns the index of the first element in a sorted array that is greater
+     * than the given value.
+     *
+     * @param array the sorted array
+     * @param value the value to be searched for
+     * @return the index of the first element {@code > value}, or
+     *         {@code array.length} if there is none
+     */
+    public static int upperBound(short[] array, short value) {
+        return upperBound(array, 0, array.length, value);
+    }
+
+    /**
+     * Returns the index of the first element in a sorted range that is greater
+     * than the given value.
+     *
+     * @param array the array whose range is sorted
+     * @param from  the index of the first element, inclusive
+     * @param to    the index of the last element, exclusive
+     * @param value the value to be searched for
+     * @return the index of the first element {@code > value}, or {@code to} if
+     *         there is none
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     */
+    public static int upperBound(short[] array, int from, int to, short value) {
+        Objects.checkFromToIndex(from, to, array.length);
+
+        int base = from;
+        int length = to - from;
+
+        if (length == 0) {
+            return from;
+        }
+        while (length > 1) {
+            int half = length >>> 1;
+            base = array[base + half] <= value ? base + half : base;
+            length -= half;
+        }
+        return base + (array[base] <= value ? 1 : 0);
+    }
+
+    /**
+     * Searches a sorted array for the given value.
+     *
+     * @param array the sorted array
+     * @param value the value to be searched for
+     * @return the index of the first occurrence of the value, or
+     *         {@code -(insertion point) - 1}
+     */
+    public static int binarySearch(short[] array, short value) {
+        int index = lowerBound(array, value);
+
+        return index < array.length && array[index] == value ? index : -index - 1;
+    }
+
+    /**
+     * Inserts a value into a sorted array and returns the new sorted array. The
+     * value goes after any elements equal to it.
+     *
+     * @param array the sorted array
+     * @param value the value to be inserted
+     * @return the new sorted array with the value inserted
+     */
+    public static short[] insertSorted(short[] array, short value) {
+        int index = upperBound(array, value);
+        short[] result = new short[array.length + 1];
+
+        System.arraycopy(array, 0, result, 0, index);
+        result[index] = value;
+        System.arraycopy(array, index, result, index + 1, array.length - index);
+        return result;
+    }
+
+    /**
+     * Sorts an array in ascending order in place.
+     *
+     * @param array the array to be sorted
+     */
+    public static void sort(short[] array) {
+        CountingSorter.sort(array, 0, array.length);
+    }
+
+    /**
+     * Checks if the given array is sorted in ascending order.
+     *
+     * @param array the array to be checked
+     * @return true if the array is sorted, false otherwise
+     */
+    public static boolean isSorted(short[] array) {
+        int i = 1;
+
+        while (i < array.length && array[i - 1] <= array[i]) {
+            i++;
+        }
+        return array.length != 0 && i == array.length;
+    }
+
+    /**
+     * Searches for a given value in an array and returns the index of the first
+     * occurrence.
+     *
+     * @param array the array to be searched
+     * @param value the value to be searched for
+     * @return the index of the first occurrence of the value in the array, or -1 if
+     *         the value is not found
+     */
+    public static int searchByIndex(char[] array, char value) {
+        int index = 0;
+
+        while (index < array.length && array[index] != value) {
+            index++;
+        }
+        return index == array.length ? -1 : index;
+    }
+
+    /**
+     * Returns the index of the first element in a sorted array that is not less
+     * than the given value.
+     *
+     * @param array the sorted array
+     * @param value the value to be searched for
+     * @return the index of the first element {@code >= value}, or
+     *         {@code array.length} if there is none
+     */
+    public static int lowerBound(char[] array, char value) {
+        return lowerBound(array, 0, array.length, value);
+    }
+
+    /**
+     * Returns the index of the first element in a sorted range that is not less
+     * than the given value.
+     *
+     * @param array the array whose range is sorted
+     * @param from  the index of the first element, inclusive
+     * @param to    the index of the last element, exclusive
+     * @param value the value to be searched for
+     * @return the index of the first element {@code >= value}, or {@code to} if
+     *         there is none
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     */
+    public static int lowerBound(char[] array, int from, int to, char value) {
+        Objects.checkFromToIndex(from, to, array.length);
+
+        int base = from;
+        int length = to - from;
+
+        if (length == 0) {
+            return from;
+        }
+        while (length > 1) {
+            int half = length >>> 1;
+            base = array[base + half] < value ? base + half : base;
+            length -= half;
+        }
+        return base + (array[base] < value ? 1 : 0);
+    }
+
+    /**
+     * Returns the index of the first element in a sorted array that is greater
+     * than the given value.
+     *
+     * @param array the sorted array
+     * @param value the value to be searched for
+     * @return the index of the first element {@code > value}, or
+     *         {@code array.length} if there is none
+     */
+    public static int upperBound(char[] array, char value) {
+        return upperBound(array, 0, array.length, value);
+    }
+
+    /**
+     * Returns the index of the first element in a sorted range that is greater
+     * than the given value.
+     *
+     * @param array the array whose range is sorted
+     * @param from  the index of the first element, inclusive
+     * @param to    the index of the last element, exclusive
+     * @param value the value to be searched for
+     * @return the index of the first element {@code > value}, or {@code to} if
+     *         there is none
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     */
+    public static int upperBound(char[] array, int from, int to, char value) {
+        Objects.checkFromToIndex(from, to, array.length);
+
+        int base = from;
+        int length = to - from;
+
+        if (length == 0) {
+            return from;
+        }
+        while (length > 1) {
+            int half = length >>> 1;
+            base = array[base + half] <= value ? base + half : base;
+            length -= half;
+        }
+        return base + (array[base] <= value ? 1 : 0);
+    }
+
+    /**
+     * Searches a sorted array for the given value.
+     *
+     * @param array the sorted array
+     * @param value the value to be searched for
+     * @return the index of the first occurrence of the value, or
+     *         {@code -(insertion point) - 1}
+     */
+    public static int binarySearch(char[] array, char value) {
+        int index = lowerBound(array, value);
+
+        return index < array.length && array[index] == value ? index : -index - 1;
+    }
+
+    /**
+     * Inserts a value into a sorted array and returns the new sorted array. The
+     * value goes after any elements equal to it.
+     *
+     * @param array the sorted array
+     * @param value the value to be inserted
+     * @return the new sorted array with the value inserted
+     */
+    public static char[] insertSorted(char[] array, char value) {
+        int index = upperBound(array, value);
+        char[] result = new char[array.length + 1];
+
+        System.arraycopy(array, 0, result, 0, index);
+        result[index] = value;
+        System.arraycopy(array, index, result, index + 1, array.length - index);
+        return result;
+    }
+
+    /**
+     * Sorts an array in ascending order in place.
+     *
+     * @param array the array to be sorted
+     */
+    public static void sort(char[] array) {
+        CountingSorter.sort(array, 0, array.length);
+    }
+
+    /**
+     * Checks if the given array is sorted in ascending order.
+     *
+     * @param array the array to be checked
+     * @return true if the array is sorted, false otherwise
+     */
+    public static boolean isSorted(char[] array) {
+        int i = 1;
+
+        while (i < array.length && array[i - 1] <= array[i]) {
+            i++;
+        }
+        return array.length != 0 && i == array.length;
+    }
+
+    // ---------------------------------------------------------------------------
+    //
+    // Generics and Comparators
+    //
+    // ---------------------------------------------------------------------------
+
+    /**
+     * Sorts an array of elements using the provided comparator.
+     *
+     * The sort is stable and run-based (TimSort): natural runs are detected and
+     * merged with galloping, so the comparator is called O(n log n) times, and
+     * close to n times on presorted input. Wrap the comparator in a
+     * {@link CountingComparator} to measure it.
+     *
+     * @param array      the array to be sorted
+     * @param comparator the comparator to determine the order of the elements
+     * @throws IllegalArgumentException if the comparator is found to violate its
+     *                                  contract
+     */
+    public static <T> void sort(T[] array, Comparator<T> comparator) {
+        TimSorter.sort(array, 0, array.length, comparator);
+    }
+
+    /**
+     * Sorts an array of elements using the provided comparator and all cores of
+     * the common {@link ForkJoinPool}.
+     *
+     * @param array      the array to be sorted
+     * @param comparator the comparator to determine the order of the elements
+     * @see #parallelSort(Object[], Comparator, int, ForkJoinPool)
+     */
+    public static <T> void parallelSort(T[] array, Comparator<T> comparator) {
+        parallelSort(array, comparator, ParallelSorter.DEFAULT_THRESHOLD, null);
+    }
+
+    /**
+     * Sorts an array of elements using the provided comparator and the common
+     * {@link ForkJoinPool}.
+     *
+     * @param array      the array to be sorted
+     * @param comparator the comparator to determine the order of the elements
+     * @param threshold  ranges up to this length are sorted sequentially
+     * @throws IllegalArgumentException if the threshold is not positive
+     * @see #parallelSort(Object[], Comparator, int, ForkJoinPool)
+     */
+    public static <T> void parallelSort(T[] array, Comparator<T> comparator, int threshold) {
+        parallelSort(array, comparator, threshold, null);
+    }
+
+    /**
+     * Sorts an array of elements using the provided comparator with a fork-join
+     * merge sort.
+     *
+     * Ranges up to {@code threshold} elements are sorted by the sequential
+     * engine of {@link #sort(Object[], Comparator)} and merged back in parallel.
+     * Like the sequential sort it is stable. The comparator is called from
+     * several threads at once, so it must be thread-safe.
+     *
+     * @param array      the array to be sorted
+     * @param comparator the comparator to determine the order of the elements
+     * @param threshold  ranges up to this length are sorted sequentially
+     * @param pool       the pool to run in, or null for the common pool
+     * @throws IllegalArgumentException if the threshold is not positive
+     */
+    public static <T> void parallelSort(T[] array, Comparator<T> comparator, int threshold, ForkJoinPool pool) {
+        ParallelSorter.sort(array, comparator, threshold, pool);
+    }
+
+    /**
+     * Sorts an array by an {@code int} key, like
+     * {@code sort(array, Comparator.comparingInt(key))} but with every key
+     * extracted only once.
+     *
+     * The keys are sorted as primitives together with the original indices and
+     * the elements are then permuted in place. The sort is stable.
+     *
+     * @param array the array to be sorted
+     * @param key   the key extractor, called once per element
+     */
+    public static <T> void sortByIntKey(T[] array, ToIntFunction<? super T> key) {
+        KeySorter.sortByInt(array, key);
+    }
+
+    /**
+     * Sorts an array by a {@code long} key, like
+     * {@code sort(array, Comparator.comparingLong(key))} but with every key
+     * extracted only once. The sort is stable.
+     *
+     * @param array the array to be sorted
+     * @param key   the key extractor, called once per element
+     * @see #sortByIntKey(Object[], ToIntFunction)
+     */
+    public static <T> void sortByLongKey(T[] array, ToLongFunction<? super T> key) {
+        KeySorter.sortByLong(array, key);
+    }
+
+    /**
+     * Sorts an array by a {@code String} key, like
+     * {@code sort(array, Comparator.comparing(key))} but with every key
+     * extracted only once.
+     *
+     * The first four chars of every key are cached in a {@code long} and the
+     * elements are sorted by them first, so full string comparisons only happen
+     * between keys with a common prefix. The sort is stable.
+     *
+     * @param array the array to be sorted
+     * @param key   the key extractor, called once per element
+     * @throws NullPointerException if a key is null
+     */
+    public static <T> void sortByStringKey(T[] array, Function<? super T, String> key) {
+        KeySorter.sortByString(array, key);
+    }
+
+    /**
+     * Binary search method to find the index of a specific value in the array using
+     * the provided comparator.
+     *
+     * @param array      the array to search in
+     * @param value      the value to search for
+     * @param comparator the comparator to determine the ordering of the elements
+     * @return the index of the first occurrence of the value if found, otherwise
+     *         a negative value indicating where the value should be inserted
+     */
+    public static <T> int binarySearch(T[] array, T value, Comparator<T> comparator) {
+        int index = lowerBound(array, value, comparator);
+
+        return index < array.length && comparator.compare(array[index], value) == 0 ? index : -index - 1;
+    }
+
+    /**
+     * Searches an array sorted by the comparator for many keys at once.
+     * {@code results[i]} gets exactly what
+     * {@link #binarySearch(Object[], Object, Comparator)} returns for
+     * {@code keys[i]}.
+     *
+     * @param array      the sorted array
+     * @param keys       the values to be searched for, sorted or not
+     * @param comparator the comparator the array is sorted by
+     * @param results    the array receiving one result per key
+     * @throws IllegalArgumentException if {@code results} is shorter than
+     *                                  {@code keys}
+     * @see #binarySearchAll(int[], int[], int[])
+     */
+    public static <T> void binarySearchAll(T[] array, T[] keys, Comparator<T> comparator, int[] results) {
+        checkResultsLength(keys.length, results.length);
+
+        if (isNonDecreasing(keys, comparator)) {
+            searchSortedKeys(array, keys, comparator, results);
+        } else {
+            searchInterleaved(array, keys, comparator, results);
+        }
+    }
+
+    /**
+     * Performs a binary search on an array sorted in the natural order of its
+     * elements.
+     *
+     * Arrays of {@code Integer}, {@code Long} and {@code String} are searched
+     * by comparing the values directly. Any other array is searched through
+     * {@link Comparable#compareTo(Object)}, so nothing is allocated per probe.
+     *
+     * @param array the array sorted in natural order
+     * @param value the value to be found
+     * @return the index of the first occurrence of the value if found, otherwise
+     *         {@code -(insertion point) - 1}
+     * @throws ClassCastException   if the elements are not mutually comparable
+     * @throws NullPointerException if the value or an element probed is null
+     * @see #binarySearchByToString(Object[], Object)
+     */
+    public static <T> int binarySearch(T[] array, T value) {
+        int index;
+
+        if (array instanceof Integer[] integers && value instanceof Integer key) {
+            index = lowerBound(integers, key.intValue());
+        } else if (array instanceof Long[] longs && value instanceof Long key) {
+            index = lowerBound(longs, key.longValue());
+        } else if (array instanceof String[] strings && value instanceof String key) {
+            index = lowerBound(strings, key);
+        } else {
+            index = naturalLowerBound(array, value);
+        }
+        return index < array.length && compareNatural(array[index], value) == 0 ? index : -index - 1;
+    }
+
+    /**
+     * Performs a binary search on an array sorted by the string
+     * representations of its elements.
+     *
+     * This was the behavior of {@link #binarySearch(Object[], Object)} before
+     * it switched to the natural order. It builds two strings per probe, so use
+     * it only for arrays that really are sorted by {@code toString()}.
+     *
+     * @param array the array sorted by {@code toString()}
+     * @param value the value to be found
+     * @return the index of the first occurrence of the value if found, otherwise
+     *         {@code -(insertion point) - 1}
+     */
+    public static <T> int binarySearchByToString(T[] array, T value) {
+        return binarySearch(array, value, Comparator.comparing(T::toString));
+    }
+
+    private static int lowerBound(Integer[] array, int value) {
+        int base = 0;
+        int length = array.length;
+
+        if (length == 0) {
+            return 0;
+        }
+        while (length > 1) {
+            int half = length >>> 1;
+            base = array[base + half] < value ? base + half : base;
+            length -= half;
+        }
+        return base + (array[base] < value ? 1 : 0);
+    }
+
+    private static int lowerBound(Long[] array, long value) {
+        int base = 0;
+        int length = array.length;
+
+        if (length == 0) {
+            return 0;
+        }
+        while (length > 1) {
+            int half = length >>> 1;
+            base = array[base + half] < value ? base + half : base;
+            length -= half;
+        }
+        return base + (array[base] < value ? 1 : 0);
+    }
+
+    private static int lowerBound(String[] array, String value) {
+        int base = 0;
+        int length = array.length;
+
+        if (length == 0) {
+            return 0;
+        }
+        while (length > 1) {
+            int half = length >>> 1;
+            base = array[base + half].compareTo(value) < 0 ? base + half : base;
+            length -= half;
+        }
+        return base + (array[base].compareTo(value) < 0 ? 1 : 0);
+    }
+
+    private static <T> int naturalLowerBound(T[] array, T value) {
+        int base = 0;
+        int length = array.length;
+
+        if (length == 0) {
+            return 0;
+        }
+        while (length > 1) {
+            int half = length >>> 1;
+            base = compareNatural(array[base + half], value) < 0 ? base + half : base;
+            length -= half;
+        }
+        return base + (compareNatural(array[base], value) < 0 ? 1 : 0);
+    }
+
+    /**
+     * The cast is what {@link Arrays#binarySearch(Object[], Object)} does too:
+     * elements that are not comparable fail here with a ClassCastException.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> int compareNatural(T element, T value) {
+        return ((Comparable<? super T>) element).compareTo(value);
+    }
+
+    /**
+     * Performs an another binary search on the array using lambda explicit
+     * predicate to determine the value.
+     * 
+     * This method cannot be overloaded for obvious reasons, so it has a different
+     * name, but it is covered by the same tests.
+     *
+     * @param array the array to be searched
+     * @param value the value to be searched for
+     * @return the index of the value if found, otherwise a negative value
+     *         indicating where the value should be inserted
+     */
+    public static <T extends Comparable<T>> int binarySearchByExplicitPredicate(T[] array, T value) {
+        return binarySearch(array, value, Comparator.comparing(((T t) -> t)));
+    }
+
+    /**
+     * Finds elements in the given array that satisfy the given predicate and
+     * returns them in a new array.
+     * 
+     * Perhaps, this method should be called "findByPredicate" because it changes
+     * input array.
+     *
+     * The predicate is tested once per element and the result is allocated once
+     * at its exact size.
+     *
+     * @param array     the array to search for elements
+     * @param predicate the predicate used to test elements
+     * @return a new array containing the elements that satisfy the predicate
+     */
+    public static <T> T[] getSubArrayByPredicate(T[] array, Predicate<T> predicate) {
+        return ArrayFilter.filter(array, predicate, true, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Finds elements in the given array that satisfy the given predicate,
+     * testing them in parallel if the array is large enough.
+     *
+     * @param array             the array to search for elements
+     * @param predicate         the predicate used to test elements, must be
+     *                          safe to call from several threads
+     * @param parallelThreshold arrays of at least this length are filtered in
+     *                          parallel in the common pool
+     * @return a new array containing the elements that satisfy the predicate,
+     *         in their original order
+     * @throws IllegalArgumentException if the threshold is not positive
+     */
+    public static <T> T[] getSubArrayByPredicate(T[] array, Predicate<T> predicate, int parallelThreshold) {
+        return ArrayFilter.filter(array, predicate, true, parallelThreshold);
+    }
+
+    /**
+     * Removes elements from the given array based on a predicate.
+     * 
+     *
+     * @param array     the array from which elements will be removed
+     * @param predicate the predicate used to test elements
+     * @return a new array containing the elements that do not satisfy the predicate
+     */
+    public static <T> T[] removeIfbyGetSubArrayByPredicate(T[] array, Predicate<T> predicate) {
+        return ArrayFilter.filter(array, predicate, false, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Removes elements from the given array based on a predicate.
+     *
+     * Used to go through the Stream API. Kept for compatibility, now shares the
+     * single-pass filter with {@link #removeIfbyGetSubArrayByPredicate}.
+     *
+     * @param array     the array from which elements will be removed
+     * @param predicate the predicate used to test elements
+     * @return a new array containing the elements that do not satisfy the predicate
+     */
+    public static <T> T[] removeIfByStreamApiAndPredicate(T[] array, Predicate<T> predicate) {
+        return ArrayFilter.filter(array, predicate, false, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Checks if the given character array satisfies the rules defined in the given
+     * arrays of
+     * must-be and must-not-be rules. Returns a string containing error messages for
+     * any rules
+     * that are not satisfied.
+     *
+     * @param array          the character array to check
+     * @param mustBeRules    the array of must-be rules to check against the
+     *                       character array
+     * @param mustNotBeRules the array of must-not-be rules to check against the
+     *                       character array
+     * @return a string containing error messages for any rules that are not
+     *         satisfied
+     */
+    public static String matchesRules(char[] array, CharacterRule[] mustBeRules, CharacterRule[] mustNotBeRules) {
+        long addedErrors = 0;
+        StringBuilder errorMessages = null;
+
+        for (char ch : array) {
+            for (CharacterRule rule : mustNotBeRules) {
+                if ((addedErrors & RuleMatcher.errorBit(rule.errorString)) == 0 && rule.predicate.test(ch)) {
+                    addedErrors |= RuleMatcher.errorBit(rule.errorString);
+                    errorMessages = RuleMatcher.appendErrorMessage(errorMessages, rule.errorString);
+                }
+            }
+        }
+
+        for (CharacterRule rule : mustBeRules) {
+            if (rule.isSatisfied && (addedErrors & RuleMatcher.errorBit(rule.errorString)) == 0
+                    && !isSatisfiedByAny(array, rule.predicate)) {
+                addedErrors |= RuleMatcher.errorBit(rule.errorString);
+                errorMessages = RuleMatcher.appendErrorMessage(errorMessages, rule.errorString);
+            }
+        }
+        return errorMessages == null ? "" : errorMessages.toString();
+    }
+
+    /**
+     * Checks if the given array is sorted in ascending order.
+     *
+     * @param array the array to be checked
+     * @return true if the array is sorted, false otherwise
+     */
+    public static boolean isSorted(int[] array) {
+        return array.length != 0 && IntScans.firstDescent(array) < 0;
+    }
+
+    /**
+     * Inserts a value into a sorted array at the specified index, maintaining the
+     * sorted order.
+     *
+     * @param array the sorted array to be inserted into
+     * @param index the index at which the value should be inserted
+     * @param value the value to be inserted
+     * @return a new array with the value inserted at the specified index
+     */
+    public static <T> T[] insertSorted(T[] array, int index, T value) {
+        T[] result = Arrays.copyOf(array, array.length + 1);
+
+        System.arraycopy(array, index, result, index + 1, array.length - index);
+        result[index] = value;
+
+        return result;
+    }
+
+    /**
+     * Writes the sorted array with the value inserted at the specified index
+     * into the destination buffer.
+     *
+     * @param array       the sorted array to be inserted into
+     * @param index       the index at which the value should be inserted
+     * @param value       the value to be inserted
+     * @param destination the buffer receiving the result, at least
+     *                    {@code array.length + 1} long
+     * @return the number of elements written, {@code array.length + 1}
+     * @throws IndexOutOfBoundsException if the index is out of
+     *                                   {@code [0, array.length]}
+     * @throws IllegalArgumentException  if the destination is too short
+     */
+    public static <T> int insertSorted(T[] array, int index, T value, T[] destination) {
+        Objects.checkIndex(index, array.length + 1);
+        checkDestinationLength(destination.length, array.length + 1);
+
+        System.arraycopy(array, index, destination, index + 1, array.length - index);
+        System.arraycopy(array, 0, destination, 0, index);
+        destination[index] = value;
+        return array.length + 1;
+    }
+
+    /**
+     * Inserts a value into an array sorted by the comparator and returns the new
+     * sorted array.
+     *
+     * The value goes after any elements equal to it, so repeated inserts keep
+     * the order in which equal values arrived.
+     *
+     * @param array      the sorted array
+     * @param value      the value to be inserted
+     * @param comparator the comparator the array is sorted by
+     * @return the new sorted array with the value inserted
+     */
+    public static <T> T[] insertSorted(T[] array, T value, Comparator<T> comparator) {
+        return insertSorted(array, upperBound(array, value, comparator), value);
+    }
+
+    /**
+     * Swaps the elements at indices i and j in the given array.
+     *
+     * @param array the array in which elements should be swapped
+     * @param i     the index of the first element to be swapped
+     * @param j     the index of the second element to be swapped
+     * @param <T>   the type of elements in the array
+     */
+    public static <T> void swap(T[] array, int i, int j) {
+        T temp = array[i];
+        array[i] = array[j];
+        array[j] = temp;
+    }
+
+    // -- Batched search --
+
+    /** Number of searches advanced together by the interleaved batch search. */
+    private static final int SEARCH_GROUP = 16;
+
+    private static void checkResultsLength(int keysLength, int resultsLength) {
+        if (resultsLength < keysLength) {
+            throw new IllegalArgumentException(
+                    "Results array is too short: " + resultsLength + " < " + keysLength);
+        }
+    }
+
+    private static boolean isNonDecreasing(int[] array) {
+        int i = 1;
+
+        while (i < array.length && array[i - 1] <= array[i]) {
+            i++;
+        }
+        return i >= array.length;
+    }
+
+    private static <T> boolean isNonDecreasing(T[] array, Comparator<T> comparator) {
+        int i = 1;
+
+        while (i < array.length && comparator.compare(array[i - 1], array[i]) <= 0) {
+            i++;
+        }
+        return i >= array.length;
+    }
+
+    /**
+     * Resolves sorted keys left to right, galloping from the previous lower
+     * bound: probes at distance 1, 2, 4, ... bracket the next bound, then a
+     * binary search finishes inside the bracket.
+     */
+    private static void searchSortedKeys(int[] array, int[] keys, int[] results) {
+        int n = array.length;
+        int low = 0;
+
+        for (int i = 0; i < keys.length; i++) {
+            int key = keys[i];
+            int high = low;
+            int step = 1;
+
+            while (high < n && array[high] < key) {
+                low = high + 1;
+                high = n - high > step ? high + step : n;
+                step <<= 1;
+            }
+            low = lowerBound(array, low, high, key);
+            results[i] = low < n && array[low] == key ? low : -low - 1;
+        }
+    }
+
+    private static <T> void searchSortedKeys(T[] array, T[] keys, Comparator<T> comparator, int[] results) {
+        int n = array.length;
+        int low = 0;
+
+        for (int i = 0; i < keys.length; i++) {
+            T key = keys[i];
+            int high = low;
+            int step = 1;
+
+            while (high < n && comparator.compare(array[high], key) < 0) {
+                low = high + 1;
+                high = n - high > step ? high + step : n;
+                step <<= 1;
+            }
+            low = lowerBound(array, low, high, key, comparator);
+            results[i] = low < n && comparator.compare(array[low], key) == 0 ? low : -low - 1;
+        }
+    }
+
+    /**
+     * Runs the branch-free lower bound search for groups of keys in lockstep.
+     * The current base of each search is kept in {@code results} until the
+     * group finishes.
+     */
+    private static void searchInterleaved(int[] array, int[] keys, int[] results) {
+        int n = array.length;
+
+        for (int start = 0; start < keys.length; start += SEARCH_GROUP) {
+            int end = Math.min(start + SEARCH_GROUP, keys.length);
+
+            if (n == 0) {
+                Arrays.fill(results, start, end, -1);
+                continue;
+            }
+
+            Arrays.fill(results, start, end, 0);
+            for (int length = n; length > 1; length -= length >>> 1) {
+                int half = length >>> 1;
+
+                for (int i = start; i < end; i++) {
+                    int base = results[i];
+                    results[i] = array[base + half] < keys[i] ? base + half : base;
+                }
+            }
+            for (int i = start; i < end; i++) {
+                int base = results[i];
+                int bound = base + (array[base] < keys[i] ? 1 : 0);
+                results[i] = bound < n && array[bound] == keys[i] ? bound : -bound - 1;
+            }
+        }
+    }
+
+    private static <T> void searchInterleaved(T[] array, T[] keys, Comparator<T> comparator, int[] results) {
+        int n = array.length;
+
+        for (int start = 0; start < keys.length; start += SEARCH_GROUP) {
+            int end = Math.min(start + SEARCH_GROUP, keys.length);
+
+            if (n == 0) {
+                Arrays.fill(results, start, end, -1);
+                continue;
+            }
+
+            Arrays.fill(results, start, end, 0);
+            for (int length = n; length > 1; length -= length >>> 1) {
+                int half = length >>> 1;
+
+                for (int i = start; i < end; i++) {
+                    int base = results[i];
+                    results[i] = comparator.compare(array[base + half], keys[i]) < 0 ? base + half : base;
+                }
+            }
+            for (int i = start; i < end; i++) {
+                int base = results[i];
+                int bound = base + (comparator.compare(array[base], keys[i]) < 0 ? 1 : 0);
+                results[i] = bound < n && comparator.compare(array[bound], keys[i]) == 0 ? bound : -bound - 1;
+            }
+        }
+    }
+
+    // -- HW 9 --
+
+    /**
+     * Checks if at least one character in the given array satisfies the
+     * predicate.
+     *
+     * @param array     the array of characters to check
+     * @param predicate the predicate to test the characters with
+     * @return true if some character satisfies the predicate, false otherwise
+     */
+    private static boolean isSatisfiedByAny(char[] array, CharPredicate predicate) {
+        int i = 0;
+
+        while (i < array.length && !predicate.test(array[i])) {
+            i++;
         }
-        errorMessages.append(errorString.getErrorMessage());
+        return i < array.length;
     }
-}
\ No newline at end of file
+}
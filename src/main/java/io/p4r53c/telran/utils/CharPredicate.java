@@ -0,0 +1,122 @@
+package io.p4r53c.telran.utils;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Predicate over a primitive {@code char}.
+ *
+ * Unlike {@code Predicate<Character>} it never boxes the tested character.
+ * Method references such as {@code Character::isDigit} or
+ * {@code Character::isWhitespace} bind to the {@code char} overloads
+ * directly.
+ *
+ * @author p4r53c
+ */
+@FunctionalInterface
+public interface CharPredicate {
+
+    /**
+     * Evaluates this predicate on the given character.
+     *
+     * @param ch the character to be tested
+     * @return true if the character matches the predicate, false otherwise
+     */
+    boolean test(char ch);
+
+    /**
+     * Returns a predicate matching characters matched by both this predicate
+     * and the other one. The other predicate is not evaluated if this one
+     * fails.
+     *
+     * @param other the predicate to be combined with this one
+     * @return the combined predicate
+     */
+    default CharPredicate and(CharPredicate other) {
+        Objects.requireNonNull(other);
+        return ch -> test(ch) && other.test(ch);
+    }
+
+    /**
+     * Returns a predicate matching characters matched by this predicate or by
+     * the other one. The other predicate is not evaluated if this one matches.
+     *
+     * @param other the predicate to be combined with this one
+     * @return the combined predicate
+     */
+    default CharPredicate or(CharPredicate other) {
+        Objects.requireNonNull(other);
+        return ch -> test(ch) || other.test(ch);
+    }
+
+    /**
+     * Returns a predicate matching the characters this one rejects.
+     *
+     * @return the negated predicate
+     */
+    default CharPredicate negate() {
+        return ch -> !test(ch);
+    }
+
+    /**
+     * Adapts a boxed predicate. The result still boxes each tested character,
+     * so it only exists to keep old rules working.
+     *
+     * @param predicate the boxed predicate
+     * @return the equivalent char predicate
+     */
+    static CharPredicate of(Predicate<Character> predicate) {
+        Objects.requireNonNull(predicate);
+        return predicate::test;
+    }
+
+    /**
+     * Returns the negation of the given predicate.
+     *
+     * @param predicate the predicate to be negated
+     * @return the negated predicate
+     */
+    static CharPredicate not(CharPredicate predicate) {
+        return predicate.negate();
+    }
+
+    /**
+     * Returns a predicate matching a single character.
+     *
+     * @param expected the character to be matched
+     * @return the predicate
+     */
+    static CharPredicate is(char expected) {
+        return ch -> ch == expected;
+    }
+
+    /**
+     * Returns a predicate matching the characters from {@code from} to
+     * {@code to}, both inclusive.
+     *
+     * @param from the first character of the range
+     * @param to   the last character of the range
+     * @return the predicate
+     * @throws IllegalArgumentException if {@code from > to}
+     */
+    static CharPredicate range(char from, char to) {
+        if (from > to) {
+            throw new IllegalArgumentException("Invalid range: " + (int) from + " > " + (int) to);
+        }
+        return ch -> ch >= from && ch <= to;
+    }
+
+    /**
+     * Returns a predicate matching any of the given characters.
+     *
+     * @param chars the characters to be matched
+     * @return the predicate
+     */
+    static CharPredicate anyOf(String chars) {
+        char[] sorted = chars.toCharArray();
+
+        Arrays.sort(sorted);
+        return ch -> Arrays.binarySearch(sorted, ch) >= 0;
+    }
+}
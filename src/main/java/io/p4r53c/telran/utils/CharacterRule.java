@@ -10,12 +10,59 @@ import java.util.function.Predicate;
 public class CharacterRule {
 
     boolean isSatisfied;
-    Predicate<Character> predicate;
+    CharPredicate predicate;
     ErrorString errorString;
 
+    /**
+     * Creates a rule from a boxed predicate, adapted with
+     * {@link CharPredicate#of(Predicate)}. Prefer the factory methods, which
+     * take a {@link CharPredicate} and never box.
+     *
+     * @param isSatisfied whether a missing match is reported for a must-be rule
+     * @param predicate   the predicate tested against each character
+     * @param errorString the error reported when the rule is broken
+     */
     public CharacterRule(boolean isSatisfied, Predicate<Character> predicate, ErrorString errorString) {
+        this(isSatisfied, CharPredicate.of(predicate), errorString);
+    }
+
+    private CharacterRule(boolean isSatisfied, CharPredicate predicate, ErrorString errorString) {
         this.isSatisfied = isSatisfied;
         this.predicate = predicate;
         this.errorString = errorString;
     }
+
+    /**
+     * Creates a rule from a primitive predicate.
+     *
+     * @param isSatisfied whether a missing match is reported for a must-be rule
+     * @param predicate   the predicate tested against each character
+     * @param errorString the error reported when the rule is broken
+     * @return the rule
+     */
+    public static CharacterRule of(boolean isSatisfied, CharPredicate predicate, ErrorString errorString) {
+        return new CharacterRule(isSatisfied, predicate, errorString);
+    }
+
+    /**
+     * Creates a rule that at least one character has to satisfy.
+     *
+     * @param predicate   the predicate tested against each character
+     * @param errorString the error reported when no character matches
+     * @return the rule
+     */
+    public static CharacterRule mustBe(CharPredicate predicate, ErrorString errorString) {
+        return new CharacterRule(true, predicate, errorString);
+    }
+
+    /**
+     * Creates a rule that no character may satisfy.
+     *
+     * @param predicate   the predicate tested against each character
+     * @param errorString the error reported when a character matches
+     * @return the rule
+     */
+    public static CharacterRule mustNotBe(CharPredicate predicate, ErrorString errorString) {
+        return new CharacterRule(false, predicate, errorString);
+    }
 }
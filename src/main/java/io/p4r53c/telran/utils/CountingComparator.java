@@ -0,0 +1,49 @@
+package io.p4r53c.telran.utils;
+
+import java.util.Comparator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Instrumentation hook that counts how many times the wrapped comparator is
+ * called. Safe to share between threads.
+ *
+ * <pre>
+ * CountingComparator&lt;User&gt; counting = new CountingComparator&lt;&gt;(new UserLoginComparator());
+ * ArraysUtils.sort(users, counting);
+ * long comparisons = counting.getCount();
+ * </pre>
+ *
+ * @author p4r53c
+ * @param <T> the type of objects that may be compared
+ */
+public class CountingComparator<T> implements Comparator<T> {
+
+    private final Comparator<T> comparator;
+    private final LongAdder count = new LongAdder();
+
+    public CountingComparator(Comparator<T> comparator) {
+        this.comparator = comparator;
+    }
+
+    @Override
+    public int compare(T o1, T o2) {
+        count.increment();
+        return comparator.compare(o1, o2);
+    }
+
+    /**
+     * Returns the number of comparisons made since creation or the last reset.
+     *
+     * @return the number of comparisons
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Resets the comparison counter to zero.
+     */
+    public void reset() {
+        count.reset();
+    }
+}
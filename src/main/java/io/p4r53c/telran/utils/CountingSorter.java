@@ -0,0 +1,128 @@
+package io.p4r53c.telran.utils;
+
+import java.util.Arrays;
+
+/**
+ * Sort engine for the 16-bit types {@code short[]} and {@code char[]}.
+ *
+ * A 16-bit value has only 65536 possible values, so large ranges are sorted
+ * by counting occurrences and writing the values back in order: two linear
+ * passes, no comparisons. The count table costs 256 KB, which does not pay
+ * off for short ranges: those are insertion sorted when tiny, or widened to
+ * {@code int[]} and sorted by {@link IntSorter} otherwise.
+ *
+ * @author p4r53c
+ */
+final class CountingSorter {
+
+    /** Ranges of at least this length are counting sorted. */
+    static final int COUNTING_SORT_THRESHOLD = 1 << 12;
+
+    private static final int VALUES = 1 << 16;
+
+    private CountingSorter() {
+    }
+
+    /**
+     * Sorts the given range of the array in ascending order.
+     *
+     * @param array the array to be sorted
+     * @param from  the index of the first element, inclusive
+     * @param to    the index of the last element, exclusive
+     */
+    static void sort(short[] array, int from, int to) {
+        int length = to - from;
+
+        if (length <= IntSorter.INSERTION_SORT_THRESHOLD) {
+            insertionSort(array, from, to);
+        } else if (length < COUNTING_SORT_THRESHOLD) {
+            int[] widened = new int[length];
+
+            for (int i = 0; i < length; i++) {
+                widened[i] = array[from + i];
+            }
+            IntSorter.sort(widened, 0, length);
+            for (int i = 0; i < length; i++) {
+                array[from + i] = (short) widened[i];
+            }
+        } else {
+            int[] counts = new int[VALUES];
+
+            // Offset by 2^15 so negative values count first
+            for (int i = from; i < to; i++) {
+                counts[array[i] - Short.MIN_VALUE]++;
+            }
+
+            int k = from;
+
+            for (int value = 0; value < VALUES; value++) {
+                Arrays.fill(array, k, k + counts[value], (short) (value + Short.MIN_VALUE));
+                k += counts[value];
+            }
+        }
+    }
+
+    /**
+     * Sorts the given range of the array in ascending order.
+     *
+     * @param array the array to be sorted
+     * @param from  the index of the first element, inclusive
+     * @param to    the index of the last element, exclusive
+     */
+    static void sort(char[] array, int from, int to) {
+        int length = to - from;
+
+        if (length <= IntSorter.INSERTION_SORT_THRESHOLD) {
+            insertionSort(array, from, to);
+        } else if (length < COUNTING_SORT_THRESHOLD) {
+            int[] widened = new int[length];
+
+            for (int i = 0; i < length; i++) {
+                widened[i] = array[from + i];
+            }
+            IntSorter.sort(widened, 0, length);
+            for (int i = 0; i < length; i++) {
+                array[from + i] = (char) widened[i];
+            }
+        } else {
+            int[] counts = new int[VALUES];
+
+            for (int i = from; i < to; i++) {
+                counts[array[i]]++;
+            }
+
+            int k = from;
+
+            for (int value = 0; value < VALUES; value++) {
+                Arrays.fill(array, k, k + counts[value], (char) value);
+                k += counts[value];
+            }
+        }
+    }
+
+    private static void insertionSort(short[] array, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            short value = array[i];
+            int j = i - 1;
+
+            while (j >= from && array[j] > value) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = value;
+        }
+    }
+
+    private static void insertionSort(char[] array, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            char value = array[i];
+            int j = i - 1;
+
+            while (j >= from && array[j] > value) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = value;
+        }
+    }
+}
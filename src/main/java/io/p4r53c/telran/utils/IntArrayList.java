@@ -0,0 +1,248 @@
+package io.p4r53c.telran.utils;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Growable list of primitive {@code int}s.
+ *
+ * Unlike {@link ArraysUtils#addByCopyOf(int[], int)} and friends, which copy the
+ * whole array on every edit, the backing array grows by half of its length
+ * when full, so appending n values costs O(n) amortized copying. No value is
+ * ever boxed.
+ *
+ * {@link #backingArray()} exposes the backing array itself, so code written for
+ * {@code int[]} can read the first {@link #size()} elements without a copy.
+ *
+ * @author p4r53c
+ */
+public final class IntArrayList {
+
+    private static final int DEFAULT_CAPACITY = 10;
+
+    /** Some VMs reserve header words in an array. */
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private int[] elements;
+    private int size;
+
+    public IntArrayList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty list with the given capacity.
+     *
+     * @param initialCapacity the initial capacity
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    public IntArrayList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        elements = new int[initialCapacity];
+    }
+
+    /**
+     * Creates a list holding a copy of the given values.
+     *
+     * @param values the initial values
+     */
+    public IntArrayList(int[] values) {
+        elements = values.clone();
+        size = values.length;
+    }
+
+    /**
+     * Returns the number of elements.
+     *
+     * @return the number of elements
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the list has no elements.
+     *
+     * @return true if the list is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the element at the given index.
+     *
+     * @param index the index of the element
+     * @return the element
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public int get(int index) {
+        Objects.checkIndex(index, size);
+        return elements[index];
+    }
+
+    /**
+     * Replaces the element at the given index.
+     *
+     * @param index the index of the element
+     * @param value the new value
+     * @return the previous value
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public int set(int index, int value) {
+        Objects.checkIndex(index, size);
+
+        int previous = elements[index];
+        elements[index] = value;
+        return previous;
+    }
+
+    /**
+     * Appends a value to the end of the list.
+     *
+     * @param value the value to be added
+     */
+    public void add(int value) {
+        if (size == elements.length) {
+            grow(size + 1);
+        }
+        elements[size++] = value;
+    }
+
+    /**
+     * Inserts a value at the given index, shifting the tail to the right.
+     *
+     * @param index the index at which the value should be inserted
+     * @param value the value to be inserted
+     * @throws IndexOutOfBoundsException if the index is out of
+     *                                   {@code [0, size]}
+     */
+    public void add(int index, int value) {
+        Objects.checkIndex(index, size + 1);
+
+        if (size == elements.length) {
+            grow(size + 1);
+        }
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = value;
+        size++;
+    }
+
+    /**
+     * Removes the element at the given index, shifting the tail to the left.
+     *
+     * @param index the index of the element to be removed
+     * @return the removed value
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public int removeAt(int index) {
+        Objects.checkIndex(index, size);
+
+        int removed = elements[index];
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        size--;
+        return removed;
+    }
+
+    /**
+     * Inserts a value into a list kept in ascending order. The value goes after
+     * any elements equal to it.
+     *
+     * @param value the value to be inserted
+     * @return the index at which the value was inserted
+     */
+    public int addSorted(int value) {
+        int index = ArraysUtils.upperBound(elements, 0, size, value);
+
+        add(index, value);
+        return index;
+    }
+
+    /**
+     * Searches a list kept in ascending order for the given value.
+     *
+     * @param value the value to be searched for
+     * @return the index of the first occurrence of the value, or
+     *         {@code -(insertion point) - 1}
+     * @see ArraysUtils#binarySearch(int[], int)
+     */
+    public int binarySearch(int value) {
+        int index = ArraysUtils.lowerBound(elements, 0, size, value);
+
+        return index < size && elements[index] == value ? index : -index - 1;
+    }
+
+    /**
+     * Removes all elements. The capacity is kept.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Makes sure the list can hold the given number of elements without
+     * growing.
+     *
+     * @param minCapacity the desired minimum capacity
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > elements.length) {
+            grow(minCapacity);
+        }
+    }
+
+    /**
+     * Shrinks the capacity to the current size.
+     */
+    public void trimToSize() {
+        if (size < elements.length) {
+            elements = Arrays.copyOf(elements, size);
+        }
+    }
+
+    /**
+     * Returns the backing array without copying it. Only the first
+     * {@link #size()} elements are meaningful, and the returned array is
+     * replaced by a new one as soon as the list grows.
+     *
+     * @return the backing array
+     */
+    public int[] backingArray() {
+        return elements;
+    }
+
+    /**
+     * Returns a copy of the elements, exactly {@link #size()} long.
+     *
+     * @return a new array with the elements
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    private void grow(int minCapacity) {
+        if (minCapacity < 0 || minCapacity > MAX_CAPACITY) {
+            throw new OutOfMemoryError("Required capacity is too large: " + Integer.toUnsignedString(minCapacity));
+        }
+
+        long grown = elements.length + (elements.length >> 1) + 1L;
+        int newCapacity = (int) Math.min(Math.max(grown, minCapacity), MAX_CAPACITY);
+
+        elements = Arrays.copyOf(elements, newCapacity);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(elements[i]);
+        }
+        return builder.append(']').toString();
+    }
+}
@@ -0,0 +1,111 @@
+package io.p4r53c.telran.utils;
+
+/**
+ * Linear scans over {@code int[]} with a SIMD and a scalar implementation.
+ *
+ * The SIMD kernels in {@link IntVectorKernels} are used when the JVM runs with
+ * {@code --add-modules jdk.incubator.vector} and vectors hold at least four
+ * ints. Otherwise, or when the system property {@value #SCALAR_PROPERTY} is
+ * {@code true}, the plain loops below are used. The choice is made once, when
+ * this class is initialized.
+ *
+ * @author p4r53c
+ */
+final class IntScans {
+
+    /** Set to {@code true} to force the scalar scans. */
+    static final String SCALAR_PROPERTY = "io.p4r53c.telran.utils.scalar";
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+    private static final int MIN_LANES = 4;
+
+    static final boolean VECTORIZED = detectVectorSupport();
+
+    private IntScans() {
+    }
+
+    private static boolean detectVectorSupport() {
+        if (Boolean.getBoolean(SCALAR_PROPERTY) || ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            return false;
+        }
+        try {
+            return IntVectorKernels.lanes() >= MIN_LANES;
+        } catch (LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns the index of the first occurrence of the value.
+     *
+     * @param array the array to be searched
+     * @param value the value to be searched for
+     * @return the index of the first occurrence, or -1 if there is none
+     */
+    static int indexOf(int[] array, int value) {
+        return VECTORIZED ? IntVectorKernels.indexOf(array, value) : scalarIndexOf(array, value);
+    }
+
+    /**
+     * Returns the first index {@code i} such that
+     * {@code array[i] > array[i + 1]}.
+     *
+     * @param array the array to be scanned
+     * @return the index of the first descent, or -1 if the array is sorted
+     */
+    static int firstDescent(int[] array) {
+        return firstDescent(array, 0, array.length);
+    }
+
+    /**
+     * Returns the first index {@code i} in {@code [from, to - 1)} such that
+     * {@code array[i] > array[i + 1]}.
+     *
+     * @param array the array to be scanned
+     * @param from  the index of the first element, inclusive
+     * @param to    the index of the last element, exclusive
+     * @return the index of the first descent, or -1 if the range is sorted
+     */
+    static int firstDescent(int[] array, int from, int to) {
+        return VECTORIZED ? IntVectorKernels.firstDescent(array, from, to) : scalarFirstDescent(array, from, to);
+    }
+
+    /**
+     * Returns the last index {@code i} such that
+     * {@code array[i] > array[i + 1]}.
+     *
+     * @param array the array to be scanned
+     * @return the index of the last descent, or -1 if the array is sorted
+     */
+    static int lastDescent(int[] array) {
+        return VECTORIZED ? IntVectorKernels.lastDescent(array) : scalarLastDescent(array);
+    }
+
+    static int scalarIndexOf(int[] array, int value) {
+        int index = 0;
+
+        while (index < array.length && value != array[index]) {
+            index++;
+        }
+        return index == array.length ? -1 : index;
+    }
+
+    static int scalarFirstDescent(int[] array, int from, int to) {
+        int i = from;
+
+        while (i < to - 1 && array[i] <= array[i + 1]) {
+            i++;
+        }
+        return i < to - 1 ? i : -1;
+    }
+
+    static int scalarLastDescent(int[] array) {
+        int i = array.length - 2;
+
+        while (i >= 0 && array[i] <= array[i + 1]) {
+            i--;
+        }
+        return Math.max(i, -1);
+    }
+}
@@ -0,0 +1,298 @@
+package io.p4r53c.telran.utils;
+
+/**
+ * Adaptive in-place sort engine for {@code int[]} ranges.
+ *
+ * The strategy is picked per input:
+ * <ul>
+ * <li>already sorted or reversed ranges are detected in a single scan and
+ * finished in linear time;</li>
+ * <li>tiny ranges use insertion sort;</li>
+ * <li>large ranges use LSD radix sort (four 8-bit passes, skipping passes
+ * where every element shares the digit);</li>
+ * <li>everything else uses introsort: median-of-three quicksort with a
+ * heapsort fallback once the recursion gets too deep.</li>
+ * </ul>
+ *
+ * @author p4r53c
+ */
+final class IntSorter {
+
+    /** Ranges up to this length are insertion sorted. */
+    static final int INSERTION_SORT_THRESHOLD = 32;
+
+    /** Ranges of at least this length are radix sorted. */
+    static final int RADIX_SORT_THRESHOLD = 1 << 16;
+
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX = 1 << RADIX_BITS;
+    private static final int RADIX_MASK = RADIX - 1;
+    private static final int RADIX_PASSES = Integer.SIZE / RADIX_BITS;
+
+    private IntSorter() {
+    }
+
+    /**
+     * Sorts the given range of the array in ascending order.
+     *
+     * @param array the array to be sorted
+     * @param from  the index of the first element, inclusive
+     * @param to    the index of the last element, exclusive
+     */
+    static void sort(int[] array, int from, int to) {
+        int length = to - from;
+
+        if (length < 2) {
+            return;
+        }
+        if (length <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(array, from, to);
+        } else if (!finishIfMonotonic(array, from, to)) {
+            if (length >= RADIX_SORT_THRESHOLD) {
+                radixSort(array, from, to);
+            } else {
+                introSort(array, from, to - 1, 2 * (31 - Integer.numberOfLeadingZeros(length)));
+            }
+        }
+    }
+
+    /**
+     * Detects ranges that are already in ascending or descending order. A
+     * descending range is reversed in place.
+     *
+     * @param array the array to be checked
+     * @param from  the index of the first element, inclusive
+     * @param to    the index of the last element, exclusive
+     * @return true if the range is sorted on return, false otherwise
+     */
+    static boolean finishIfMonotonic(int[] array, int from, int to) {
+        int i = from + 1;
+
+        while (i < to && array[i - 1] <= array[i]) {
+            i++;
+        }
+        if (i == to) {
+            return true;
+        }
+        if (i - from > 1) {
+            // Ascending prefix followed by a descent, neither sorted nor reversed
+            return false;
+        }
+        while (i < to && array[i - 1] >= array[i]) {
+            i++;
+        }
+        if (i == to) {
+            reverse(array, from, to - 1);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Sorts the given range using insertion sort.
+     *
+     * @param array the array to be sorted
+     * @param from  the index of the first element, inclusive
+     * @param to    the index of the last element, exclusive
+     */
+    static void insertionSort(int[] array, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            int value = array[i];
+            int j = i - 1;
+
+            while (j >= from && array[j] > value) {
+                array[j + 1] = array[j];
+                j--;
+            }
+            array[j + 1] = value;
+        }
+    }
+
+    /**
+     * Sorts the given inclusive range using quicksort with a median-of-three
+     * pivot, falling back to heapsort when {@code depthLimit} is exhausted.
+     *
+     * Recursion goes into the smaller partition only, so the stack depth stays
+     * logarithmic.
+     *
+     * @param array      the array to be sorted
+     * @param low        the index of the first element, inclusive
+     * @param high       the index of the last element, inclusive
+     * @param depthLimit the number of partitioning levels allowed before
+     *                   switching to heapsort
+     */
+    static void introSort(int[] array, int low, int high, int depthLimit) {
+        while (high - low >= INSERTION_SORT_THRESHOLD) {
+            if (depthLimit-- == 0) {
+                heapSort(array, low, high + 1);
+                return;
+            }
+
+            int split = partition(array, low, high);
+
+            if (split - low < high - split) {
+                introSort(array, low, split, depthLimit);
+                low = split + 1;
+            } else {
+                introSort(array, split + 1, high, depthLimit);
+                high = split;
+            }
+        }
+        insertionSort(array, low, high + 1);
+    }
+
+    /**
+     * Hoare partition around the median of the first, middle and last elements.
+     * Equal keys are swapped to both sides, which keeps runs of duplicates
+     * balanced.
+     *
+     * @return the index {@code split} such that every element of
+     *         {@code [low, split]} is not greater than every element of
+     *         {@code [split + 1, high]}
+     */
+    private static int partition(int[] array, int low, int high) {
+        int mid = low + (high - low) / 2;
+
+        if (array[mid] < array[low]) {
+            swap(array, mid, low);
+        }
+        if (array[high] < array[low]) {
+            swap(array, high, low);
+        }
+        if (array[high] < array[mid]) {
+            swap(array, high, mid);
+        }
+
+        int pivot = array[mid];
+        int i = low - 1;
+        int j = high + 1;
+
+        while (true) {
+            do {
+                i++;
+            } while (array[i] < pivot);
+            do {
+                j--;
+            } while (array[j] > pivot);
+
+            if (i >= j) {
+                return j;
+            }
+            swap(array, i, j);
+        }
+    }
+
+    /**
+     * Sorts the given range using heapsort.
+     *
+     * @param array the array to be sorted
+     * @param from  the index of the first element, inclusive
+     * @param to    the index of the last element, exclusive
+     */
+    static void heapSort(int[] array, int from, int to) {
+        int length = to - from;
+
+        for (int i = length / 2 - 1; i >= 0; i--) {
+            siftDown(array, from, i, length);
+        }
+        for (int end = length - 1; end > 0; end--) {
+            swap(array, from, from + end);
+            siftDown(array, from, 0, end);
+        }
+    }
+
+    private static void siftDown(int[] array, int offset, int node, int length) {
+        int value = array[offset + node];
+        int child;
+
+        while ((child = 2 * node + 1) < length) {
+            if (child + 1 < length && array[offset + child] < array[offset + child + 1]) {
+                child++;
+            }
+            if (value >= array[offset + child]) {
+                break;
+            }
+            array[offset + node] = array[offset + child];
+            node = child;
+        }
+        array[offset + node] = value;
+    }
+
+    /**
+     * Sorts the given range using LSD radix sort over 8-bit digits. The sign bit
+     * is flipped in the most significant digit so negative values come first.
+     *
+     * Needs a scratch buffer as long as the range.
+     *
+     * @param array the array to be sorted
+     * @param from  the index of the first element, inclusive
+     * @param to    the index of the last element, exclusive
+     */
+    static void radixSort(int[] array, int from, int to) {
+        int length = to - from;
+        int[][] counts = new int[RADIX_PASSES][RADIX];
+
+        for (int i = from; i < to; i++) {
+            int value = array[i];
+
+            for (int pass = 0; pass < RADIX_PASSES; pass++) {
+                counts[pass][digit(value, pass)]++;
+            }
+        }
+
+        int[] source = array;
+        int sourceFrom = from;
+        int[] target = new int[length];
+        int targetFrom = 0;
+
+        for (int pass = 0; pass < RADIX_PASSES; pass++) {
+            int[] count = counts[pass];
+
+            if (count[digit(source[sourceFrom], pass)] == length) {
+                // Every element shares this digit, the pass would be a plain copy
+                continue;
+            }
+
+            int offset = targetFrom;
+
+            for (int d = 0; d < RADIX; d++) {
+                int c = count[d];
+                count[d] = offset;
+                offset += c;
+            }
+            for (int i = sourceFrom; i < sourceFrom + length; i++) {
+                int value = source[i];
+                target[count[digit(value, pass)]++] = value;
+            }
+
+            int[] swapArray = source;
+            int swapFrom = sourceFrom;
+            source = target;
+            sourceFrom = targetFrom;
+            target = swapArray;
+            targetFrom = swapFrom;
+        }
+
+        if (source != array) {
+            System.arraycopy(source, sourceFrom, array, from, length);
+        }
+    }
+
+    private static int digit(int value, int pass) {
+        int digit = (value >>> (pass * RADIX_BITS)) & RADIX_MASK;
+
+        return pass == RADIX_PASSES - 1 ? digit ^ (RADIX >>> 1) : digit;
+    }
+
+    private static void reverse(int[] array, int low, int high) {
+        while (low < high) {
+            swap(array, low++, high--);
+        }
+    }
+
+    private static void swap(int[] array, int i, int j) {
+        int temp = array[i];
+        array[i] = array[j];
+        array[j] = temp;
+    }
+}
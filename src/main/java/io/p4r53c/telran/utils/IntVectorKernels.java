@@ -0,0 +1,108 @@
+package io.p4r53c.telran.utils;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD scans over {@code int[]} built on the incubating Vector API.
+ *
+ * Each step loads a whole vector of the preferred species (8 lanes with AVX2,
+ * 16 with AVX-512) and tests all lanes with one comparison; only the tail
+ * shorter than a vector is scanned element by element. Descent scans compare a
+ * vector with the same vector shifted by one element, so each lane checks one
+ * adjacent pair.
+ *
+ * This class is only loaded through {@link IntScans} when the
+ * {@code jdk.incubator.vector} module is present.
+ *
+ * @author p4r53c
+ */
+final class IntVectorKernels {
+
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    private IntVectorKernels() {
+    }
+
+    /**
+     * Returns the number of lanes of the species in use.
+     */
+    static int lanes() {
+        return SPECIES.length();
+    }
+
+    /**
+     * @see IntScans#indexOf(int[], int)
+     */
+    static int indexOf(int[] array, int value) {
+        int bound = SPECIES.loopBound(array.length);
+        int i = 0;
+
+        for (; i < bound; i += SPECIES.length()) {
+            VectorMask<Integer> matches = IntVector.fromArray(SPECIES, array, i).eq(value);
+
+            if (matches.anyTrue()) {
+                return i + matches.firstTrue();
+            }
+        }
+        for (; i < array.length; i++) {
+            if (array[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @see IntScans#firstDescent(int[], int, int)
+     */
+    static int firstDescent(int[] array, int from, int to) {
+        int lanes = SPECIES.length();
+        int i = from;
+
+        // Lanes test the pairs (i + k, i + k + 1), so the shifted load must fit
+        for (; i + lanes < to; i += lanes) {
+            VectorMask<Integer> descents = descents(array, i);
+
+            if (descents.anyTrue()) {
+                return i + descents.firstTrue();
+            }
+        }
+        for (; i < to - 1; i++) {
+            if (array[i] > array[i + 1]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @see IntScans#lastDescent(int[])
+     */
+    static int lastDescent(int[] array) {
+        int lanes = SPECIES.length();
+        int end = array.length - 1;
+
+        // Pairs are scanned from the back, end is the first pair not yet tested
+        for (; end - lanes >= 0; end -= lanes) {
+            VectorMask<Integer> descents = descents(array, end - lanes);
+
+            if (descents.anyTrue()) {
+                return end - lanes + descents.lastTrue();
+            }
+        }
+        for (int i = end - 1; i >= 0; i--) {
+            if (array[i] > array[i + 1]) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static VectorMask<Integer> descents(int[] array, int from) {
+        return IntVector.fromArray(SPECIES, array, from)
+                .compare(VectorOperators.GT, IntVector.fromArray(SPECIES, array, from + 1));
+    }
+}
@@ -0,0 +1,326 @@
+package io.p4r53c.telran.utils;
+
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Stable sort of object arrays by an extracted key (the Schwartzian
+ * transform).
+ *
+ * Every key is extracted exactly once into a primitive array next to the
+ * original index of its element. The pairs are sorted without touching the
+ * objects, and the objects are then moved into place by following the cycles
+ * of the resulting permutation, so the only allocations are the key and index
+ * arrays.
+ * <ul>
+ * <li>{@code int} keys are packed with their index into one {@code long} and
+ * sorted by {@link LongSorter};</li>
+ * <li>{@code long} keys are sorted together with their indices by an LSD radix
+ * sort, which is stable by itself;</li>
+ * <li>{@code String} keys are radix sorted by a cached prefix of their first
+ * four chars, and only elements sharing a prefix are compared with
+ * {@link String#compareTo(String)}.</li>
+ * </ul>
+ *
+ * @author p4r53c
+ */
+final class KeySorter {
+
+    /** Ranges up to this length are insertion sorted. */
+    static final int INSERTION_SORT_THRESHOLD = 32;
+
+    /** Number of chars cached per {@code String} key. */
+    static final int PREFIX_CHARS = Long.SIZE / Character.SIZE;
+
+    private static final int RADIX_BITS = 8;
+    private static final int RADIX = 1 << RADIX_BITS;
+    private static final int RADIX_MASK = RADIX - 1;
+    private static final int RADIX_PASSES = Long.SIZE / RADIX_BITS;
+
+    private static final long INDEX_MASK = 0xFFFF_FFFFL;
+
+    private KeySorter() {
+    }
+
+    /**
+     * Sorts the array by an {@code int} key in ascending order. Elements with
+     * equal keys keep their relative order.
+     *
+     * @param array the array to be sorted
+     * @param key   the key extractor, called once per element
+     */
+    static <T> void sortByInt(T[] array, ToIntFunction<? super T> key) {
+        int length = array.length;
+
+        if (length < 2) {
+            return;
+        }
+
+        // Key in the high half, index in the low half: the packed values are
+        // distinct, so even an unstable sort gives a stable order
+        long[] packed = new long[length];
+
+        for (int i = 0; i < length; i++) {
+            packed[i] = (long) key.applyAsInt(array[i]) << Integer.SIZE | i;
+        }
+        LongSorter.sort(packed, 0, length);
+
+        int[] order = new int[length];
+
+        for (int i = 0; i < length; i++) {
+            order[i] = (int) (packed[i] & INDEX_MASK);
+        }
+        permute(array, order);
+    }
+
+    /**
+     * Sorts the array by a {@code long} key in ascending order. Elements with
+     * equal keys keep their relative order.
+     *
+     * @param array the array to be sorted
+     * @param key   the key extractor, called once per element
+     */
+    static <T> void sortByLong(T[] array, ToLongFunction<? super T> key) {
+        int length = array.length;
+
+        if (length < 2) {
+            return;
+        }
+
+        long[] keys = new long[length];
+        int[] order = new int[length];
+
+        for (int i = 0; i < length; i++) {
+            keys[i] = key.applyAsLong(array[i]);
+            order[i] = i;
+        }
+        sortPairs(keys, order, true);
+        permute(array, order);
+    }
+
+    /**
+     * Sorts the array by a {@code String} key in the order of
+     * {@link String#compareTo(String)}. Elements with equal keys keep their
+     * relative order.
+     *
+     * @param array the array to be sorted
+     * @param key   the key extractor, called once per element
+     * @throws NullPointerException if a key is null
+     */
+    static <T> void sortByString(T[] array, Function<? super T, String> key) {
+        int length = array.length;
+
+        if (length < 2) {
+            return;
+        }
+
+        String[] keys = new String[length];
+        long[] prefixes = new long[length];
+        int[] order = new int[length];
+
+        for (int i = 0; i < length; i++) {
+            String k = key.apply(array[i]);
+
+            keys[i] = k;
+            prefixes[i] = prefix(k);
+            order[i] = i;
+        }
+        sortPairs(prefixes, order, false);
+
+        // Equal prefixes are still in their original order, refine them by the
+        // full key
+        int[] buffer = null;
+        int runStart = 0;
+
+        for (int i = 1; i <= length; i++) {
+            if (i == length || prefixes[i] != prefixes[runStart]) {
+                if (i - runStart > 1) {
+                    if (i - runStart <= INSERTION_SORT_THRESHOLD) {
+                        insertionSort(order, runStart, i, keys);
+                    } else {
+                        if (buffer == null) {
+                            buffer = new int[length];
+                        }
+                        mergeSort(order, runStart, i, keys, buffer);
+                    }
+                }
+                runStart = i;
+            }
+        }
+        permute(array, order);
+    }
+
+    /**
+     * Packs the first four chars of a string into a {@code long}, the first
+     * char in the highest bits. Missing chars are zero, so the unsigned order of
+     * prefixes agrees with {@link String#compareTo(String)} whenever they
+     * differ.
+     */
+    static long prefix(String key) {
+        int chars = Math.min(key.length(), PREFIX_CHARS);
+        long prefix = 0;
+
+        for (int i = 0; i < chars; i++) {
+            prefix |= (long) key.charAt(i) << (Character.SIZE * (PREFIX_CHARS - 1 - i));
+        }
+        return prefix;
+    }
+
+    /**
+     * Moves the elements so that {@code array[i]} becomes the element that was
+     * at {@code order[i]}. Each cycle of the permutation is walked once with a
+     * single temporary; {@code order} is overwritten to mark visited slots.
+     */
+    static <T> void permute(T[] array, int[] order) {
+        for (int start = 0; start < order.length; start++) {
+            if (order[start] == start) {
+                continue;
+            }
+
+            T first = array[start];
+            int slot = start;
+            int source = order[slot];
+
+            while (source != start) {
+                array[slot] = array[source];
+                order[slot] = slot;
+                slot = source;
+                source = order[slot];
+            }
+            array[slot] = first;
+            order[slot] = slot;
+        }
+    }
+
+    /**
+     * Stable sort of keys carrying their indices along, signed or unsigned.
+     */
+    private static void sortPairs(long[] keys, int[] order, boolean signed) {
+        int length = keys.length;
+
+        if (length <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(keys, order, signed);
+        } else {
+            radixSort(keys, order, signed);
+        }
+    }
+
+    private static void insertionSort(long[] keys, int[] order, boolean signed) {
+        for (int i = 1; i < keys.length; i++) {
+            long key = keys[i];
+            int index = order[i];
+            int j = i - 1;
+
+            while (j >= 0 && (signed ? keys[j] > key : Long.compareUnsigned(keys[j], key) > 0)) {
+                keys[j + 1] = keys[j];
+                order[j + 1] = order[j];
+                j--;
+            }
+            keys[j + 1] = key;
+            order[j + 1] = index;
+        }
+    }
+
+    /**
+     * LSD radix sort over 8-bit digits, moving keys and indices together.
+     * Passes where every key shares the digit are skipped.
+     */
+    private static void radixSort(long[] keys, int[] order, boolean signed) {
+        int length = keys.length;
+        int[][] counts = new int[RADIX_PASSES][RADIX];
+
+        for (long key : keys) {
+            for (int pass = 0; pass < RADIX_PASSES; pass++) {
+                counts[pass][digit(key, pass, signed)]++;
+            }
+        }
+
+        long[] sourceKeys = keys;
+        int[] sourceOrder = order;
+        long[] targetKeys = new long[length];
+        int[] targetOrder = new int[length];
+
+        for (int pass = 0; pass < RADIX_PASSES; pass++) {
+            int[] count = counts[pass];
+
+            if (count[digit(sourceKeys[0], pass, signed)] == length) {
+                continue;
+            }
+
+            int offset = 0;
+
+            for (int d = 0; d < RADIX; d++) {
+                int c = count[d];
+                count[d] = offset;
+                offset += c;
+            }
+            for (int i = 0; i < length; i++) {
+                long key = sourceKeys[i];
+                int target = count[digit(key, pass, signed)]++;
+
+                targetKeys[target] = key;
+                targetOrder[target] = sourceOrder[i];
+            }
+
+            long[] swapKeys = sourceKeys;
+            int[] swapOrder = sourceOrder;
+            sourceKeys = targetKeys;
+            sourceOrder = targetOrder;
+            targetKeys = swapKeys;
+            targetOrder = swapOrder;
+        }
+
+        if (sourceKeys != keys) {
+            System.arraycopy(sourceKeys, 0, keys, 0, length);
+            System.arraycopy(sourceOrder, 0, order, 0, length);
+        }
+    }
+
+    private static int digit(long key, int pass, boolean signed) {
+        int digit = (int) (key >>> (pass * RADIX_BITS)) & RADIX_MASK;
+
+        return signed && pass == RADIX_PASSES - 1 ? digit ^ (RADIX >>> 1) : digit;
+    }
+
+    private static void insertionSort(int[] order, int from, int to, String[] keys) {
+        for (int i = from + 1; i < to; i++) {
+            int index = order[i];
+            String key = keys[index];
+            int j = i - 1;
+
+            while (j >= from && keys[order[j]].compareTo(key) > 0) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = index;
+        }
+    }
+
+    private static void mergeSort(int[] order, int from, int to, String[] keys, int[] buffer) {
+        if (to - from <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(order, from, to, keys);
+            return;
+        }
+
+        int middle = (from + to) >>> 1;
+
+        mergeSort(order, from, middle, keys, buffer);
+        mergeSort(order, middle, to, keys, buffer);
+
+        if (keys[order[middle - 1]].compareTo(keys[order[middle]]) <= 0) {
+            return;
+        }
+
+        System.arraycopy(order, from, buffer, from, middle - from);
+
+        int left = from;
+        int right = middle;
+        int target = from;
+
+        while (left < middle && right < to) {
+            order[target++] = keys[order[right]].compareTo(keys[buffer[left]]) < 0 ? order[right++] : buffer[left++];
+        }
+        System.arraycopy(buffer, left, order, target, middle - left);
+    }
+}
@@ -0,0 +1,317 @@
+package io.p4r53c.telran.utils;
+
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Fork-join merge sort for {@code int[]} and {@code T[]}.
+ *
+ * The array is split in halves down to the sequential cutoff, leaves are sorted
+ * by {@link IntSorter} or {@link TimSorter}, and sorted halves are merged back
+ * with parallel merges (the larger half is split at its middle and the other
+ * one at the matching binary search position). Source and workspace arrays
+ * alternate between levels, so each level moves the data once.
+ *
+ * Merges always take the left element on ties, which keeps the object sort
+ * stable.
+ *
+ * @author p4r53c
+ */
+final class ParallelSorter {
+
+    /** Sequential cutoff used when the caller does not pass one. */
+    static final int DEFAULT_THRESHOLD = 1 << 13;
+
+    /** Merges smaller than this are never split further. */
+    private static final int MIN_PARALLEL_MERGE = 1 << 12;
+
+    private ParallelSorter() {
+    }
+
+    /**
+     * Sorts the array in ascending order.
+     *
+     * @param array     the array to be sorted
+     * @param threshold ranges up to this length are sorted sequentially
+     * @param pool      the pool to run in, or null for the common pool
+     * @throws IllegalArgumentException if the threshold is not positive
+     */
+    static void sort(int[] array, int threshold, ForkJoinPool pool) {
+        checkThreshold(threshold);
+
+        if (array.length <= threshold) {
+            IntSorter.sort(array, 0, array.length);
+        } else {
+            poolOrCommon(pool).invoke(new IntSortTask(array, new int[array.length], 0, array.length, true, threshold));
+        }
+    }
+
+    /**
+     * Sorts the array using the provided comparator. The sort is stable.
+     *
+     * @param array      the array to be sorted
+     * @param comparator the comparator to determine the order of the elements
+     * @param threshold  ranges up to this length are sorted sequentially
+     * @param pool       the pool to run in, or null for the common pool
+     * @throws IllegalArgumentException if the threshold is not positive
+     */
+    @SuppressWarnings("unchecked")
+    static <T> void sort(T[] array, Comparator<? super T> comparator, int threshold, ForkJoinPool pool) {
+        checkThreshold(threshold);
+
+        if (array.length <= threshold) {
+            TimSorter.sort(array, 0, array.length, comparator);
+        } else {
+            T[] workspace = (T[]) new Object[array.length];
+
+            poolOrCommon(pool).invoke(
+                    new ObjectSortTask<>(array, workspace, 0, array.length, true, comparator, threshold));
+        }
+    }
+
+    private static void checkThreshold(int threshold) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Threshold must be positive: " + threshold);
+        }
+    }
+
+    private static ForkJoinPool poolOrCommon(ForkJoinPool pool) {
+        return pool != null ? pool : ForkJoinPool.commonPool();
+    }
+
+    /**
+     * Sorts {@code array[from, to)} and leaves the result either in
+     * {@code array} or in the same range of {@code workspace}.
+     */
+    private static final class IntSortTask extends RecursiveAction {
+
+        private final int[] array;
+        private final int[] workspace;
+        private final int from;
+        private final int to;
+        private final boolean resultInArray;
+        private final int threshold;
+
+        IntSortTask(int[] array, int[] workspace, int from, int to, boolean resultInArray, int threshold) {
+            this.array = array;
+            this.workspace = workspace;
+            this.from = from;
+            this.to = to;
+            this.resultInArray = resultInArray;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                IntSorter.sort(array, from, to);
+                if (!resultInArray) {
+                    System.arraycopy(array, from, workspace, from, to - from);
+                }
+                return;
+            }
+
+            int mid = (from + to) >>> 1;
+
+            // Children leave their halves in the other array, then we merge back
+            invokeAll(new IntSortTask(array, workspace, from, mid, !resultInArray, threshold),
+                    new IntSortTask(array, workspace, mid, to, !resultInArray, threshold));
+
+            int[] source = resultInArray ? workspace : array;
+            int[] target = resultInArray ? array : workspace;
+
+            new IntMergeTask(source, target, from, mid, mid, to, from, Math.max(threshold, MIN_PARALLEL_MERGE))
+                    .compute();
+        }
+    }
+
+    /**
+     * Merges the sorted ranges {@code source[leftFrom, leftTo)} and
+     * {@code source[rightFrom, rightTo)} into {@code target} at
+     * {@code targetFrom}.
+     */
+    private static final class IntMergeTask extends RecursiveAction {
+
+        private final int[] source;
+        private final int[] target;
+        private final int leftFrom;
+        private final int leftTo;
+        private final int rightFrom;
+        private final int rightTo;
+        private final int targetFrom;
+        private final int threshold;
+
+        IntMergeTask(int[] source, int[] target, int leftFrom, int leftTo, int rightFrom, int rightTo,
+                int targetFrom, int threshold) {
+            this.source = source;
+            this.target = target;
+            this.leftFrom = leftFrom;
+            this.leftTo = leftTo;
+            this.rightFrom = rightFrom;
+            this.rightTo = rightTo;
+            this.targetFrom = targetFrom;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            int leftLength = leftTo - leftFrom;
+            int rightLength = rightTo - rightFrom;
+
+            if (leftLength + rightLength <= threshold) {
+                merge();
+                return;
+            }
+
+            int leftSplit;
+            int rightSplit;
+
+            if (leftLength >= rightLength) {
+                leftSplit = (leftFrom + leftTo) >>> 1;
+                rightSplit = ArraysUtils.lowerBound(source, rightFrom, rightTo, source[leftSplit]);
+            } else {
+                rightSplit = (rightFrom + rightTo) >>> 1;
+                leftSplit = ArraysUtils.upperBound(source, leftFrom, leftTo, source[rightSplit]);
+            }
+
+            int secondTargetFrom = targetFrom + (leftSplit - leftFrom) + (rightSplit - rightFrom);
+
+            invokeAll(new IntMergeTask(source, target, leftFrom, leftSplit, rightFrom, rightSplit, targetFrom,
+                    threshold),
+                    new IntMergeTask(source, target, leftSplit, leftTo, rightSplit, rightTo, secondTargetFrom,
+                            threshold));
+        }
+
+        private void merge() {
+            int i = leftFrom;
+            int j = rightFrom;
+            int k = targetFrom;
+
+            while (i < leftTo && j < rightTo) {
+                target[k++] = source[j] < source[i] ? source[j++] : source[i++];
+            }
+            System.arraycopy(source, i, target, k, leftTo - i);
+            System.arraycopy(source, j, target, k + leftTo - i, rightTo - j);
+        }
+    }
+
+    /**
+     * Object counterpart of {@link IntSortTask}.
+     */
+    private static final class ObjectSortTask<T> extends RecursiveAction {
+
+        private final T[] array;
+        private final T[] workspace;
+        private final int from;
+        private final int to;
+        private final boolean resultInArray;
+        private final Comparator<? super T> comparator;
+        private final int threshold;
+
+        ObjectSortTask(T[] array, T[] workspace, int from, int to, boolean resultInArray,
+                Comparator<? super T> comparator, int threshold) {
+            this.array = array;
+            this.workspace = workspace;
+            this.from = from;
+            this.to = to;
+            this.resultInArray = resultInArray;
+            this.comparator = comparator;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                TimSorter.sort(array, from, to, comparator);
+                if (!resultInArray) {
+                    System.arraycopy(array, from, workspace, from, to - from);
+                }
+                return;
+            }
+
+            int mid = (from + to) >>> 1;
+
+            invokeAll(new ObjectSortTask<>(array, workspace, from, mid, !resultInArray, comparator, threshold),
+                    new ObjectSortTask<>(array, workspace, mid, to, !resultInArray, comparator, threshold));
+
+            T[] source = resultInArray ? workspace : array;
+            T[] target = resultInArray ? array : workspace;
+
+            new ObjectMergeTask<>(source, target, from, mid, mid, to, from, comparator,
+                    Math.max(threshold, MIN_PARALLEL_MERGE)).compute();
+        }
+    }
+
+    /**
+     * Object counterpart of {@link IntMergeTask}. Ties go to the left range.
+     */
+    private static final class ObjectMergeTask<T> extends RecursiveAction {
+
+        private final T[] source;
+        private final T[] target;
+        private final int leftFrom;
+        private final int leftTo;
+        private final int rightFrom;
+        private final int rightTo;
+        private final int targetFrom;
+        private final Comparator<? super T> comparator;
+        private final int threshold;
+
+        ObjectMergeTask(T[] source, T[] target, int leftFrom, int leftTo, int rightFrom, int rightTo,
+                int targetFrom, Comparator<? super T> comparator, int threshold) {
+            this.source = source;
+            this.target = target;
+            this.leftFrom = leftFrom;
+            this.leftTo = leftTo;
+            this.rightFrom = rightFrom;
+            this.rightTo = rightTo;
+            this.targetFrom = targetFrom;
+            this.comparator = comparator;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            int leftLength = leftTo - leftFrom;
+            int rightLength = rightTo - rightFrom;
+
+            if (leftLength + rightLength <= threshold) {
+                merge();
+                return;
+            }
+
+            int leftSplit;
+            int rightSplit;
+
+            if (leftLength >= rightLength) {
+                // Right elements equal to the split key stay behind it
+                leftSplit = (leftFrom + leftTo) >>> 1;
+                rightSplit = ArraysUtils.lowerBound(source, rightFrom, rightTo, source[leftSplit], comparator);
+            } else {
+                // Left elements equal to the split key stay in front of it
+                rightSplit = (rightFrom + rightTo) >>> 1;
+                leftSplit = ArraysUtils.upperBound(source, leftFrom, leftTo, source[rightSplit], comparator);
+            }
+
+            int secondTargetFrom = targetFrom + (leftSplit - leftFrom) + (rightSplit - rightFrom);
+
+            invokeAll(new ObjectMergeTask<>(source, target, leftFrom, leftSplit, rightFrom, rightSplit, targetFrom,
+                    comparator, threshold),
+                    new ObjectMergeTask<>(source, target, leftSplit, leftTo, rightSplit, rightTo, secondTargetFrom,
+                            comparator, threshold));
+        }
+
+        private void merge() {
+            int i = leftFrom;
+            int j = rightFrom;
+            int k = targetFrom;
+
+            while (i < leftTo && j < rightTo) {
+                target[k++] = comparator.compare(source[j], source[i]) < 0 ? source[j++] : source[i++];
+            }
+            System.arraycopy(source, i, target, k, leftTo - i);
+            System.arraycopy(source, j, target, k + leftTo - i, rightTo - j);
+        }
+    }
+}
@@ -0,0 +1,640 @@
+package io.p4r53c.telran.utils;
+
+import io.p4r53c.telran.utils.emums.ErrorString;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.function.IntToLongFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable, precompiled form of a must-be / must-not-be rule set.
+ *
+ * {@link #compile(CharacterRule[], CharacterRule[])} evaluates every rule once
+ * for each of the 65536 {@code char} values and stores the outcomes as one
+ * bit per rule in a lookup table. Matching then costs a single array load per
+ * character, whatever the number of rules, with no boxing and no predicate
+ * calls. The scan stops as soon as all reportable must-be rules are satisfied
+ * and every must-not-be error has been reported, since later characters cannot
+ * change the result.
+ *
+ * The messages produced by {@link #match(char[])} are exactly those of
+ * {@link ArraysUtils#matchesRules(char[], CharacterRule[], CharacterRule[])}.
+ *
+ * For bulk validation the {@code errorMask} methods return the broken rules as
+ * a {@code long} with one bit per {@link ErrorString} ordinal, and the
+ * {@code errorMasks} methods validate whole batches, optionally in parallel.
+ * A matcher holds no mutable state, so it needs no per-thread scratch space
+ * and can be shared between threads. Messages are only built on demand by
+ * {@link #message(long)}.
+ *
+ * Input too large for a {@code char[]} can be streamed from a {@link Reader},
+ * a {@link CharBuffer} or a memory-mapped file; the state carried between
+ * chunks is a few words, so memory use stays constant.
+ *
+ * @author p4r53c
+ */
+public final class RuleMatcher {
+
+    /** Total number of rules a matcher can hold, one bit each. */
+    static final int MAX_RULES = Long.SIZE;
+
+    private static final int CHAR_VALUES = Character.MAX_VALUE + 1;
+
+    private static final int STREAM_CHUNK_CHARS = 8192;
+    private static final int MAPPED_WINDOW_BYTES = 1 << 24;
+
+    /**
+     * Rule bits per char: must-not-be rules first, then must-be rules, the
+     * order in which {@link ArraysUtils#matchesRules} reports them.
+     */
+    private final long[] table;
+
+    /** Error of each rule, by rule bit. */
+    private final ErrorString[] ruleErrors;
+
+    /** Must-be rules whose absence is reported. */
+    private final long requiredMask;
+
+    /** Bits of the must-not-be rules. */
+    private final long mustNotBeMask;
+
+    /** Union of the must-not-be error ordinals. */
+    private final long mustNotBeErrorMask;
+
+    /** Once all these rules are seen, no further character changes a mask. */
+    private final long settledMask;
+
+    /** Error ordinal bit of each rule, by rule bit. */
+    private final long[] ruleErrorBits;
+
+    private RuleMatcher(long[] table, ErrorString[] ruleErrors, int mustNotBeCount, long requiredMask) {
+        this.table = table;
+        this.ruleErrors = ruleErrors;
+        this.requiredMask = requiredMask;
+
+        long ruleMask = 0;
+        long errorMask = 0;
+
+        for (int i = 0; i < mustNotBeCount; i++) {
+            ruleMask |= 1L << i;
+            errorMask |= errorBit(ruleErrors[i]);
+        }
+        this.mustNotBeMask = ruleMask;
+        this.mustNotBeErrorMask = errorMask;
+        this.settledMask = requiredMask | mustNotBeMask;
+
+        ruleErrorBits = new long[ruleErrors.length];
+        for (int i = 0; i < ruleErrorBits.length; i++) {
+            ruleErrorBits[i] = errorBit(ruleErrors[i]);
+        }
+    }
+
+    /**
+     * Compiles a rule set into a matcher. The rules are evaluated right away
+     * and are not referenced afterwards.
+     *
+     * @param mustBeRules    rules of which at least one character must satisfy
+     *                       each one flagged {@code isSatisfied}
+     * @param mustNotBeRules rules no character may satisfy
+     * @return the compiled matcher
+     * @throws IllegalArgumentException if there are more than 64 rules in total
+     */
+    public static RuleMatcher compile(CharacterRule[] mustBeRules, CharacterRule[] mustNotBeRules) {
+        int mustNotBeCount = mustNotBeRules.length;
+        int ruleCount = mustNotBeCount + mustBeRules.length;
+
+        if (ruleCount > MAX_RULES) {
+            throw new IllegalArgumentException("At most " + MAX_RULES + " rules can be compiled, got " + ruleCount);
+        }
+
+        long[] table = new long[CHAR_VALUES];
+        ErrorString[] ruleErrors = new ErrorString[ruleCount];
+        long requiredMask = 0;
+
+        for (int i = 0; i < ruleCount; i++) {
+            CharacterRule rule = i < mustNotBeCount ? mustNotBeRules[i] : mustBeRules[i - mustNotBeCount];
+            long bit = 1L << i;
+
+            if (i >= mustNotBeCount) {
+                requiredMask |= rule.isSatisfied ? bit : 0;
+            }
+            ruleErrors[i] = rule.errorString;
+            errorBit(rule.errorString);
+
+            for (int ch = 0; ch < CHAR_VALUES; ch++) {
+                if (rule.predicate.test((char) ch)) {
+                    table[ch] |= bit;
+                }
+            }
+        }
+        return new RuleMatcher(table, ruleErrors, mustNotBeCount, requiredMask);
+    }
+
+    /**
+     * Checks the characters against the compiled rules.
+     *
+     * @param array the characters to check
+     * @return the error messages separated by {@code ", "}, or an empty string
+     *         if all rules are met
+     */
+    public String match(char[] array) {
+        return match(array, 0, array.length);
+    }
+
+    /**
+     * Checks a range of characters against the compiled rules.
+     *
+     * @param array the characters to check
+     * @param from  the index of the first character, inclusive
+     * @param to    the index of the last character, exclusive
+     * @return the error messages separated by {@code ", "}, or an empty string
+     *         if all rules are met
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     */
+    public String match(char[] array, int from, int to) {
+        Objects.checkFromToIndex(from, to, array.length);
+
+        Scan scan = new Scan(false);
+
+        scan.feed(array, from, to);
+        return scan.finish();
+    }
+
+    // -- Streaming --
+
+    /**
+     * Checks all characters of a reader against the compiled rules, reading
+     * them in fixed-size chunks. The reader is not closed.
+     *
+     * @param reader   the source of the characters
+     * @param failFast true to stop reading after the first character that
+     *                 violates a must-not-be rule and report only the
+     *                 must-not-be rules it violates; if no character does,
+     *                 the missing must-be rules are reported as usual
+     * @return the error messages separated by {@code ", "}, or an empty string
+     *         if all rules are met
+     * @throws IOException if reading fails
+     */
+    public String match(Reader reader, boolean failFast) throws IOException {
+        Scan scan = new Scan(failFast);
+        char[] chunk = new char[STREAM_CHUNK_CHARS];
+        int read;
+
+        while ((read = reader.read(chunk)) >= 0 && !scan.feed(chunk, 0, read)) {
+            // keep reading
+        }
+        return scan.finish();
+    }
+
+    /**
+     * Checks the remaining characters of a buffer, from its position to its
+     * limit, against the compiled rules. The position is not changed.
+     *
+     * @param buffer   the characters to check
+     * @param failFast true to stop after the first character that violates a
+     *                 must-not-be rule and report only the must-not-be rules
+     *                 it violates; if no character does, the missing must-be
+     *                 rules are reported as usual
+     * @return the error messages separated by {@code ", "}, or an empty string
+     *         if all rules are met
+     */
+    public String match(CharBuffer buffer, boolean failFast) {
+        Scan scan = new Scan(failFast);
+
+        scan.feed(buffer);
+        return scan.finish();
+    }
+
+    /**
+     * Checks the text of a file against the compiled rules. The file is
+     * memory-mapped and decoded window by window into a fixed-size buffer, so
+     * memory use does not depend on the file size.
+     *
+     * @param path     the file to check
+     * @param charset  the encoding of the file
+     * @param failFast true to stop after the first character that violates a
+     *                 must-not-be rule and report only the must-not-be rules
+     *                 it violates; if no character does, the missing must-be
+     *                 rules are reported as usual
+     * @return the error messages separated by {@code ", "}, or an empty string
+     *         if all rules are met
+     * @throws IOException if the file cannot be read or is not valid in the
+     *                     given charset
+     */
+    public String match(Path path, Charset charset, boolean failFast) throws IOException {
+        return match(path, charset, failFast, MAPPED_WINDOW_BYTES);
+    }
+
+    /**
+     * Same as {@link #match(Path, Charset, boolean)} with the given window size.
+     * A window too short to hold one whole character, such as 3 bytes for a
+     * 4-byte UTF-8 code point, is doubled until the character fits, and the
+     * next window is back to the given size.
+     *
+     * @throws IllegalArgumentException if the window size is not positive
+     */
+    String match(Path path, Charset charset, boolean failFast, int windowBytes) throws IOException {
+        if (windowBytes < 1) {
+            throw new IllegalArgumentException("Window size must be positive: " + windowBytes);
+        }
+
+        Scan scan = new Scan(failFast);
+        CharsetDecoder decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        CharBuffer chars = CharBuffer.allocate(STREAM_CHUNK_CHARS);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            long window = windowBytes;
+            boolean done = false;
+
+            do {
+                long length = Math.min(window, size - position);
+                boolean endOfInput = position + length == size;
+                MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                CoderResult result;
+
+                do {
+                    result = decoder.decode(bytes, chars, endOfInput);
+                    if (result.isError()) {
+                        result.throwException();
+                    }
+                    done = drain(chars, scan);
+                } while (!done && result.isOverflow());
+
+                // A character split by the window end is decoded again from the next window,
+                // which is widened if the character is all this window held
+                position += bytes.position();
+                window = bytes.position() == 0 && !endOfInput ? Math.min(window << 1, Integer.MAX_VALUE) : windowBytes;
+            } while (!done && position < size);
+
+            while (!done && decoder.flush(chars).isOverflow()) {
+                done = drain(chars, scan);
+            }
+            if (!done) {
+                drain(chars, scan);
+            }
+        }
+        return scan.finish();
+    }
+
+    private static boolean drain(CharBuffer chars, Scan scan) {
+        chars.flip();
+
+        boolean done = scan.feed(chars);
+
+        chars.clear();
+        return done;
+    }
+
+    // -- Error masks --
+
+    /**
+     * Checks the characters against the compiled rules and returns the broken
+     * rules as a mask of {@link ErrorString} ordinals. Nothing is allocated.
+     *
+     * @param array the characters to check
+     * @return the error mask, 0 if all rules are met
+     * @see #message(long)
+     */
+    public long errorMask(char[] array) {
+        return errorMask(array, 0, array.length);
+    }
+
+    /**
+     * Checks a range of characters against the compiled rules and returns the
+     * broken rules as a mask of {@link ErrorString} ordinals.
+     *
+     * @param array the characters to check
+     * @param from  the index of the first character, inclusive
+     * @param to    the index of the last character, exclusive
+     * @return the error mask, 0 if all rules are met
+     * @throws IndexOutOfBoundsException if the range is out of bounds
+     */
+    public long errorMask(char[] array, int from, int to) {
+        Objects.checkFromToIndex(from, to, array.length);
+
+        long seen = 0;
+
+        for (int i = from; i < to && (seen & settledMask) != settledMask; i++) {
+            seen |= table[array[i]];
+        }
+        return toErrorMask(seen);
+    }
+
+    /**
+     * Checks a character sequence against the compiled rules and returns the
+     * broken rules as a mask of {@link ErrorString} ordinals.
+     *
+     * @param sequence the characters to check
+     * @return the error mask, 0 if all rules are met
+     */
+    public long errorMask(CharSequence sequence) {
+        int length = sequence.length();
+        long seen = 0;
+
+        for (int i = 0; i < length && (seen & settledMask) != settledMask; i++) {
+            seen |= table[sequence.charAt(i)];
+        }
+        return toErrorMask(seen);
+    }
+
+    /**
+     * Validates every input.
+     *
+     * @param inputs the inputs to check
+     * @return the error mask of each input
+     */
+    public long[] errorMasks(char[][] inputs) {
+        return errorMasks(inputs, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Validates every input, in parallel in the common pool if there are at
+     * least {@code parallelThreshold} of them.
+     *
+     * @param inputs            the inputs to check
+     * @param parallelThreshold the number of inputs from which they are
+     *                          validated in parallel
+     * @return the error mask of each input
+     * @throws IllegalArgumentException if the threshold is not positive
+     */
+    public long[] errorMasks(char[][] inputs, int parallelThreshold) {
+        return errorMasks(inputs.length, parallelThreshold, i -> errorMask(inputs[i]));
+    }
+
+    /**
+     * Validates every input.
+     *
+     * @param inputs the inputs to check
+     * @return the error mask of each input
+     */
+    public long[] errorMasks(List<? extends CharSequence> inputs) {
+        return errorMasks(inputs, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Validates every input, in parallel in the common pool if there are at
+     * least {@code parallelThreshold} of them.
+     *
+     * @param inputs            the inputs to check
+     * @param parallelThreshold the number of inputs from which they are
+     *                          validated in parallel
+     * @return the error mask of each input
+     * @throws IllegalArgumentException if the threshold is not positive
+     */
+    public long[] errorMasks(List<? extends CharSequence> inputs, int parallelThreshold) {
+        if (!(inputs instanceof RandomAccess)) {
+            CharSequence[] array = inputs.toArray(new CharSequence[0]);
+
+            return errorMasks(array.length, parallelThreshold, i -> errorMask(array[i]));
+        }
+        return errorMasks(inputs.size(), parallelThreshold, i -> errorMask(inputs.get(i)));
+    }
+
+    /**
+     * Validates inputs packed back to back into one array. Input {@code i}
+     * spans {@code packed[offsets[i], offsets[i + 1])}.
+     *
+     * @param packed  the characters of all inputs
+     * @param offsets the start of each input followed by the end of the last
+     *                one
+     * @return the error mask of each input
+     * @throws IndexOutOfBoundsException if an input range is out of bounds
+     */
+    public long[] errorMasks(char[] packed, int[] offsets) {
+        return errorMasks(packed, offsets, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Validates inputs packed back to back into one array, in parallel in the
+     * common pool if there are at least {@code parallelThreshold} of them.
+     *
+     * @param packed            the characters of all inputs
+     * @param offsets           the start of each input followed by the end of
+     *                          the last one
+     * @param parallelThreshold the number of inputs from which they are
+     *                          validated in parallel
+     * @return the error mask of each input
+     * @throws IndexOutOfBoundsException if an input range is out of bounds
+     * @throws IllegalArgumentException  if the threshold is not positive
+     */
+    public long[] errorMasks(char[] packed, int[] offsets, int parallelThreshold) {
+        int count = Math.max(offsets.length - 1, 0);
+
+        return errorMasks(count, parallelThreshold, i -> errorMask(packed, offsets[i], offsets[i + 1]));
+    }
+
+    private static long[] errorMasks(int count, int parallelThreshold, IntToLongFunction validator) {
+        if (parallelThreshold < 1) {
+            throw new IllegalArgumentException("Threshold must be positive: " + parallelThreshold);
+        }
+
+        long[] masks = new long[count];
+
+        if (count >= parallelThreshold) {
+            IntStream.range(0, count).parallel().forEach(i -> masks[i] = validator.applyAsLong(i));
+        } else {
+            for (int i = 0; i < count; i++) {
+                masks[i] = validator.applyAsLong(i);
+            }
+        }
+        return masks;
+    }
+
+    /**
+     * Builds the message for an error mask. The errors are listed in the order
+     * of the rules that can raise them, must-not-be rules first and then
+     * must-be rules, which is the order {@link #match(char[])} uses as long as
+     * the mask can tell it apart:
+     * <ul>
+     * <li>when several must-not-be rules are broken, {@link #match(char[])}
+     * orders them by first occurrence in the input, which a mask does not
+     * record;</li>
+     * <li>an error shared by a must-not-be and a must-be rule is listed with
+     * the must-not-be errors, even if only the must-be rule was broken, since
+     * the mask holds one bit per error and not per rule.</li>
+     * </ul>
+     *
+     * @param errorMask the mask returned by one of the {@code errorMask}
+     *                  methods
+     * @return the error messages separated by {@code ", "}, or an empty string
+     *         for a zero mask
+     */
+    public String message(long errorMask) {
+        long addedErrors = 0;
+        StringBuilder errorMessages = null;
+
+        for (ErrorString errorString : ruleErrors) {
+            long bit = errorBit(errorString);
+
+            if ((errorMask & bit) != 0 && (addedErrors & bit) == 0) {
+                addedErrors |= bit;
+                errorMessages = appendErrorMessage(errorMessages, errorString);
+            }
+        }
+        return errorMessages == null ? "" : errorMessages.toString();
+    }
+
+    /**
+     * Returns the errors of a mask as a set.
+     *
+     * @param errorMask the mask returned by one of the {@code errorMask}
+     *                  methods
+     * @return a new set with the errors
+     */
+    public static Set<ErrorString> errors(long errorMask) {
+        EnumSet<ErrorString> errors = EnumSet.noneOf(ErrorString.class);
+
+        for (ErrorString errorString : ErrorString.values()) {
+            if ((errorMask & errorBit(errorString)) != 0) {
+                errors.add(errorString);
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * Turns the rule bits seen in an input into its error mask.
+     */
+    private long toErrorMask(long seen) {
+        long brokenRules = (seen & mustNotBeMask) | (requiredMask & ~seen);
+        long errorMask = 0;
+
+        while (brokenRules != 0) {
+            errorMask |= ruleErrorBits[Long.numberOfTrailingZeros(brokenRules)];
+            brokenRules &= brokenRules - 1;
+        }
+        return errorMask;
+    }
+
+    /**
+     * Match state carried across the chunks of one input.
+     */
+    private final class Scan {
+
+        private final boolean failFast;
+        private long seen;
+        private long addedErrors;
+        private StringBuilder errorMessages;
+
+        Scan(boolean failFast) {
+            this.failFast = failFast;
+        }
+
+        /**
+         * Feeds {@code chars[from, to)}.
+         *
+         * @return true if no further character can change the result
+         */
+        boolean feed(char[] chars, int from, int to) {
+            boolean done = isDone();
+
+            for (int i = from; i < to && !done; i++) {
+                accept(chars[i]);
+                done = isDone();
+            }
+            return done;
+        }
+
+        /**
+         * Feeds the characters between the position and the limit of the
+         * buffer without moving its position.
+         *
+         * @return true if no further character can change the result
+         */
+        boolean feed(CharBuffer buffer) {
+            if (buffer.hasArray()) {
+                int offset = buffer.arrayOffset();
+
+                return feed(buffer.array(), offset + buffer.position(), offset + buffer.limit());
+            }
+
+            boolean done = isDone();
+
+            for (int i = buffer.position(); i < buffer.limit() && !done; i++) {
+                accept(buffer.get(i));
+                done = isDone();
+            }
+            return done;
+        }
+
+        private void accept(char ch) {
+            long bits = table[ch];
+            long newViolations = bits & mustNotBeMask & ~seen;
+
+            seen |= bits;
+
+            // Reported in order of first occurrence, lower rule index first
+            while (newViolations != 0) {
+                report(ruleErrors[Long.numberOfTrailingZeros(newViolations)]);
+                newViolations &= newViolations - 1;
+            }
+        }
+
+        private boolean isDone() {
+            return isSettled(seen, addedErrors) || failFast && addedErrors != 0;
+        }
+
+        String finish() {
+            if (!failFast || addedErrors == 0) {
+                long missing = requiredMask & ~seen;
+
+                while (missing != 0) {
+                    report(ruleErrors[Long.numberOfTrailingZeros(missing)]);
+                    missing &= missing - 1;
+                }
+            }
+            return errorMessages == null ? "" : errorMessages.toString();
+        }
+
+        private void report(ErrorString errorString) {
+            if ((addedErrors & errorBit(errorString)) == 0) {
+                addedErrors |= errorBit(errorString);
+                errorMessages = appendErrorMessage(errorMessages, errorString);
+            }
+        }
+    }
+
+    private boolean isSettled(long seen, long addedErrors) {
+        return (seen & requiredMask) == requiredMask && (addedErrors & mustNotBeErrorMask) == mustNotBeErrorMask;
+    }
+
+    /**
+     * Returns the bit of the error in a mask of {@link ErrorString} ordinals.
+     */
+    static long errorBit(ErrorString errorString) {
+        if (errorString.ordinal() >= Long.SIZE) {
+            throw new IllegalArgumentException("Too many error strings to fit a mask: " + errorString);
+        }
+        return 1L << errorString.ordinal();
+    }
+
+    /**
+     * Appends an error message, separated by {@code ", "} from the previous
+     * ones, creating the builder on the first error.
+     */
+    static StringBuilder appendErrorMessage(StringBuilder errorMessages, ErrorString errorString) {
+        if (errorMessages == null) {
+            return new StringBuilder(errorString.getErrorMessage());
+        }
+        return errorMessages.append(", ").append(errorString.getErrorMessage());
+    }
+}
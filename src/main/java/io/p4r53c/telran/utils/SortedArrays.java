@@ -0,0 +1,1289 @@
+package io.p4r53c.telran.utils;
+
+import java.util.Comparator;
+
+/**
+ * Set operations on sorted arrays: merge, union, intersection, difference and
+ * a k-way merge, for {@code int[]}, {@code long[]} and {@code T[]} with a
+ * comparator.
+ *
+ * The arrays are treated as multisets, with the semantics of the C++
+ * {@code std::set_union} family: duplicates are kept and counted. Results are
+ * written into a caller-supplied destination, which can be reused across
+ * calls, and the number of elements written is returned. The destination must
+ * not be one of the inputs. Unsorted inputs give unspecified results.
+ *
+ * Two arrays of similar length are walked side by side in linear time. When
+ * one is more than {@value #GALLOP_RATIO} times longer than the other, the
+ * elements of the short one are located in the long one by galloping
+ * (exponential then binary search) and the runs in between are copied with
+ * {@link System#arraycopy}, so an intersection of m and n elements with m much
+ * smaller than n costs O(m log(n / m)) comparisons instead of O(m + n).
+ *
+ * @author p4r53c
+ */
+public final class SortedArrays {
+
+    /** Length ratio above which the longer array is galloped through. */
+    static final int GALLOP_RATIO = 8;
+
+    private SortedArrays() {
+    }
+
+    // ---------------------------------------------------------------------------
+    //
+    // int[]
+    //
+    // ---------------------------------------------------------------------------
+
+    /**
+     * Merges two sorted arrays into the destination. Equal elements of the
+     * first array go before those of the second, so the merge is stable.
+     *
+     * @param first       the first array, sorted in ascending order
+     * @param second      the second array, sorted in ascending order
+     * @param destination the buffer for the result, at least
+     *                    {@code first.length + second.length} long
+     * @return the number of elements written, {@code first.length + second.length}
+     * @throws IllegalArgumentException if the destination is too short
+     */
+    public static int merge(int[] first, int[] second, int[] destination) {
+        checkDestinationLength(destination.length, (long) first.length + second.length);
+
+        if (isUnbalanced(first.length, second.length)) {
+            return first.length < second.length
+                    ? mergeSmallFirst(first, second, destination)
+                    : mergeSmallSecond(first, second, destination);
+        }
+
+        int i = 0;
+        int j = 0;
+        int k = 0;
+
+        while (i < first.length && j < second.length) {
+            destination[k++] = second[j] < first[i] ? second[j++] : first[i++];
+        }
+        return copyRemaining(second, j, destination, copyRemaining(first, i, destination, k));
+    }
+
+    /**
+     * Writes the union of two sorted arrays into the destination.
+     *
+     * An element occurring m times in the first array and n times in the second
+     * occurs {@code max(m, n)} times in the union. Where both arrays have an
+     * element, the one from the first array is taken.
+     *
+     * @param first       the first array, sorted in ascending order
+     * @param second      the second array, sorted in ascending order
+     * @param destination the buffer for the result, at least
+     *                    {@code first.length + second.length} long
+     * @return the number of elements written
+     * @throws IllegalArgumentException if the destination is too short
+     */
+    public static int union(int[] first, int[] second, int[] destination) {
+        checkDestinationLength(destination.length, (long) first.length + second.length);
+
+        if (isUnbalanced(first.length, second.length)) {
+            return first.length < second.length
+                    ? unionSmallFirst(first, second, destination)
+                    : unionSmallSecond(first, second, destination);
+        }
+
+        int i = 0;
+        int j = 0;
+        int k = 0;
+
+        while (i < first.length && j < second.length) {
+            if (first[i] < second[j]) {
+                destination[k++] = first[i++];
+            } else if (second[j] < first[i]) {
+                destination[k++] = second[j++];
+            } else {
+                destination[k++] = first[i++];
+                j++;
+            }
+        }
+        return copyRemaining(second, j, destination, copyRemaining(first, i, destination, k));
+    }
+
+    /**
+     * Writes the intersection of two sorted arrays into the destination.
+     *
+     * An element occurring m times in the first array and n times in the second
+     * occurs {@code min(m, n)} times in the intersection, taken from the first
+     * array.
+     *
+     * @param first       the first array, sorted in ascending order
+     * @param second      the second array, sorted in ascending order
+     * @param destination the buffer for the result, at least as long as the
+     *                    shorter array
+     * @return the number of elements written
+     * @throws IllegalArgumentException if the destination is too short
+     */
+    public static int intersection(int[] first, int[] second, int[] destination) {
+        checkDestinationLength(destination.length, Math.min(first.length, second.length));
+
+        if (isUnbalanced(first.length, second.length)) {
+            return first.length < second.length
+                    ? intersectionSmallFirst(first, second, destination)
+                    : intersectionSmallSecond(first, second, destination);
+        }
+
+        int i = 0;
+        int j = 0;
+        int k = 0;
+
+        while (i < first.length && j < second.length) {
+            if (first[i] < second[j]) {
+                i++;
+            } else if (second[j] < first[i]) {
+                j++;
+            } else {
+                destination[k++] = first[i++];
+                j++;
+            }
+        }
+        return k;
+    }
+
+    /**
+     * Writes the elements of the first sorted array that are not in the second
+     * one into the destination.
+     *
+     * An element occurring m times in the first array and n times in the second
+     * occurs {@code max(m - n, 0)} times in the difference.
+     *
+     * @param first       the array to subtract from, sorted in ascending order
+     * @param second      the array to subtract, sorted in ascending order
+     * @param destination the buffer for the result, at least as long as the
+     *                    first array
+     * @return the number of elements written
+     * @throws IllegalArgumentException if the destination is too short
+     */
+    public static int difference(int[] first, int[] second, int[] destination) {
+        checkDestinationLength(destination.length, first.length);
+
+        if (isUnbalanced(first.length, second.length)) {
+            return first.length < second.length
+                    ? differenceSmallFirst(first, second, destination)
+                    : differenceSmallSecond(first, second, destination);
+        }
+
+        int i = 0;
+        int j = 0;
+        int k = 0;
+
+        while (i < first.length && j < second.length) {
+            if (first[i] < second[j]) {
+                destination[k++] = first[i++];
+            } else if (second[j] < first[i]) {
+                j++;
+            } else {
+                i++;
+                j++;
+            }
+        }
+        return copyRemaining(first, i, destination, k);
+    }
+
+    /**
+     * Merges any number of sorted arrays into the destination.
+     *
+     * The heads of the arrays are kept in a binary min-heap, so each element
+     * costs O(log k) comparisons for k arrays. Equal elements keep the order of
+     * the arrays they come from.
+     *
+     * @param arrays      the arrays, each sorted in ascending order
+     * @param destination the buffer for the result, at least as long as all the
+     *                    arrays together
+     * @return the number of elements written
+     * @throws IllegalArgumentException if the destination is too short
+     */
+    public static int mergeAll(int[][] arrays, int[] destination) {
+        long total = 0;
+
+        for (int[] array : arrays) {
+            total += array.length;
+        }
+        checkDestinationLength(destination.length, total);
+
+        if (arrays.length == 0) {
+            return 0;
+        }
+        if (arrays.length == 1) {
+            return copyRemaining(arrays[0], 0, destination, 0);
+        }
+        if (arrays.length == 2) {
+            return merge(arrays[0], arrays[1], destination);
+        }
+
+        // heap holds the indices of the non-exhausted arrays, ordered by their
+        // current heads and then by index
+        int[] heap = new int[arrays.length];
+        int[] positions = new int[arrays.length];
+        int size = 0;
+
+        for (int a = 0; a < arrays.length; a++) {
+            if (arrays[a].length > 0) {
+                heap[size++] = a;
+            }
+        }
+        for (int node = size / 2 - 1; node >= 0; node--) {
+            siftDown(heap, node, size, arrays, positions);
+        }
+
+        int k = 0;
+
+        while (size > 1) {
+            int top = heap[0];
+            int[] array = arrays[top];
+
+            destination[k++] = array[positions[top]++];
+
+            if (positions[top] == array.length) {
+                heap[0] = heap[--size];
+            }
+            siftDown(heap, 0, size, arrays, positions);
+        }
+        if (size == 1) {
+            k = copyRemaining(arrays[heap[0]], positions[heap[0]], destination, k);
+        }
+        return k;
+    }
+
+    private static int mergeSmallFirst(int[] first, int[] second, int[] destination) {
+        int j = 0;
+        int k = 0;
+
+        for (int value : first) {
+            int next = gallopLowerBound(second, j, value);
+
+            k = copyRange(second, j, next, destination, k);
+            destination[k++] = value;
+            j = next;
+        }
+        return copyRemaining(second, j, destination, k);
+    }
+
+    private static int mergeSmallSecond(int[] first, int[] second, int[] destination) {
+        int i = 0;
+        int k = 0;
+
+        for (int value : second) {
+            int next = gallopUpperBound(first, i, value);
+
+            k = copyRange(first, i, next, destination, k);
+            destination[k++] = value;
+            i = next;
+        }
+        return copyRemaining(first, i, destination, k);
+    }
+
+    private static int unionSmallFirst(int[] first, int[] second, int[] destination) {
+        int j = 0;
+        int k = 0;
+
+        for (int value : first) {
+            int next = gallopLowerBound(second, j, value);
+
+            k = copyRange(second, j, next, destination, k);
+            destination[k++] = value;
+            j = next < second.length && second[next] == value ? next + 1 : next;
+        }
+        return copyRemaining(second, j, destination, k);
+    }
+
+    private static int unionSmallSecond(int[] first, int[] second, int[] destination) {
+        int i = 0;
+        int k = 0;
+
+        for (int value : second) {
+            int next = gallopLowerBound(first, i, value);
+
+            k = copyRange(first, i, next, destination, k);
+            i = next;
+            destination[k++] = i < first.length && first[i] == value ? first[i++] : value;
+        }
+        return copyRemaining(first, i, destination, k);
+    }
+
+    private static int intersectionSmallFirst(int[] first, int[] second, int[] destination) {
+        int j = 0;
+        int k = 0;
+
+        for (int value : first) {
+            j = gallopLowerBound(second, j, value);
+
+            if (j == second.length) {
+                break;
+            }
+            if (second[j] == value) {
+                destination[k++] = value;
+                j++;
+            }
+        }
+        return k;
+    }
+
+    private static int intersectionSmallSecond(int[] first, int[] second, int[] destination) {
+        int i = 0;
+        int k = 0;
+
+        for (int value : second) {
+            i = gallopLowerBound(first, i, value);
+
+            if (i == first.length) {
+                break;
+            }
+            if (first[i] == value) {
+                destination[k++] = first[i++];
+            }
+        }
+        return k;
+    }
+
+    private static int differenceSmallFirst(int[] first, int[] second, int[] destination) {
+        int j = 0;
+        int k = 0;
+
+        for (int value : first) {
+            j = gallopLowerBound(second, j, value);
+
+            if (j < second.length && second[j] == value) {
+                j++;
+            } else {
+                destination[k++] = value;
+            }
+        }
+        return k;
+    }
+
+    private static int differenceSmallSecond(int[] first, int[] second, int[] destination) {
+        int i = 0;
+        int k = 0;
+
+        for (int value : second) {
+            int next = gallopLowerBound(first, i, value);
+
+            k = copyRange(first, i, next, destination, k);
+            i = next < first.length && first[next] == value ? next + 1 : next;
+        }
+        return copyRemaining(first, i, destination, k);
+    }
+
+    /**
+     * Returns the index of the first element in {@code [from, length)} that is
+     * not less than the value, probing {@code from + 1}, {@code from + 3},
+     * {@code from + 7} and so on before the binary search, so the cost is
+     * logarithmic in the distance from {@code from} rather than in the length
+     * of the array.
+     */
+    private static int gallopLowerBound(int[] array, int from, int value) {
+        if (from == array.length || array[from] >= value) {
+            return from;
+        }
+
+        int last = from;
+        int step = 1;
+
+        while (step < array.length - last && array[last + step] < value) {
+            last += step;
+            step <<= 1;
+        }
+        int to = step < array.length - last ? last + step : array.length;
+
+        return ArraysUtils.lowerBound(array, last + 1, to, value);
+    }
+
+    /**
+     * Same as {@link #gallopLowerBound}, for the first element greater than the
+     * value.
+     */
+    private static int gallopUpperBound(int[] array, int from, int value) {
+        if (from == array.length || array[from] > value) {
+            return from;
+        }
+
+        int last = from;
+        int step = 1;
+
+        while (step < array.length - last && array[last + step] <= value) {
+            last += step;
+            step <<= 1;
+        }
+        int to = step < array.length - last ? last + step : array.length;
+
+        return ArraysUtils.upperBound(array, last + 1, to, value);
+    }
+
+    private static void siftDown(int[] heap, int node, int size, int[][] arrays, int[] positions) {
+        int source = heap[node];
+
+        while (true) {
+            int child = 2 * node + 1;
+
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && headBefore(heap[child + 1], heap[child], arrays, positions)) {
+                child++;
+            }
+            if (!headBefore(heap[child], source, arrays, positions)) {
+                break;
+            }
+            heap[node] = heap[child];
+            node = child;
+        }
+        heap[node] = source;
+    }
+
+    private static boolean headBefore(int a, int b, int[][] arrays, int[] positions) {
+        int x = arrays[a][positions[a]];
+        int y = arrays[b][positions[b]];
+
+        return x < y || x == y && a < b;
+    }
+
+    private static int copyRange(int[] source, int from, int to, int[] destination, int k) {
+        System.arraycopy(source, from, destination, k, to - from);
+        return k + to - from;
+    }
+
+    private static int copyRemaining(int[] source, int from, int[] destination, int k) {
+        return copyRange(source, from, source.length, destination, k);
+    }
+
+    // ---------------------------------------------------------------------------
+    //
+    // long[]
+    //
+    // ---------------------------------------------------------------------------
+
+    // The same algorithms as for int[], helper for helper: see the int[] section
+    // for the contracts of the public methods and for how the helpers work.
+
+    /**
+     * Merges two sorted arrays into the destination, stably.
+     *
+     * @param first       the first array, sorted in ascending order
+     * @param second      the second array, sorted in ascending order
+     * @param destination the buffer for the result
+     * @return the number of elements written
+     * @throws IllegalArgumentException if the destination is too short
+     * @see #merge(int[], int[], int[])
+     */
+    public static int merge(long[] first, long[] second, long[] destination) {
+        checkDestinationLength(destination.length, (long) first.length + second.length);
+
+        if (isUnbalanced(first.length, second.length)) {
+            return first.length < second.length
+                    ? mergeSmallFirst(first, second, destination)
+                    : mergeSmallSecond(first, second, destination);
+        }
+
+        int i = 0;
+        int j = 0;
+        int k = 0;
+
+        while (i < first.length && j < second.length) {
+            destination[k++] = second[j] < first[i] ? second[j++] : first[i++];
+        }
+        return copyRemaining(second, j, destination, copyRemaining(first, i, destination, k));
+    }
+
+    /**
+     * Writes the union of two sorted arrays into the destination.
+     *
+     * @param first       the first array, sorted in ascending order
+     * @param second      the second array, sorted in ascending order
+     * @param destination the buffer for the result
+     * @return the number of elements written
+     * @throws IllegalArgumentException if the destination is too short
+     * @see #union(int[], int[], int[])
+     */
+    public static int union(long[] first, long[] second, long[] destination) {
+        checkDestinationLength(destination.length, (long) first.length + second.length);
+
+        if (isUnbalanced(first.length, second.length)) {
+            return first.length < second.length
+                    ? unionSmallFirst(first, second, destination)
+                    : unionSmallSecond(first, second, destination);
+        }
+
+        int i = 0;
+        int j = 0;
+        int k = 0;
+
+        while (i < first.length && j < second.length) {
+            if (first[i] < second[j]) {
+                destination[k++] = first[i++];
+            } else if (second[j] < first[i]) {
+                destination[k++] = second[j++];
+            } else {
+                destination[k++] = first[i++];
+                j++;
+            }
+        }
+        return copyRemaining(second, j, destination, copyRemaining(first, i, destination, k));
+    }
+
+    /**
+     * Writes the intersection of two sorted arrays into the destination.
+     *
+     * @param first       the first array, sorted in ascending order
+     * @param second      the second array, sorted in ascending order
+     * @param destination the buffer for the result
+     * @return the number of elements written
+     * @throws IllegalArgumentException if the destination is too short
+     * @see #intersection(int[], int[], int[])
+     */
+    public static int intersection(long[] first, long[] second, long[] destination) {
+        checkDestinationLength(destination.length, Math.min(first.length, second.length));
+
+        if (isUnbalanced(first.length, second.length)) {
+            return first.length < second.length
+                    ? intersectionSmallFirst(first, second, destination)
+                    : intersectionSmallSecond(first, second, destination);
+        }
+
+        int i = 0;
+        int j = 0;
+        int k = 0;
+
+        while (i < first.length && j < second.length) {
+            if (first[i] < second[j]) {
+                i++;
+            } else if (second[j] < first[i]) {
+                j++;
+            } else {
+                destination[k++] = first[i++];
+                j++;
+            }
+        }
+        return k;
+    }
+
+    /**
+     * Writes the elements of the first array that are not in the second one
+     * into the destination.
+     *
+     * @param first       the array to subtract from, sorted in ascending order
+     * @param second      the array to subtract, sorted in ascending order
+     * @param destination the buffer for the result
+     * @return the number of elements written
+     * @throws IllegalArgumentException if the destination is too short
+     * @see #difference(int[], int[], int[])
+     */
+    public static int difference(long[] first, long[] second, long[] destination) {
+        checkDestinationLength(destination.length, first.length);
+
+        if (isUnbalanced(first.length, second.length)) {
+            return first.length < second.length
+                    ? differenceSmallFirst(first, second, destination)
+                    : differenceSmallSecond(first, second, destination);
+        }
+
+        int i = 0;
+        int j = 0;
+        int k = 0;
+
+        while (i < first.length && j < second.length) {
+            if (first[i] < second[j]) {
+                destination[k++] = first[i++];
+            } else if (second[j] < first[i]) {
+                j++;
+            } else {
+                i++;
+                j++;
+            }
+        }
+        return copyRemaining(first, i, destination, k);
+    }
+
+    /**
+     * Merges any number of sorted arrays into the destination, stably.
+     *
+     * @param arrays      the arrays, each sorted in ascending order
+     * @param destination the buffer for the result
+     * @return the number of elements written
+     * @throws IllegalArgumentException if the destination is too short
+     * @see #mergeAll(int[][], int[])
+     */
+    public static int mergeAll(long[][] arrays, long[] destination) {
+        long total = 0;
+
+        for (long[] array : arrays) {
+            total += array.length;
+        }
+        checkDestinationLength(destination.length, total);
+
+        if (arrays.length == 0) {
+            return 0;
+        }
+        if (arrays.length == 1) {
+            return copyRemaining(arrays[0], 0, destination, 0);
+        }
+        if (arrays.length == 2) {
+            return merge(arrays[0], arrays[1], destination);
+        }
+
+        // heap holds the indices of the non-exhausted arrays, ordered by their
+        // current heads and then by index
+        int[] heap = new int[arrays.length];
+        int[] positions = new int[arrays.length];
+        int size = 0;
+
+        for (int a = 0; a < arrays.length; a++) {
+            if (arrays[a].length > 0) {
+                heap[size++] = a;
+            }
+        }
+        for (int node = size / 2 - 1; node >= 0; node--) {
+            siftDown(heap, node, size, arrays, positions);
+        }
+
+        int k = 0;
+
+        while (size > 1) {
+            int top = heap[0];
+            long[] array = arrays[top];
+
+            destination[k++] = array[positions[top]++];
+
+            if (positions[top] == array.length) {
+                heap[0] = heap[--size];
+            }
+            siftDown(heap, 0, size, arrays, positions);
+        }
+        if (size == 1) {
+            k = copyRemaining(arrays[heap[0]], positions[heap[0]], destination, k);
+        }
+        return k;
+    }
+
+    private static int mergeSmallFirst(long[] first, long[] second, long[] destination) {
+        int j = 0;
+        int k = 0;
+
+        for (long value : first) {
+            int next = gallopLowerBound(second, j, value);
+
+            k = copyRange(second, j, next, destination, k);
+            destination[k++] = value;
+            j = next;
+        }
+        return copyRemaining(second, j, destination, k);
+    }
+
+    private static int mergeSmallSecond(long[] first, long[] second, long[] destination) {
+        int i = 0;
+        int k = 0;
+
+        for (long value : second) {
+            int next = gallopUpperBound(first, i, value);
+
+            k = copyRange(first, i, next, destination, k);
+            destination[k++] = value;
+            i = next;
+        }
+        return copyRemaining(first, i, destination, k);
+    }
+
+    private static int unionSmallFirst(long[] first, long[] second, long[] destination) {
+        int j = 0;
+        int k = 0;
+
+        for (long value : first) {
+            int next = gallopLowerBound(second, j, value);
+
+            k = copyRange(second, j, next, destination, k);
+            destination[k++] = value;
+            j = next < second.length && second[next] == value ? next + 1 : next;
+        }
+        return copyRemaining(second, j, destination, k);
+    }
+
+    private static int unionSmallSecond(long[] first, long[] second, long[] destination) {
+        int i = 0;
+        int k = 0;
+
+        for (long value : second) {
+            int next = gallopLowerBound(first, i, value);
+
+            k = copyRange(first, i, next, destination, k);
+            i = next;
+            destination[k++] = i < first.length && first[i] == value ? first[i++] : value;
+        }
+        return copyRemaining(first, i, destination, k);
+    }
+
+    private static int intersectionSmallFirst(long[] first, long[] second, long[] destination) {
+        int j = 0;
+        int k = 0;
+
+        for (long value : first) {
+            j = gallopLowerBound(second, j, value);
+
+            if (j == second.length) {
+                break;
+            }
+            if (second[j] == value) {
+                destination[k++] = value;
+                j++;
+            }
+        }
+        return k;
+    }
+
+    private static int intersectionSmallSecond(long[] first, long[] second, long[] destination) {
+        int i = 0;
+        int k = 0;
+
+        for (long value : second) {
+            i = gallopLowerBound(first, i, value);
+
+            if (i == first.length) {
+                break;
+            }
+            if (first[i] == value) {
+                destination[k++] = first[i++];
+            }
+        }
+        return k;
+    }
+
+    private static int differenceSmallFirst(long[] first, long[] second, long[] destination) {
+        int j = 0;
+        int k = 0;
+
+        for (long value : first) {
+            j = gallopLowerBound(second, j, value);
+
+            if (j < second.length && second[j] == value) {
+                j++;
+            } else {
+                destination[k++] = value;
+            }
+        }
+        return k;
+    }
+
+    private static int differenceSmallSecond(long[] first, long[] second, long[] destination) {
+        int i = 0;
+        int k = 0;
+
+        for (long value : second) {
+            int next = gallopLowerBound(first, i, value);
+
+            k = copyRange(first, i, next, destination, k);
+            i = next < first.length && first[next] == value ? next + 1 : next;
+        }
+        return copyRemaining(first, i, destination, k);
+    }
+
+    private static int gallopLowerBound(long[] array, int from, long value) {
+        if (from == array.length || array[from] >= value) {
+            return from;
+        }
+
+        int last = from;
+        int step = 1;
+
+        while (step < array.length - last && array[last + step] < value) {
+            last += step;
+            step <<= 1;
+        }
+        int to = step < array.length - last ? last + step : array.length;
+
+        return ArraysUtils.lowerBound(array, last + 1, to, value);
+    }
+
+    private static int gallopUpperBound(long[] array, int from, long value) {
+        if (from == array.length || array[from] > value) {
+            return from;
+        }
+
+        int last = from;
+        int step = 1;
+
+        while (step < array.length - last && array[last + step] <= value) {
+            last += step;
+            step <<= 1;
+        }
+        int to = step < array.length - last ? last + step : array.length;
+
+        return ArraysUtils.upperBound(array, last + 1, to, value);
+    }
+
+    private static void siftDown(int[] heap, int node, int size, long[][] arrays, int[] positions) {
+        int source = heap[node];
+
+        while (true) {
+            int child = 2 * node + 1;
+
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && headBefore(heap[child + 1], heap[child], arrays, positions)) {
+                child++;
+            }
+            if (!headBefore(heap[child], source, arrays, positions)) {
+                break;
+            }
+            heap[node] = heap[child];
+            node = child;
+        }
+        heap[node] = source;
+    }
+
+    private static boolean headBefore(int a, int b, long[][] arrays, int[] positions) {
+        long x = arrays[a][positions[a]];
+        long y = arrays[b][positions[b]];
+
+        return x < y || x == y && a < b;
+    }
+
+    private static int copyRange(long[] source, int from, int to, long[] destination, int k) {
+        System.arraycopy(source, from, destination, k, to - from);
+        return k + to - from;
+    }
+
+    private static int copyRemaining(long[] source, int from, long[] destination, int k) {
+        return copyRange(source, from, source.length, destination, k);
+    }
+
+    // ---------------------------------------------------------------------------
+    //
+    // T[] and Comparator
+    //
+    // ---------------------------------------------------------------------------
+
+    // The same algorithms as for int[], helper for helper: see the int[] section
+    // for the contracts of the public methods and for how the helpers work.
+
+    /**
+     * Merges two arrays sorted by the comparator into the destination, stably.
+     *
+     * @param first       the first array, sorted by the comparator
+     * @param second      the second array, sorted by the comparator
+     * @param comparator  the comparator both arrays are sorted by
+     * @param destination the buffer for the result
+     * @return the number of elements written
+     * @throws IllegalArgumentException if the destination is too short
+     * @see #merge(int[], int[], int[])
+     */
+    public static <T> int merge(T[] first, T[] second, Comparator<? super T> comparator, T[] destination) {
+        checkDestinationLength(destination.length, (long) first.length + second.length);
+
+        if (isUnbalanced(first.length, second.length)) {
+            return first.length < second.length
+                    ? mergeSmallFirst(first, second, comparator, destination)
+                    : mergeSmallSecond(first, second, comparator, destination);
+        }
+
+        int i = 0;
+        int j = 0;
+        int k = 0;
+
+        while (i < first.length && j < second.length) {
+            destination[k++] = comparator.compare(second[j], first[i]) < 0 ? second[j++] : first[i++];
+        }
+        return copyRemaining(second, j, destination, copyRemaining(first, i, destination, k));
+    }
+
+    /**
+     * Writes the union of two arrays sorted by the comparator into the
+     * destination.
+     *
+     * @param first       the first array, sorted by the comparator
+     * @param second      the second array, sorted by the comparator
+     * @param comparator  the comparator both arrays are sorted by
+     * @param destination the buffer for the result
+     * @return the number of elements written
+     * @throws IllegalArgumentException if the destination is too short
+     * @see #union(int[], int[], int[])
+     */
+    public static <T> int union(T[] first, T[] second, Comparator<? super T> comparator, T[] destination) {
+        checkDestinationLength(destination.length, (long) first.length + second.length);
+
+        if (isUnbalanced(first.length, second.length)) {
+            return first.length < second.length
+                    ? unionSmallFirst(first, second, comparator, destination)
+                    : unionSmallSecond(first, second, comparator, destination);
+        }
+
+        int i = 0;
+        int j = 0;
+        int k = 0;
+
+        while (i < first.length && j < second.length) {
+            int c = comparator.compare(first[i], second[j]);
+
+            if (c < 0) {
+                destination[k++] = first[i++];
+            } else if (c > 0) {
+                destination[k++] = second[j++];
+            } else {
+                destination[k++] = first[i++];
+                j++;
+            }
+        }
+        return copyRemaining(second, j, destination, copyRemaining(first, i, destination, k));
+    }
+
+    /**
+     * Writes the intersection of two arrays sorted by the comparator into the
+     * destination.
+     *
+     * @param first       the first array, sorted by the comparator
+     * @param second      the second array, sorted by the comparator
+     * @param comparator  the comparator both arrays are sorted by
+     * @param destination the buffer for the result
+     * @return the number of elements written
+     * @throws IllegalArgumentException if the destination is too short
+     * @see #intersection(int[], int[], int[])
+     */
+    public static <T> int intersection(T[] first, T[] second, Comparator<? super T> comparator, T[] destination) {
+        checkDestinationLength(destination.length, Math.min(first.length, second.length));
+
+        if (isUnbalanced(first.length, second.length)) {
+            return first.length < second.length
+                    ? intersectionSmallFirst(first, second, comparator, destination)
+                    : intersectionSmallSecond(first, second, comparator, destination);
+        }
+
+        int i = 0;
+        int j = 0;
+        int k = 0;
+
+        while (i < first.length && j < second.length) {
+            int c = comparator.compare(first[i], second[j]);
+
+            if (c < 0) {
+                i++;
+            } else if (c > 0) {
+                j++;
+            } else {
+                destination[k++] = first[i++];
+                j++;
+            }
+        }
+        return k;
+    }
+
+    /**
+     * Writes the elements of the first array that are not in the second one
+     * into the destination.
+     *
+     * @param first       the array to subtract from, sorted by the comparator
+     * @param second      the array to subtract, sorted by the comparator
+     * @param comparator  the comparator both arrays are sorted by
+     * @param destination the buffer for the result
+     * @return the number of elements written
+     * @throws IllegalArgumentException if the destination is too short
+     * @see #difference(int[], int[], int[])
+     */
+    public static <T> int difference(T[] first, T[] second, Comparator<? super T> comparator, T[] destination) {
+        checkDestinationLength(destination.length, first.length);
+
+        if (isUnbalanced(first.length, second.length)) {
+            return first.length < second.length
+                    ? differenceSmallFirst(first, second, comparator, destination)
+                    : differenceSmallSecond(first, second, comparator, destination);
+        }
+
+        int i = 0;
+        int j = 0;
+        int k = 0;
+
+        while (i < first.length && j < second.length) {
+            int c = comparator.compare(first[i], second[j]);
+
+            if (c < 0) {
+                destination[k++] = first[i++];
+            } else if (c > 0) {
+                j++;
+            } else {
+                i++;
+                j++;
+            }
+        }
+        return copyRemaining(first, i, destination, k);
+    }
+
+    /**
+     * Merges any number of arrays sorted by the comparator into the
+     * destination, stably.
+     *
+     * @param arrays      the arrays, each sorted by the comparator
+     * @param comparator  the comparator all arrays are sorted by
+     * @param destination the buffer for the result
+     * @return the number of elements written
+     * @throws IllegalArgumentException if the destination is too short
+     * @see #mergeAll(int[][], int[])
+     */
+    public static <T> int mergeAll(T[][] arrays, Comparator<? super T> comparator, T[] destination) {
+        long total = 0;
+
+        for (T[] array : arrays) {
+            total += array.length;
+        }
+        checkDestinationLength(destination.length, total);
+
+        if (arrays.length == 0) {
+            return 0;
+        }
+        if (arrays.length == 1) {
+            return copyRemaining(arrays[0], 0, destination, 0);
+        }
+        if (arrays.length == 2) {
+            return merge(arrays[0], arrays[1], comparator, destination);
+        }
+
+        // heap holds the indices of the non-exhausted arrays, ordered by their
+        // current heads and then by index
+        int[] heap = new int[arrays.length];
+        int[] positions = new int[arrays.length];
+        int size = 0;
+
+        for (int a = 0; a < arrays.length; a++) {
+            if (arrays[a].length > 0) {
+                heap[size++] = a;
+            }
+        }
+        for (int node = size / 2 - 1; node >= 0; node--) {
+            siftDown(heap, node, size, arrays, positions, comparator);
+        }
+
+        int k = 0;
+
+        while (size > 1) {
+            int top = heap[0];
+            T[] array = arrays[top];
+
+            destination[k++] = array[positions[top]++];
+
+            if (positions[top] == array.length) {
+                heap[0] = heap[--size];
+            }
+            siftDown(heap, 0, size, arrays, positions, comparator);
+        }
+        if (size == 1) {
+            k = copyRemaining(arrays[heap[0]], positions[heap[0]], destination, k);
+        }
+        return k;
+    }
+
+    private static <T> int mergeSmallFirst(T[] first, T[] second, Comparator<? super T> comparator, T[] destination) {
+        int j = 0;
+        int k = 0;
+
+        for (T value : first) {
+            int next = gallopLowerBound(second, j, value, comparator);
+
+            k = copyRange(second, j, next, destination, k);
+            destination[k++] = value;
+            j = next;
+        }
+        return copyRemaining(second, j, destination, k);
+    }
+
+    private static <T> int mergeSmallSecond(T[] first, T[] second, Comparator<? super T> comparator, T[] destination) {
+        int i = 0;
+        int k = 0;
+
+        for (T value : second) {
+            int next = gallopUpperBound(first, i, value, comparator);
+
+            k = copyRange(first, i, next, destination, k);
+            destination[k++] = value;
+            i = next;
+        }
+        return copyRemaining(first, i, destination, k);
+    }
+
+    private static <T> int unionSmallFirst(T[] first, T[] second, Comparator<? super T> comparator, T[] destination) {
+        int j = 0;
+        int k = 0;
+
+        for (T value : first) {
+            int next = gallopLowerBound(second, j, value, comparator);
+
+            k = copyRange(second, j, next, destination, k);
+            destination[k++] = value;
+            j = next < second.length && comparator.compare(second[next], value) == 0 ? next + 1 : next;
+        }
+        return copyRemaining(second, j, destination, k);
+    }
+
+    private static <T> int unionSmallSecond(T[] first, T[] second, Comparator<? super T> comparator, T[] destination) {
+        int i = 0;
+        int k = 0;
+
+        for (T value : second) {
+            int next = gallopLowerBound(first, i, value, comparator);
+
+            k = copyRange(first, i, next, destination, k);
+            i = next;
+            destination[k++] = i < first.length && comparator.compare(first[i], value) == 0 ? first[i++] : value;
+        }
+        return copyRemaining(first, i, destination, k);
+    }
+
+    private static <T> int intersectionSmallFirst(T[] first, T[] second, Comparator<? super T> comparator,
+            T[] destination) {
+        int j = 0;
+        int k = 0;
+
+        for (T value : first) {
+            j = gallopLowerBound(second, j, value, comparator);
+
+            if (j == second.length) {
+                break;
+            }
+            if (comparator.compare(second[j], value) == 0) {
+                destination[k++] = value;
+                j++;
+            }
+        }
+        return k;
+    }
+
+    private static <T> int intersectionSmallSecond(T[] first, T[] second, Comparator<? super T> comparator,
+            T[] destination) {
+        int i = 0;
+        int k = 0;
+
+        for (T value : second) {
+            i = gallopLowerBound(first, i, value, comparator);
+
+            if (i == first.length) {
+                break;
+            }
+            if (comparator.compare(first[i], value) == 0) {
+                destination[k++] = first[i++];
+            }
+        }
+        return k;
+    }
+
+    private static <T> int differenceSmallFirst(T[] first, T[] second, Comparator<? super T> comparator,
+            T[] destination) {
+        int j = 0;
+        int k = 0;
+
+        for (T value : first) {
+            j = gallopLowerBound(second, j, value, comparator);
+
+            if (j < second.length && comparator.compare(second[j], value) == 0) {
+                j++;
+            } else {
+                destination[k++] = value;
+            }
+        }
+        return k;
+    }
+
+    private static <T> int differenceSmallSecond(T[] first, T[] second, Comparator<? super T> comparator,
+            T[] destination) {
+        int i = 0;
+        int k = 0;
+
+        for (T value : second) {
+            int next = gallopLowerBound(first, i, value, comparator);
+
+            k = copyRange(first, i, next, destination, k);
+            i = next < first.length && comparator.compare(first[next], value) == 0 ? next + 1 : next;
+        }
+        return copyRemaining(first, i, destination, k);
+    }
+
+    private static <T> int gallopLowerBound(T[] array, int from, T value, Comparator<? super T> comparator) {
+        if (from == array.length || comparator.compare(array[from], value) >= 0) {
+            return from;
+        }
+
+        int last = from;
+        int step = 1;
+
+        while (step < array.length - last && comparator.compare(array[last + step], value) < 0) {
+            last += step;
+            step <<= 1;
+        }
+        int to = step < array.length - last ? last + step : array.length;
+
+        return ArraysUtils.lowerBound(array, last + 1, to, value, comparator);
+    }
+
+    private static <T> int gallopUpperBound(T[] array, int from, T value, Comparator<? super T> comparator) {
+        if (from == array.length || comparator.compare(array[from], value) > 0) {
+            return from;
+        }
+
+        int last = from;
+        int step = 1;
+
+        while (step < array.length - last && comparator.compare(array[last + step], value) <= 0) {
+            last += step;
+            step <<= 1;
+        }
+        int to = step < array.length - last ? last + step : array.length;
+
+        return ArraysUtils.upperBound(array, last + 1, to, value, comparator);
+    }
+
+    private static <T> void siftDown(int[] heap, int node, int size, T[][] arrays, int[] positions,
+            Comparator<? super T> comparator) {
+        int source = heap[node];
+
+        while (true) {
+            int child = 2 * node + 1;
+
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && headBefore(heap[child + 1], heap[child], arrays, positions, comparator)) {
+                child++;
+            }
+            if (!headBefore(heap[child], source, arrays, positions, comparator)) {
+                break;
+            }
+            heap[node] = heap[child];
+            node = child;
+        }
+        heap[node] = source;
+    }
+
+    private static <T> boolean headBefore(int a, int b, T[][] arrays, int[] positions,
+            Comparator<? super T> comparator) {
+        int c = comparator.compare(arrays[a][positions[a]], arrays[b][positions[b]]);
+
+        return c < 0 || c == 0 && a < b;
+    }
+
+    private static <T> int copyRange(T[] source, int from, int to, T[] destination, int k) {
+        System.arraycopy(source, from, destination, k, to - from);
+        return k + to - from;
+    }
+
+    private static <T> int copyRemaining(T[] source, int from, T[] destination, int k) {
+        return copyRange(source, from, source.length, destination, k);
+    }
+
+    // ---------------------------------------------------------------------------
+    //
+    // Common
+    //
+    // ---------------------------------------------------------------------------
+
+    private static boolean isUnbalanced(int firstLength, int secondLength) {
+        return (long) Math.min(firstLength, secondLength) * GALLOP_RATIO < Math.max(firstLength, secondLength);
+    }
+
+    private static void checkDestinationLength(int destinationLength, long required) {
+        if (destinationLength < required) {
+            throw new IllegalArgumentException(
+                    "Destination length " + destinationLength + " is less than required " + required);
+        }
+    }
+}
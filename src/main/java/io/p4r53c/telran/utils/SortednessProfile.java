@@ -0,0 +1,190 @@
+package io.p4r53c.telran.utils;
+
+/**
+ * How far an {@code int[]} is from ascending order, measured in one scan.
+ *
+ * A descent is an index {@code i} with {@code array[i] > array[i + 1]}; the
+ * descents split the array into maximal non-decreasing runs. The numbers are
+ * meant for choosing a sort strategy without rescanning the data: no descent
+ * means nothing to do, a few long runs favour merging, one or two descents may
+ * be fixed by a single swap, and the inversion bound says how much work an
+ * insertion-based sort could face.
+ *
+ * @author p4r53c
+ * @see ArraysUtils#sortednessProfile(int[])
+ */
+public final class SortednessProfile {
+
+    private final int length;
+    private final int descents;
+    private final int runs;
+    private final int longestRun;
+    private final long inversionUpperBound;
+    private final int firstDescent;
+    private final int lastDescent;
+    private final boolean oneSwapSortable;
+
+    private SortednessProfile(int length, int descents, int runs, int longestRun, long inversionUpperBound,
+            int firstDescent, int lastDescent, boolean oneSwapSortable) {
+        this.length = length;
+        this.descents = descents;
+        this.runs = runs;
+        this.longestRun = longestRun;
+        this.inversionUpperBound = inversionUpperBound;
+        this.firstDescent = firstDescent;
+        this.lastDescent = lastDescent;
+        this.oneSwapSortable = oneSwapSortable;
+    }
+
+    static SortednessProfile of(int[] array) {
+        int n = array.length;
+        int descents = 0;
+        int firstDescent = -1;
+        int lastDescent = -1;
+        int runStart = 0;
+        int longestRun = 0;
+        long sumOfSquaredRuns = 0;
+
+        for (int i = 1; i < n; i++) {
+            if (array[i - 1] > array[i]) {
+                if (firstDescent < 0) {
+                    firstDescent = i - 1;
+                }
+                lastDescent = i - 1;
+                descents++;
+
+                longestRun = Math.max(longestRun, i - runStart);
+                sumOfSquaredRuns += (long) (i - runStart) * (i - runStart);
+                runStart = i;
+            }
+        }
+        longestRun = Math.max(longestRun, n - runStart);
+        sumOfSquaredRuns += (long) (n - runStart) * (n - runStart);
+
+        // Only pairs taken from different runs can be inverted
+        long inversionUpperBound = ((long) n * n - sumOfSquaredRuns) / 2;
+        boolean oneSwapSortable = (descents == 1 || descents == 2)
+                && ArraysUtils.isSortedAfterSwap(array, firstDescent, lastDescent + 1);
+
+        return new SortednessProfile(n, descents, n == 0 ? 0 : descents + 1, longestRun, inversionUpperBound,
+                firstDescent, lastDescent, oneSwapSortable);
+    }
+
+    /**
+     * Returns the length of the profiled array.
+     *
+     * @return the number of elements
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Returns the number of indices {@code i} with
+     * {@code array[i] > array[i + 1]}. It is also a lower bound of the number
+     * of inversions.
+     *
+     * @return the number of descents
+     */
+    public int getDescents() {
+        return descents;
+    }
+
+    /**
+     * Returns the number of maximal non-decreasing runs.
+     *
+     * @return the number of runs, 0 for an empty array
+     */
+    public int getRuns() {
+        return runs;
+    }
+
+    /**
+     * Returns the length of the longest non-decreasing run.
+     *
+     * @return the longest run length, 0 for an empty array
+     */
+    public int getLongestRun() {
+        return longestRun;
+    }
+
+    /**
+     * Returns an upper bound of the number of inversions, pairs
+     * {@code i < j} with {@code array[i] > array[j]}. Elements of the same run
+     * are never inverted, so the bound is the number of pairs taken from
+     * different runs.
+     *
+     * @return the inversion upper bound
+     */
+    public long getInversionUpperBound() {
+        return inversionUpperBound;
+    }
+
+    /**
+     * Returns the first descent.
+     *
+     * @return the first index {@code i} with {@code array[i] > array[i + 1]},
+     *         or -1 if the array is sorted
+     */
+    public int getFirstDescent() {
+        return firstDescent;
+    }
+
+    /**
+     * Returns the last descent.
+     *
+     * @return the last index {@code i} with {@code array[i] > array[i + 1]},
+     *         or -1 if the array is sorted
+     */
+    public int getLastDescent() {
+        return lastDescent;
+    }
+
+    /**
+     * Returns the index of the first element to swap: the first descent.
+     *
+     * @return the first swap position, or -1 if the array is sorted
+     * @see #isOneSwapSortable()
+     */
+    public int getFirstSwapIndex() {
+        return firstDescent;
+    }
+
+    /**
+     * Returns the index of the second element to swap: the element right
+     * after the last descent.
+     *
+     * @return the second swap position, or -1 if the array is sorted
+     * @see #isOneSwapSortable()
+     */
+    public int getSecondSwapIndex() {
+        return lastDescent < 0 ? -1 : lastDescent + 1;
+    }
+
+    /**
+     * Checks if the array is sorted in ascending order.
+     *
+     * @return true if there are no descents
+     */
+    public boolean isSorted() {
+        return descents == 0;
+    }
+
+    /**
+     * Checks if the array is unsorted and swapping the elements at
+     * {@link #getFirstSwapIndex()} and {@link #getSecondSwapIndex()} sorts it.
+     *
+     * @return true if exactly one swap sorts the array
+     */
+    public boolean isOneSwapSortable() {
+        return oneSwapSortable;
+    }
+
+    @Override
+    public String toString() {
+        return "SortednessProfile[length=" + length + ", descents=" + descents + ", runs=" + runs
+                + ", longestRun=" + longestRun + ", inversionUpperBound=" + inversionUpperBound
+                + ", firstDescent=" + firstDescent + ", lastDescent=" + lastDescent
+                + ", oneSwapSortable=" + oneSwapSortable + "]";
+    }
+}
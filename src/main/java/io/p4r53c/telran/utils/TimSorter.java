@@ -0,0 +1,601 @@
+package io.p4r53c.telran.utils;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinWorkerThread;
+
+/**
+ * Stable, run-based merge sort for object arrays (TimSort).
+ *
+ * Natural ascending and strictly descending runs are found first, short runs
+ * are extended with binary insertion sort, and runs are merged with galloping
+ * once one side keeps winning. On random input it performs O(n log n)
+ * comparisons, on presorted input close to n.
+ *
+ * The merge buffer is cleared after every merge, so it never keeps sorted
+ * elements reachable. Small buffers are borrowed from a per-thread cache and
+ * handed back after the sort, so repeated sorts on the same thread do not
+ * allocate them again. {@code ForkJoinPool} workers, which for the common pool
+ * live as long as the JVM, do not cache at all. Nested sorts (a comparator
+ * that sorts) simply get a buffer of their own.
+ *
+ * @author p4r53c
+ * @param <T> the type of the elements
+ */
+final class TimSorter<T> {
+
+    /** Arrays shorter than this are binary insertion sorted without merging. */
+    static final int MIN_MERGE = 32;
+
+    private static final int MIN_GALLOP = 7;
+    private static final int INITIAL_BUFFER_SIZE = 256;
+
+    /** Larger buffers are dropped after the sort instead of being cached. */
+    private static final int MAX_CACHED_BUFFER_SIZE = 1 << 14;
+
+    /** Enough for any int-sized array, see the run length invariants. */
+    private static final int MAX_RUNS = 49;
+
+    private static final ThreadLocal<Object[]> BUFFER_CACHE = new ThreadLocal<>();
+
+    private final T[] array;
+    private final Comparator<? super T> comparator;
+
+    private int minGallop = MIN_GALLOP;
+
+    private T[] buffer;
+
+    private final int[] runBase = new int[MAX_RUNS];
+    private final int[] runLength = new int[MAX_RUNS];
+    private int stackSize;
+
+    private TimSorter(T[] array, Comparator<? super T> comparator) {
+        this.array = array;
+        this.comparator = comparator;
+    }
+
+    /**
+     * Sorts the given range of the array. Equal elements keep their relative
+     * order.
+     *
+     * @param array      the array to be sorted
+     * @param from       the index of the first element, inclusive
+     * @param to         the index of the last element, exclusive
+     * @param comparator the comparator to determine the order of the elements
+     * @throws IllegalArgumentException if the comparator is found to violate
+     *                                  its contract
+     */
+    static <T> void sort(T[] array, int from, int to, Comparator<? super T> comparator) {
+        int remaining = to - from;
+
+        if (remaining < 2) {
+            return;
+        }
+        if (remaining < MIN_MERGE) {
+            int initialRun = countRunAndMakeAscending(array, from, to, comparator);
+            binaryInsertionSort(array, from, to, from + initialRun, comparator);
+            return;
+        }
+
+        TimSorter<T> sorter = new TimSorter<>(array, comparator);
+        int minRun = minRunLength(remaining);
+        int low = from;
+
+        try {
+            do {
+                int run = countRunAndMakeAscending(array, low, to, comparator);
+
+                if (run < minRun) {
+                    int forced = Math.min(remaining, minRun);
+                    binaryInsertionSort(array, low, low + forced, low + run, comparator);
+                    run = forced;
+                }
+                sorter.pushRun(low, run);
+                sorter.mergeCollapse();
+
+                low += run;
+                remaining -= run;
+            } while (remaining != 0);
+
+            sorter.mergeForceCollapse();
+        } finally {
+            sorter.releaseBuffer();
+        }
+    }
+
+    /**
+     * Returns the length of the run starting at {@code from}, reversing it first
+     * if it is strictly descending. Strictness keeps the sort stable.
+     */
+    static <T> int countRunAndMakeAscending(T[] array, int from, int to, Comparator<? super T> comparator) {
+        int runHigh = from + 1;
+
+        if (runHigh == to) {
+            return 1;
+        }
+        if (comparator.compare(array[runHigh++], array[from]) < 0) {
+            while (runHigh < to && comparator.compare(array[runHigh], array[runHigh - 1]) < 0) {
+                runHigh++;
+            }
+            reverse(array, from, runHigh - 1);
+        } else {
+            while (runHigh < to && comparator.compare(array[runHigh], array[runHigh - 1]) >= 0) {
+                runHigh++;
+            }
+        }
+        return runHigh - from;
+    }
+
+    /**
+     * Sorts {@code [from, to)} with binary insertion sort, given that
+     * {@code [from, start)} is already sorted.
+     */
+    static <T> void binaryInsertionSort(T[] array, int from, int to, int start, Comparator<? super T> comparator) {
+        if (start == from) {
+            start++;
+        }
+        for (; start < to; start++) {
+            T pivot = array[start];
+            int left = from;
+            int right = start;
+
+            while (left < right) {
+                int mid = (left + right) >>> 1;
+
+                if (comparator.compare(pivot, array[mid]) < 0) {
+                    right = mid;
+                } else {
+                    left = mid + 1;
+                }
+            }
+            System.arraycopy(array, left, array, left + 1, start - left);
+            array[left] = pivot;
+        }
+    }
+
+    /**
+     * Computes the minimum run length: {@code length} itself below
+     * {@link #MIN_MERGE}, otherwise a value in {@code [MIN_MERGE / 2, MIN_MERGE]}
+     * such that {@code length / minRun} is close to a power of two.
+     */
+    static int minRunLength(int length) {
+        int remainder = 0;
+
+        while (length >= MIN_MERGE) {
+            remainder |= length & 1;
+            length >>= 1;
+        }
+        return length + remainder;
+    }
+
+    private void pushRun(int base, int length) {
+        runBase[stackSize] = base;
+        runLength[stackSize] = length;
+        stackSize++;
+    }
+
+    /**
+     * Merges runs until the stack invariants hold again:
+     * {@code runLength[i - 2] > runLength[i - 1] + runLength[i]} and
+     * {@code runLength[i - 1] > runLength[i]}.
+     */
+    private void mergeCollapse() {
+        while (stackSize > 1) {
+            int n = stackSize - 2;
+
+            if (n > 0 && runLength[n - 1] <= runLength[n] + runLength[n + 1]
+                    || n > 1 && runLength[n - 2] <= runLength[n] + runLength[n - 1]) {
+                if (runLength[n - 1] < runLength[n + 1]) {
+                    n--;
+                }
+            } else if (runLength[n] > runLength[n + 1]) {
+                break;
+            }
+            mergeAt(n);
+        }
+    }
+
+    private void mergeForceCollapse() {
+        while (stackSize > 1) {
+            int n = stackSize - 2;
+
+            if (n > 0 && runLength[n - 1] < runLength[n + 1]) {
+                n--;
+            }
+            mergeAt(n);
+        }
+    }
+
+    /**
+     * Merges the runs at stack indices {@code i} and {@code i + 1}.
+     */
+    private void mergeAt(int i) {
+        int base1 = runBase[i];
+        int length1 = runLength[i];
+        int base2 = runBase[i + 1];
+        int length2 = runLength[i + 1];
+
+        runLength[i] = length1 + length2;
+        if (i == stackSize - 3) {
+            runBase[i + 1] = runBase[i + 2];
+            runLength[i + 1] = runLength[i + 2];
+        }
+        stackSize--;
+
+        // Elements of run1 not greater than run2's first are already in place
+        int skipped = gallopRight(array[base2], array, base1, length1, 0, comparator);
+        base1 += skipped;
+        length1 -= skipped;
+        if (length1 == 0) {
+            return;
+        }
+
+        // Elements of run2 not less than run1's last are already in place
+        length2 = gallopLeft(array[base1 + length1 - 1], array, base2, length2, length2 - 1, comparator);
+        if (length2 == 0) {
+            return;
+        }
+
+        try {
+            if (length1 <= length2) {
+                mergeLow(base1, length1, base2, length2);
+            } else {
+                mergeHigh(base1, length1, base2, length2);
+            }
+        } finally {
+            if (buffer != null) {
+                Arrays.fill(buffer, 0, Math.min(length1, length2), null);
+            }
+        }
+    }
+
+    /**
+     * Locates the leftmost position to insert {@code key} into the sorted range
+     * {@code [base, base + length)}, starting the exponential search at
+     * {@code hint}.
+     *
+     * @return {@code k} such that {@code range[k - 1] < key <= range[k]}
+     */
+    static <T> int gallopLeft(T key, T[] range, int base, int length, int hint, Comparator<? super T> comparator) {
+        int lastOffset = 0;
+        int offset = 1;
+
+        if (comparator.compare(key, range[base + hint]) > 0) {
+            int maxOffset = length - hint;
+
+            while (offset < maxOffset && comparator.compare(key, range[base + hint + offset]) > 0) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) {
+                    offset = maxOffset;
+                }
+            }
+            offset = Math.min(offset, maxOffset);
+            lastOffset += hint;
+            offset += hint;
+        } else {
+            int maxOffset = hint + 1;
+
+            while (offset < maxOffset && comparator.compare(key, range[base + hint - offset]) <= 0) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) {
+                    offset = maxOffset;
+                }
+            }
+            offset = Math.min(offset, maxOffset);
+
+            int temp = lastOffset;
+            lastOffset = hint - offset;
+            offset = hint - temp;
+        }
+
+        lastOffset++;
+        while (lastOffset < offset) {
+            int mid = lastOffset + ((offset - lastOffset) >>> 1);
+
+            if (comparator.compare(key, range[base + mid]) > 0) {
+                lastOffset = mid + 1;
+            } else {
+                offset = mid;
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * Like {@link #gallopLeft}, but returns the rightmost position when the range
+     * contains elements equal to {@code key}.
+     *
+     * @return {@code k} such that {@code range[k - 1] <= key < range[k]}
+     */
+    static <T> int gallopRight(T key, T[] range, int base, int length, int hint, Comparator<? super T> comparator) {
+        int lastOffset = 0;
+        int offset = 1;
+
+        if (comparator.compare(key, range[base + hint]) < 0) {
+            int maxOffset = hint + 1;
+
+            while (offset < maxOffset && comparator.compare(key, range[base + hint - offset]) < 0) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) {
+                    offset = maxOffset;
+                }
+            }
+            offset = Math.min(offset, maxOffset);
+
+            int temp = lastOffset;
+            lastOffset = hint - offset;
+            offset = hint - temp;
+        } else {
+            int maxOffset = length - hint;
+
+            while (offset < maxOffset && comparator.compare(key, range[base + hint + offset]) >= 0) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) {
+                    offset = maxOffset;
+                }
+            }
+            offset = Math.min(offset, maxOffset);
+            lastOffset += hint;
+            offset += hint;
+        }
+
+        lastOffset++;
+        while (lastOffset < offset) {
+            int mid = lastOffset + ((offset - lastOffset) >>> 1);
+
+            if (comparator.compare(key, range[base + mid]) < 0) {
+                offset = mid;
+            } else {
+                lastOffset = mid + 1;
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * Merges two adjacent runs left to right, buffering the first (shorter) one.
+     */
+    private void mergeLow(int base1, int length1, int base2, int length2) {
+        T[] a = array;
+        T[] temp = buffer(length1);
+        int cursor1 = 0;
+        int cursor2 = base2;
+        int dest = base1;
+
+        System.arraycopy(a, base1, temp, cursor1, length1);
+
+        a[dest++] = a[cursor2++];
+        if (--length2 == 0) {
+            System.arraycopy(temp, cursor1, a, dest, length1);
+            return;
+        }
+        if (length1 == 1) {
+            System.arraycopy(a, cursor2, a, dest, length2);
+            a[dest + length2] = temp[cursor1];
+            return;
+        }
+
+        Comparator<? super T> c = comparator;
+        int gallop = minGallop;
+
+        outer:
+        while (true) {
+            int count1 = 0;
+            int count2 = 0;
+
+            // One element at a time until one run starts winning consistently
+            do {
+                if (c.compare(a[cursor2], temp[cursor1]) < 0) {
+                    a[dest++] = a[cursor2++];
+                    count2++;
+                    count1 = 0;
+                    if (--length2 == 0) {
+                        break outer;
+                    }
+                } else {
+                    a[dest++] = temp[cursor1++];
+                    count1++;
+                    count2 = 0;
+                    if (--length1 == 1) {
+                        break outer;
+                    }
+                }
+            } while ((count1 | count2) < gallop);
+
+            // Galloping mode: copy whole stretches found by exponential search
+            do {
+                count1 = gallopRight(a[cursor2], temp, cursor1, length1, 0, c);
+                if (count1 != 0) {
+                    System.arraycopy(temp, cursor1, a, dest, count1);
+                    dest += count1;
+                    cursor1 += count1;
+                    length1 -= count1;
+                    if (length1 <= 1) {
+                        break outer;
+                    }
+                }
+                a[dest++] = a[cursor2++];
+                if (--length2 == 0) {
+                    break outer;
+                }
+
+                count2 = gallopLeft(temp[cursor1], a, cursor2, length2, 0, c);
+                if (count2 != 0) {
+                    System.arraycopy(a, cursor2, a, dest, count2);
+                    dest += count2;
+                    cursor2 += count2;
+                    length2 -= count2;
+                    if (length2 == 0) {
+                        break outer;
+                    }
+                }
+                a[dest++] = temp[cursor1++];
+                if (--length1 == 1) {
+                    break outer;
+                }
+                gallop--;
+            } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+
+            gallop = Math.max(gallop, 0) + 2;
+        }
+        minGallop = Math.max(gallop, 1);
+
+        if (length1 == 1) {
+            System.arraycopy(a, cursor2, a, dest, length2);
+            a[dest + length2] = temp[cursor1];
+        } else if (length1 == 0) {
+            throw new IllegalArgumentException("Comparison method violates its general contract");
+        } else {
+            System.arraycopy(temp, cursor1, a, dest, length1);
+        }
+    }
+
+    /**
+     * Merges two adjacent runs right to left, buffering the second (shorter)
+     * one.
+     */
+    private void mergeHigh(int base1, int length1, int base2, int length2) {
+        T[] a = array;
+        T[] temp = buffer(length2);
+        int cursor1 = base1 + length1 - 1;
+        int cursor2 = length2 - 1;
+        int dest = base2 + length2 - 1;
+
+        System.arraycopy(a, base2, temp, 0, length2);
+
+        a[dest--] = a[cursor1--];
+        if (--length1 == 0) {
+            System.arraycopy(temp, 0, a, dest - (length2 - 1), length2);
+            return;
+        }
+        if (length2 == 1) {
+            dest -= length1;
+            cursor1 -= length1;
+            System.arraycopy(a, cursor1 + 1, a, dest + 1, length1);
+            a[dest] = temp[cursor2];
+            return;
+        }
+
+        Comparator<? super T> c = comparator;
+        int gallop = minGallop;
+
+        outer:
+        while (true) {
+            int count1 = 0;
+            int count2 = 0;
+
+            do {
+                if (c.compare(temp[cursor2], a[cursor1]) < 0) {
+                    a[dest--] = a[cursor1--];
+                    count1++;
+                    count2 = 0;
+                    if (--length1 == 0) {
+                        break outer;
+                    }
+                } else {
+                    a[dest--] = temp[cursor2--];
+                    count2++;
+                    count1 = 0;
+                    if (--length2 == 1) {
+                        break outer;
+                    }
+                }
+            } while ((count1 | count2) < gallop);
+
+            do {
+                count1 = length1 - gallopRight(temp[cursor2], a, base1, length1, length1 - 1, c);
+                if (count1 != 0) {
+                    dest -= count1;
+                    cursor1 -= count1;
+                    length1 -= count1;
+                    System.arraycopy(a, cursor1 + 1, a, dest + 1, count1);
+                    if (length1 == 0) {
+                        break outer;
+                    }
+                }
+                a[dest--] = temp[cursor2--];
+                if (--length2 == 1) {
+                    break outer;
+                }
+
+                count2 = length2 - gallopLeft(a[cursor1], temp, 0, length2, length2 - 1, c);
+                if (count2 != 0) {
+                    dest -= count2;
+                    cursor2 -= count2;
+                    length2 -= count2;
+                    System.arraycopy(temp, cursor2 + 1, a, dest + 1, count2);
+                    if (length2 <= 1) {
+                        break outer;
+                    }
+                }
+                a[dest--] = a[cursor1--];
+                if (--length1 == 0) {
+                    break outer;
+                }
+                gallop--;
+            } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+
+            gallop = Math.max(gallop, 0) + 2;
+        }
+        minGallop = Math.max(gallop, 1);
+
+        if (length2 == 1) {
+            dest -= length1;
+            cursor1 -= length1;
+            System.arraycopy(a, cursor1 + 1, a, dest + 1, length1);
+            a[dest] = temp[cursor2];
+        } else if (length2 == 0) {
+            throw new IllegalArgumentException("Comparison method violates its general contract");
+        } else {
+            System.arraycopy(temp, 0, a, dest - (length2 - 1), length2);
+        }
+    }
+
+    /**
+     * Returns a merge buffer of at least the given size, taking it from the
+     * per-thread cache on first use.
+     */
+    @SuppressWarnings("unchecked")
+    private T[] buffer(int minSize) {
+        if (buffer == null) {
+            Object[] cached = BUFFER_CACHE.get();
+
+            BUFFER_CACHE.remove();
+            buffer = (T[]) (cached != null ? cached : new Object[INITIAL_BUFFER_SIZE]);
+        }
+        if (buffer.length < minSize) {
+            int size = Integer.highestOneBit(minSize) << 1;
+
+            buffer = (T[]) new Object[size > 0 ? Math.min(size, array.length >>> 1) : minSize];
+            if (buffer.length < minSize) {
+                buffer = (T[]) new Object[minSize];
+            }
+        }
+        return buffer;
+    }
+
+    /**
+     * Returns the buffer, already cleared by {@link #mergeAt(int)}, to the
+     * cache unless it is too large or the thread belongs to a pool.
+     */
+    private void releaseBuffer() {
+        if (buffer != null) {
+            if (buffer.length <= MAX_CACHED_BUFFER_SIZE && !(Thread.currentThread() instanceof ForkJoinWorkerThread)) {
+                BUFFER_CACHE.set(buffer);
+            }
+            buffer = null;
+        }
+    }
+
+    private static void reverse(Object[] array, int low, int high) {
+        while (low < high) {
+            Object temp = array[low];
+            array[low++] = array[high];
+            array[high--] = temp;
+        }
+    }
+}
@@ -0,0 +1,573 @@
+package io.p4r53c.telran.utils.transformer;
+
+import io.p4r53c.telran.utils.ArraysUtils;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * A batch of cat records stored column by column (struct of arrays).
+ *
+ * Weights are an {@code int[]}, kinds are dictionary encoded as {@code int}
+ * ids into a small table of distinct kinds, and equal names share one
+ * {@code String} instance within the batch. Millions of rows therefore cost
+ * two ints and a reference each, instead of an object with three fields, and
+ * scans over a column read contiguous memory: {@link #scaleWeights(int)} is a
+ * plain loop over an {@code int[]} that the JIT vectorizes, and filtering by
+ * kind compares ids instead of strings.
+ *
+ * Rows are read and written through {@link Row} views or converted to and
+ * from {@link Cat} and {@link BigCat}. The static adapters wrap column
+ * operations as {@code CatTransformer<CatColumns, CatColumns>}, so they can be
+ * stages of a {@link CatPipeline}; they modify the batch they are given and
+ * return it.
+ *
+ * @author p4r53c
+ */
+public final class CatColumns {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] weights;
+    private int[] kindIds;
+    private String[] names;
+    private int size;
+
+    private final List<String> kinds = new ArrayList<>();
+    private final Map<String, Integer> kindIndex = new HashMap<>();
+    private final Map<String, String> namePool = new HashMap<>();
+
+    public CatColumns() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty batch with room for the given number of rows.
+     *
+     * @param initialCapacity the initial capacity
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    public CatColumns(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        weights = new int[initialCapacity];
+        kindIds = new int[initialCapacity];
+        names = new String[initialCapacity];
+    }
+
+    /**
+     * Creates a batch holding the given cats.
+     *
+     * @param cats the cats
+     * @return the batch
+     */
+    public static CatColumns fromCats(List<? extends Cat> cats) {
+        CatColumns columns = new CatColumns(cats.size());
+
+        for (Cat cat : cats) {
+            columns.add(cat);
+        }
+        return columns;
+    }
+
+    /**
+     * Creates a batch holding the given big cats.
+     *
+     * @param bigCats the big cats
+     * @return the batch
+     */
+    public static CatColumns fromBigCats(List<? extends BigCat> bigCats) {
+        CatColumns columns = new CatColumns(bigCats.size());
+
+        for (BigCat bigCat : bigCats) {
+            columns.add(bigCat);
+        }
+        return columns;
+    }
+
+    // ---------------------------------------------------------------------------
+    //
+    // Rows
+    //
+    // ---------------------------------------------------------------------------
+
+    /**
+     * Appends a row.
+     *
+     * @param weight the weight
+     * @param name   the name
+     * @param kind   the kind
+     * @return the index of the new row
+     * @throws NullPointerException if the name or the kind is null
+     */
+    public int add(int weight, String name, String kind) {
+        if (size == weights.length) {
+            grow();
+        }
+        weights[size] = weight;
+        names[size] = namePool.computeIfAbsent(Objects.requireNonNull(name), n -> n);
+        kindIds[size] = kindIdOrAdd(Objects.requireNonNull(kind));
+        return size++;
+    }
+
+    /**
+     * Appends a row with the fields of a cat.
+     *
+     * @param cat the cat
+     * @return the index of the new row
+     */
+    public int add(Cat cat) {
+        return add(cat.getWeight(), cat.getName(), cat.getKind());
+    }
+
+    /**
+     * Appends a row with the fields of a big cat.
+     *
+     * @param bigCat the big cat
+     * @return the index of the new row
+     */
+    public int add(BigCat bigCat) {
+        return add(bigCat.getWeight(), bigCat.getName(), bigCat.getKind());
+    }
+
+    /**
+     * Returns the number of rows.
+     *
+     * @return the number of rows
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a view of the row at the given index. The view reads and writes
+     * the columns directly.
+     *
+     * @param index the index of the row
+     * @return the row view
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public Row row(int index) {
+        Objects.checkIndex(index, size);
+        return new Row(index);
+    }
+
+    /**
+     * Returns a list of row views over the batch. The list follows rows added
+     * later on.
+     *
+     * @return the rows
+     */
+    public List<Row> rows() {
+        return new Rows();
+    }
+
+    /**
+     * Returns the rows as new {@link Cat} objects.
+     *
+     * @return the cats, in row order
+     */
+    public List<Cat> toCats() {
+        List<Cat> cats = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            cats.add(new Cat(weights[i], names[i], kinds.get(kindIds[i])));
+        }
+        return cats;
+    }
+
+    /**
+     * Returns the rows as new {@link BigCat} objects.
+     *
+     * @return the big cats, in row order
+     */
+    public List<BigCat> toBigCats() {
+        List<BigCat> bigCats = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            bigCats.add(new BigCat(weights[i], names[i], kinds.get(kindIds[i])));
+        }
+        return bigCats;
+    }
+
+    // ---------------------------------------------------------------------------
+    //
+    // Columns
+    //
+    // ---------------------------------------------------------------------------
+
+    /**
+     * Returns the weight column without copying it. Only the first
+     * {@link #size()} elements are meaningful, and the array is replaced as soon
+     * as the batch grows.
+     *
+     * @return the weight column
+     */
+    public int[] weights() {
+        return weights;
+    }
+
+    /**
+     * Returns the kind id column without copying it, see {@link #weights()}.
+     * Ids are renumbered when {@link #renameKind(String, String)} merges two
+     * kinds.
+     *
+     * @return the kind id column
+     * @see #kind(int)
+     */
+    public int[] kindIds() {
+        return kindIds;
+    }
+
+    /**
+     * Returns the number of distinct kinds.
+     *
+     * @return the number of distinct kinds
+     */
+    public int kindCount() {
+        return kinds.size();
+    }
+
+    /**
+     * Returns the kind with the given id.
+     *
+     * @param kindId the id of the kind
+     * @return the kind
+     * @throws IndexOutOfBoundsException if there is no such id
+     */
+    public String kind(int kindId) {
+        return kinds.get(kindId);
+    }
+
+    /**
+     * Returns the id of the given kind.
+     *
+     * @param kind the kind
+     * @return the id of the kind, or -1 if no row has this kind
+     */
+    public int kindId(String kind) {
+        Integer id = kindIndex.get(kind);
+
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Multiplies every weight by the given factor in one pass over the weight
+     * column.
+     *
+     * @param factor the factor
+     */
+    public void scaleWeights(int factor) {
+        int[] column = weights;
+
+        for (int i = 0; i < size; i++) {
+            column[i] *= factor;
+        }
+    }
+
+    /**
+     * Replaces every weight with the result of the operator.
+     *
+     * @param operator the operator applied to each weight
+     */
+    public void mapWeights(IntUnaryOperator operator) {
+        int[] column = weights;
+
+        for (int i = 0; i < size; i++) {
+            column[i] = operator.applyAsInt(column[i]);
+        }
+    }
+
+    /**
+     * Renames a kind. If the new kind is not in the batch yet, only the
+     * dictionary changes, whatever the number of rows. Otherwise the rows of
+     * both kinds are merged under the id of the new kind in one pass over the
+     * kind id column, the old kind is dropped from the dictionary and the ids
+     * above it move down by one.
+     *
+     * @param from the kind to be renamed
+     * @param to   the new kind
+     * @return true if some rows had the kind
+     */
+    public boolean renameKind(String from, String to) {
+        Integer id = kindIndex.get(from);
+
+        if (id == null || from.equals(to)) {
+            return id != null;
+        }
+
+        Integer existing = kindIndex.get(Objects.requireNonNull(to));
+
+        if (existing == null) {
+            kindIndex.remove(from);
+            kindIndex.put(to, id);
+            kinds.set(id, to);
+        } else {
+            int[] column = kindIds;
+            int source = id;
+            int target = existing > source ? existing - 1 : existing;
+
+            for (int i = 0; i < size; i++) {
+                int kindId = column[i];
+
+                column[i] = kindId == source ? target : kindId > source ? kindId - 1 : kindId;
+            }
+            kinds.remove(source);
+            kindIndex.remove(from);
+            for (int k = source; k < kinds.size(); k++) {
+                kindIndex.put(kinds.get(k), k);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Counts the rows of the given kind by comparing ids.
+     *
+     * @param kind the kind
+     * @return the number of rows of this kind
+     */
+    public int countKind(String kind) {
+        int id = kindId(kind);
+        int[] column = kindIds;
+        int count = 0;
+
+        if (id < 0) {
+            return 0;
+        }
+        for (int i = 0; i < size; i++) {
+            count += column[i] == id ? 1 : 0;
+        }
+        return count;
+    }
+
+    /**
+     * Returns a new batch with the rows of the given kind, in row order.
+     *
+     * @param kind the kind
+     * @return the rows of this kind
+     */
+    public CatColumns filterByKind(String kind) {
+        int id = kindId(kind);
+        CatColumns result = new CatColumns(id < 0 ? 0 : countKind(kind));
+
+        if (id >= 0) {
+            int resultId = result.kindIdOrAdd(kind);
+
+            for (int i = 0; i < size; i++) {
+                if (kindIds[i] == id) {
+                    result.appendRaw(weights[i], names[i], resultId);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Sorts the rows by weight, keeping rows of equal weight in their order.
+     *
+     * The weights are packed with their row indices into longs, sorted as
+     * primitives and every column is then gathered once in the new order.
+     */
+    public void sortByWeight() {
+        long[] keys = new long[size];
+
+        for (int i = 0; i < size; i++) {
+            keys[i] = (long) weights[i] << Integer.SIZE | i;
+        }
+        ArraysUtils.sort(keys);
+
+        int[] sortedWeights = new int[weights.length];
+        int[] sortedKindIds = new int[kindIds.length];
+        String[] sortedNames = new String[names.length];
+
+        for (int i = 0; i < size; i++) {
+            int row = (int) keys[i];
+
+            sortedWeights[i] = weights[row];
+            sortedKindIds[i] = kindIds[row];
+            sortedNames[i] = names[row];
+        }
+        weights = sortedWeights;
+        kindIds = sortedKindIds;
+        names = sortedNames;
+    }
+
+    // ---------------------------------------------------------------------------
+    //
+    // CatTransformer adapters
+    //
+    // ---------------------------------------------------------------------------
+
+    /**
+     * Returns a transformer that scales the weights of a batch, see
+     * {@link #scaleWeights(int)}.
+     *
+     * @param factor the factor
+     * @return the transformer, which modifies and returns its input
+     */
+    public static CatTransformer<CatColumns, CatColumns> scalingWeights(int factor) {
+        return columns -> {
+            columns.scaleWeights(factor);
+            return columns;
+        };
+    }
+
+    /**
+     * Returns a transformer that maps the weights of a batch, see
+     * {@link #mapWeights(IntUnaryOperator)}.
+     *
+     * @param operator the operator applied to each weight
+     * @return the transformer, which modifies and returns its input
+     */
+    public static CatTransformer<CatColumns, CatColumns> mappingWeights(IntUnaryOperator operator) {
+        return columns -> {
+            columns.mapWeights(operator);
+            return columns;
+        };
+    }
+
+    /**
+     * Returns a transformer that renames a kind in a batch, see
+     * {@link #renameKind(String, String)}.
+     *
+     * @param from the kind to be renamed
+     * @param to   the new kind
+     * @return the transformer, which modifies and returns its input
+     */
+    public static CatTransformer<CatColumns, CatColumns> renamingKind(String from, String to) {
+        return columns -> {
+            columns.renameKind(from, to);
+            return columns;
+        };
+    }
+
+    /**
+     * Adapts a row-wise transformer to batches: each row is turned into a
+     * {@link Cat}, transformed, and the resulting {@link BigCat} is appended to
+     * a new batch.
+     *
+     * @param transformer the row-wise transformer
+     * @return the batch transformer, which leaves its input unchanged
+     */
+    public static CatTransformer<CatColumns, CatColumns> rowWise(CatTransformer<Cat, BigCat> transformer) {
+        return columns -> {
+            CatColumns result = new CatColumns(columns.size);
+
+            for (int i = 0; i < columns.size; i++) {
+                result.add(transformer.transform(
+                        new Cat(columns.weights[i], columns.names[i], columns.kinds.get(columns.kindIds[i]))));
+            }
+            return result;
+        };
+    }
+
+    private int kindIdOrAdd(String kind) {
+        Integer id = kindIndex.get(kind);
+
+        if (id == null) {
+            id = kinds.size();
+            kinds.add(kind);
+            kindIndex.put(kind, id);
+        }
+        return id;
+    }
+
+    private void appendRaw(int weight, String name, int kindId) {
+        if (size == weights.length) {
+            grow();
+        }
+        weights[size] = weight;
+        names[size] = namePool.computeIfAbsent(name, n -> n);
+        kindIds[size] = kindId;
+        size++;
+    }
+
+    private void grow() {
+        int capacity = Math.max(DEFAULT_CAPACITY, weights.length + (weights.length >> 1));
+
+        weights = Arrays.copyOf(weights, capacity);
+        kindIds = Arrays.copyOf(kindIds, capacity);
+        names = Arrays.copyOf(names, capacity);
+    }
+
+    /**
+     * A view of one row of a {@link CatColumns} batch.
+     */
+    public final class Row {
+
+        private final int index;
+
+        private Row(int index) {
+            this.index = index;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public int getWeight() {
+            return weights[index];
+        }
+
+        public void setWeight(int weight) {
+            weights[index] = weight;
+        }
+
+        public String getName() {
+            return names[index];
+        }
+
+        public String getKind() {
+            return kinds.get(kindIds[index]);
+        }
+
+        public int getKindId() {
+            return kindIds[index];
+        }
+
+        /**
+         * Returns the row as a new {@link Cat}.
+         *
+         * @return the cat
+         */
+        public Cat toCat() {
+            return new Cat(getWeight(), getName(), getKind());
+        }
+
+        /**
+         * Returns the row as a new {@link BigCat}.
+         *
+         * @return the big cat
+         */
+        public BigCat toBigCat() {
+            return new BigCat(getWeight(), getName(), getKind());
+        }
+
+        @Override
+        public String toString() {
+            return "Row{weight=" + getWeight() + ", name='" + getName() + "', kind='" + getKind() + "'}";
+        }
+    }
+
+    private final class Rows extends AbstractList<Row> implements RandomAccess {
+
+        @Override
+        public Row get(int index) {
+            return row(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package io.p4r53c.telran.utils.transformer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A chain of {@link CatTransformer} stages fused into one transformer.
+ *
+ * The stages are kept in a flat array, and pipelines added as stages are
+ * spliced in rather than nested, so {@link #transform(Object)} is a single
+ * loop whatever the length of the chain. Only the pipeline itself logs in
+ * verbose mode, once per element with the original input and the final
+ * result; the stages are always called through
+ * {@link CatTransformer#transform(Object)}.
+ *
+ * The batch methods run the stages one after another over blocks of
+ * {@value #BATCH_SIZE} elements, so each stage is called in a tight loop on
+ * the same call site. Within a block, a stage sees every element before the
+ * next stage sees the first one.
+ *
+ * <pre>
+ * CatPipeline&lt;Cat, String&gt; pipeline = CatPipeline.from(catToBigCat)
+ *         .then(enrich)
+ *         .then(BigCat::getName)
+ *         .build();
+ * </pre>
+ *
+ * @author p4r53c
+ * @param <T> the type of the input object
+ * @param <R> the type of the result object after the last stage
+ */
+public final class CatPipeline<T, R> implements CatTransformer<T, R> {
+
+    /** Number of elements each stage is applied to in one go. */
+    static final int BATCH_SIZE = 256;
+
+    private final CatTransformer<Object, Object>[] stages;
+
+    private CatPipeline(CatTransformer<Object, Object>[] stages) {
+        this.stages = stages;
+    }
+
+    /**
+     * Starts a pipeline with the given first stage.
+     *
+     * @param <T>   the type of the input object
+     * @param <R>   the type of the result object of the first stage
+     * @param first the first stage
+     * @return a builder for the rest of the pipeline
+     */
+    public static <T, R> Builder<T, R> from(CatTransformer<T, R> first) {
+        return Builder.append(List.of(), first);
+    }
+
+    /**
+     * Returns the number of stages after flattening.
+     *
+     * @return the number of stages
+     */
+    public int stages() {
+        return stages.length;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public R transform(T t) {
+        Object value = t;
+
+        for (CatTransformer<Object, Object> stage : stages) {
+            value = stage.transform(value);
+        }
+        return (R) value;
+    }
+
+    /**
+     * Transforms a list of input objects block by block, running each stage in
+     * a tight loop over the block.
+     *
+     * @param list the list of input objects to be transformed
+     * @return the list of result objects, in the order of the input list
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<R> transformAll(List<T> list) {
+        int size = list.size();
+        List<R> result = new ArrayList<>(size);
+        Block block = new Block(Math.min(size, BATCH_SIZE));
+        Iterator<T> iterator = list.iterator();
+
+        for (int from = 0; from < size; from += BATCH_SIZE) {
+            int length = Math.min(BATCH_SIZE, size - from);
+
+            for (int i = 0; i < length; i++) {
+                block.values[i] = iterator.next();
+            }
+            block.run(length);
+
+            for (int i = 0; i < length; i++) {
+                result.add((R) block.values[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Transforms an array of input objects into the destination array, block by
+     * block like {@link #transformAll(List)}.
+     *
+     * @param source      the input objects to be transformed
+     * @param destination the array for the results, at least as long as the
+     *                    source
+     * @throws IllegalArgumentException if the destination is too short
+     */
+    @SuppressWarnings("unchecked")
+    public void transformAll(T[] source, R[] destination) {
+        if (destination.length < source.length) {
+            throw new IllegalArgumentException(
+                    "Destination length " + destination.length + " is less than required " + source.length);
+        }
+
+        Block block = new Block(Math.min(source.length, BATCH_SIZE));
+
+        for (int from = 0; from < source.length; from += BATCH_SIZE) {
+            int length = Math.min(BATCH_SIZE, source.length - from);
+
+            System.arraycopy(source, from, block.values, 0, length);
+            block.run(length);
+
+            for (int i = 0; i < length; i++) {
+                destination[from + i] = (R) block.values[i];
+            }
+        }
+    }
+
+    /**
+     * Returns a working buffer for the batch methods and the streaming
+     * transformers.
+     *
+     * @param capacity the number of elements processed per batch
+     * @return the buffer
+     */
+    Block newBlock(int capacity) {
+        return new Block(capacity);
+    }
+
+    /**
+     * A working buffer: each stage is applied to the values in place. The
+     * inputs are only copied aside when INFO is enabled, for the log line of
+     * each element.
+     */
+    final class Block {
+
+        final Object[] values;
+        private Object[] inputs;
+
+        private Block(int capacity) {
+            values = new Object[capacity];
+        }
+
+        void run(int length) {
+            boolean verbose = logger.isInfoEnabled();
+
+            if (verbose) {
+                if (inputs == null) {
+                    inputs = new Object[values.length];
+                }
+                System.arraycopy(values, 0, inputs, 0, length);
+            }
+            for (CatTransformer<Object, Object> stage : stages) {
+                for (int i = 0; i < length; i++) {
+                    values[i] = stage.transform(values[i]);
+                }
+            }
+            if (verbose) {
+                for (int i = 0; i < length; i++) {
+                    logger.info("Transforming {} to {}", inputs[i], values[i]);
+                }
+                Arrays.fill(inputs, 0, length, null);
+            }
+        }
+    }
+
+    /**
+     * Collects the stages of a {@link CatPipeline}. Builders are immutable:
+     * {@link #then(CatTransformer)} returns a new builder, so one prefix can be
+     * extended in several directions.
+     *
+     * @param <T> the type of the input object
+     * @param <R> the type of the result object of the last stage so far
+     */
+    public static final class Builder<T, R> {
+
+        private final List<CatTransformer<Object, Object>> stages;
+
+        private Builder(List<CatTransformer<Object, Object>> stages) {
+            this.stages = stages;
+        }
+
+        /**
+         * Returns a new builder with a stage appended. A {@link CatPipeline} is
+         * appended as its own stages. This builder is not changed.
+         *
+         * @param <V>  the type of the result object of the new stage
+         * @param next the stage to be appended
+         * @return a new builder, typed by the new last stage
+         */
+        public <V> Builder<T, V> then(CatTransformer<R, V> next) {
+            return append(stages, next);
+        }
+
+        /**
+         * Builds the pipeline from the stages collected so far.
+         *
+         * @return the pipeline
+         */
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        public CatPipeline<T, R> build() {
+            return new CatPipeline<>(stages.toArray(new CatTransformer[0]));
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T, V> Builder<T, V> append(List<CatTransformer<Object, Object>> prefix,
+                CatTransformer<?, ?> stage) {
+            List<CatTransformer<Object, Object>> stages = new ArrayList<>(prefix);
+
+            if (stage instanceof CatPipeline<?, ?> pipeline) {
+                Collections.addAll(stages, pipeline.stages);
+            } else {
+                stages.add((CatTransformer<Object, Object>) Objects.requireNonNull(stage));
+            }
+            return new Builder<>(stages);
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package io.p4r53c.telran.utils.transformer;
 
-import org.apache.log4j.Logger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * A functional interface that defines a transformation operation on a single
@@ -18,7 +23,7 @@ import java.util.List;
 @FunctionalInterface
 public interface CatTransformer<T, R> {
 
-    Logger logger = Logger.getLogger(CatTransformer.class.getName());
+    Logger logger = LoggerFactory.getLogger(CatTransformer.class);
 
     /**
      * Transforms the input object and returns the result object.
@@ -31,31 +36,166 @@ public interface CatTransformer<T, R> {
     /**
      * Transforms the input object in a verbose mode and returns the result object.
      *
+     * The message is only built if INFO is enabled for {@link #logger}, and the
+     * objects are only converted to strings by the logger itself.
+     *
      * @param t the input object to be transformed
      * @return the result object after the transformation
      */
     default R verboseTransform(T t) {
         R result = transform(t);
 
-        logger.info("Transforming " + t.toString() + " to " + result.toString());
+        if (logger.isInfoEnabled()) {
+            logger.info("Transforming {} to {}", t, result);
+        }
 
         return result;
     }
 
+    /**
+     * Returns a transformer that logs in verbose mode only about one element in
+     * {@code n}, picked at random. While INFO is disabled, an element costs
+     * only the level check on top of the transformation; otherwise the other
+     * elements also cost one random number. Nothing is shared between threads.
+     *
+     * @param n the sampling period, 1 to log every element
+     * @return the sampled transformer
+     * @throws IllegalArgumentException if {@code n} is not positive
+     */
+    default CatTransformer<T, R> sampled(int n) {
+        return new SampledTransformer<>(this, n);
+    }
+
     /**
      * Transforms a list of input objects and returns a list of result objects.
      *
+     * The logger level is checked once per call: if INFO is disabled, every
+     * element goes straight through {@link #transform(Object)}, otherwise
+     * through {@link #verboseTransform(Object)}.
+     *
      * @param list the list of input objects to be transformed
      * @return the list of result objects after the transformation
      */
     default List<R> transformAll(List<T> list) {
-        List<R> result = new ArrayList<>();
+        return TransformExecutor.transformSequentially(this, list);
+    }
 
-        for (T t : list) {
-            result.add(verboseTransform(t));
-        }
+    /**
+     * Transforms a list of input objects in the given execution mode with its
+     * default concurrency: the common pool parallelism for
+     * {@link ExecutionMode#PARALLEL}, 256 virtual threads for
+     * {@link ExecutionMode#VIRTUAL_THREADS}.
+     *
+     * @param list the list of input objects to be transformed
+     * @param mode how to run the transformations
+     * @return the list of result objects, in the order of the input list
+     * @see #transformAll(List, ExecutionMode, int)
+     */
+    default List<R> transformAll(List<T> list, ExecutionMode mode) {
+        return transformAll(list, mode, TransformExecutor.defaultConcurrency(mode));
+    }
 
-        return result;
+    /**
+     * Transforms a list of input objects in the given execution mode, with at
+     * most {@code maxConcurrency} transformations running at once.
+     *
+     * The result list is sized up front and keeps the order of the input list
+     * whatever the mode. In the concurrent modes the transformation must be
+     * thread-safe and the list must not be modified until the call returns. If
+     * a transformation throws, the remaining elements are not started and the
+     * exception is rethrown.
+     *
+     * @param list           the list of input objects to be transformed
+     * @param mode           how to run the transformations
+     * @param maxConcurrency the maximum number of transformations running at
+     *                       once; {@link ExecutionMode#SEQUENTIAL} always
+     *                       runs one
+     * @return the list of result objects, in the order of the input list
+     * @throws IllegalArgumentException if the concurrency is not positive
+     * @throws java.util.concurrent.CancellationException if the calling thread
+     *                                                    is interrupted while
+     *                                                    waiting for virtual
+     *                                                    threads
+     */
+    default List<R> transformAll(List<T> list, ExecutionMode mode, int maxConcurrency) {
+        return TransformExecutor.transformAll(this, list, mode, maxConcurrency);
+    }
+
+    /**
+     * Transforms the elements of an iterator lazily, 256 at a time.
+     *
+     * @param source the input objects to be transformed
+     * @return an iterator over the result objects
+     * @see #transformSpliterator(Spliterator, int)
+     */
+    default Iterator<R> transformIterator(Iterator<? extends T> source) {
+        return transformIterator(source, CatPipeline.BATCH_SIZE);
+    }
+
+    /**
+     * Transforms the elements of an iterator lazily, {@code batchSize} at a
+     * time. At most one batch of input or result objects is held, so the input
+     * can be larger than the heap.
+     *
+     * @param source    the input objects to be transformed
+     * @param batchSize the number of elements pulled and transformed at once
+     * @return an iterator over the result objects, in the order of the source
+     * @throws IllegalArgumentException if the batch size is not positive
+     * @see #transformSpliterator(Spliterator, int)
+     */
+    default Iterator<R> transformIterator(Iterator<? extends T> source, int batchSize) {
+        return Spliterators.iterator(
+                transformSpliterator(Spliterators.spliteratorUnknownSize(source, Spliterator.ORDERED), batchSize));
+    }
+
+    /**
+     * Transforms the elements of a stream lazily, 256 at a time.
+     *
+     * @param source the input objects to be transformed
+     * @return a stream of the result objects
+     * @see #transformStream(Stream, int)
+     */
+    default Stream<R> transformStream(Stream<? extends T> source) {
+        return transformStream(source, CatPipeline.BATCH_SIZE);
+    }
+
+    /**
+     * Transforms the elements of a stream lazily, {@code batchSize} at a time.
+     *
+     * Nothing is read from the source until the returned stream is consumed,
+     * and a sequential stream holds at most one batch. The returned stream is
+     * parallel if the source is, and closing it closes the source, so it can
+     * wrap {@link java.nio.file.Files#lines(java.nio.file.Path)} in a
+     * try-with-resources.
+     *
+     * @param source    the input objects to be transformed
+     * @param batchSize the number of elements pulled and transformed at once
+     * @return a stream of the result objects, in the order of the source
+     * @throws IllegalArgumentException if the batch size is not positive
+     * @see #transformSpliterator(Spliterator, int)
+     */
+    default Stream<R> transformStream(Stream<? extends T> source, int batchSize) {
+        return StreamSupport.stream(transformSpliterator(source.spliterator(), batchSize), source.isParallel())
+                .onClose(source::close);
+    }
+
+    /**
+     * Transforms the elements of a spliterator lazily, {@code batchSize} at a
+     * time.
+     *
+     * Each batch is pulled from the source into a buffer, transformed in place
+     * and handed out before the next one is pulled. A {@link CatPipeline}
+     * transforms a batch one stage at a time. The result keeps the
+     * {@code ORDERED}, {@code SIZED} and {@code SUBSIZED} characteristics of
+     * the source and splits when the source does.
+     *
+     * @param source    the input objects to be transformed
+     * @param batchSize the number of elements pulled and transformed at once
+     * @return a spliterator over the result objects
+     * @throws IllegalArgumentException if the batch size is not positive
+     */
+    default Spliterator<R> transformSpliterator(Spliterator<? extends T> source, int batchSize) {
+        return new TransformSpliterator<>(this, source, batchSize);
     }
 
     /**
@@ -63,6 +203,9 @@ public interface CatTransformer<T, R> {
      * {@code CatTransformer} that applies the first transformation and then
      * applies the second transformation.
      *
+     * The result is a {@link CatPipeline}: chains of chains stay flat, and only
+     * the combined transformer logs in verbose mode, not each stage.
+     *
      * @param <V>    the type of the result object after the second transformation
      * @param first  the first {@code CatTransformer} to be applied
      * @param second the second {@code CatTransformer} to be applied
@@ -70,7 +213,7 @@ public interface CatTransformer<T, R> {
      *         transformation and then applies the second transformation
      */
     static <T, R, V> CatTransformer<T, V> transformChain(CatTransformer<T, R> first, CatTransformer<R, V> second) {
-        return t -> second.verboseTransform(first.verboseTransform(t));
+        return CatPipeline.from(first).then(second).build();
     }
 
 }
@@ -0,0 +1,25 @@
+package io.p4r53c.telran.utils.transformer;
+
+/**
+ * How {@link CatTransformer#transformAll(java.util.List, ExecutionMode, int)}
+ * runs the transformations.
+ *
+ * @author p4r53c
+ */
+public enum ExecutionMode {
+
+    /** One element after another on the calling thread. */
+    SEQUENTIAL,
+
+    /**
+     * Workers of the common {@link java.util.concurrent.ForkJoinPool}, plus the
+     * calling thread. Meant for CPU-bound transformations.
+     */
+    PARALLEL,
+
+    /**
+     * One virtual thread per worker. Meant for transformations that block, for
+     * example on a lookup in another service.
+     */
+    VIRTUAL_THREADS
+}
@@ -0,0 +1,42 @@
+package io.p4r53c.telran.utils.transformer;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A {@link CatTransformer} whose verbose mode logs about one element in
+ * {@code n}.
+ *
+ * Elements are picked with {@link ThreadLocalRandom} rather than a shared
+ * counter, so concurrent {@code transformAll} workers do not contend on it.
+ *
+ * @author p4r53c
+ * @see CatTransformer#sampled(int)
+ */
+final class SampledTransformer<T, R> implements CatTransformer<T, R> {
+
+    private final CatTransformer<T, R> transformer;
+    private final int n;
+
+    SampledTransformer(CatTransformer<T, R> transformer, int n) {
+        if (n < 1) {
+            throw new IllegalArgumentException("Sampling period must be positive: " + n);
+        }
+        this.transformer = transformer;
+        this.n = n;
+    }
+
+    @Override
+    public R transform(T t) {
+        return transformer.transform(t);
+    }
+
+    @Override
+    public R verboseTransform(T t) {
+        R result = transformer.transform(t);
+
+        if (logger.isInfoEnabled() && (n == 1 || ThreadLocalRandom.current().nextInt(n) == 0)) {
+            logger.info("Transforming {} to {} (sampled 1 in {})", t, result, n);
+        }
+        return result;
+    }
+}
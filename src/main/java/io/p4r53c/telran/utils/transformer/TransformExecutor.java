@@ -0,0 +1,199 @@
+package io.p4r53c.telran.utils.transformer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+
+/**
+ * Runs a {@link CatTransformer} over a list in the given {@link ExecutionMode}.
+ *
+ * Elements go through {@link CatTransformer#verboseTransform(Object)} only if
+ * INFO is enabled for {@link CatTransformer#logger} when the call starts,
+ * otherwise straight through {@link CatTransformer#transform(Object)}.
+ *
+ * The concurrent modes start a fixed number of workers that take indices from
+ * a shared cursor, so no more than {@code maxConcurrency} transformations run
+ * at once and a slow element does not hold up a whole pre-assigned chunk. Each
+ * worker writes its results straight into their slots of a result list sized
+ * up front, which keeps the input order without any reordering step.
+ *
+ * The first exception thrown by a transformation stops the remaining workers
+ * from taking new elements and is rethrown to the caller.
+ *
+ * @author p4r53c
+ */
+final class TransformExecutor {
+
+    /** Default number of virtual threads, enough to overlap blocking lookups. */
+    static final int DEFAULT_VIRTUAL_CONCURRENCY = 256;
+
+    /** Each parallel worker takes about this many blocks of the list. */
+    private static final int BLOCKS_PER_WORKER = 8;
+
+    private TransformExecutor() {
+    }
+
+    /**
+     * Returns the concurrency used when none is given.
+     *
+     * @param mode the execution mode
+     * @return the default number of workers
+     */
+    static int defaultConcurrency(ExecutionMode mode) {
+        return switch (mode) {
+            case SEQUENTIAL -> 1;
+            case PARALLEL -> ForkJoinPool.getCommonPoolParallelism() + 1;
+            case VIRTUAL_THREADS -> DEFAULT_VIRTUAL_CONCURRENCY;
+        };
+    }
+
+    static <T, R> List<R> transformAll(CatTransformer<T, R> transformer, List<T> list, ExecutionMode mode,
+            int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Concurrency must be positive: " + maxConcurrency);
+        }
+
+        int size = list.size();
+        int workers = Math.min(maxConcurrency, size);
+
+        if (mode == ExecutionMode.SEQUENTIAL || workers < 2) {
+            return transformSequentially(transformer, list);
+        }
+
+        List<R> result = new ArrayList<>(Collections.nCopies(size, null));
+        IntFunction<T> input = inputOf(list);
+        Function<T, R> step = stepOf(transformer);
+        Batch batch = new Batch(size, mode == ExecutionMode.PARALLEL
+                ? Math.max(1, size / (workers * BLOCKS_PER_WORKER))
+                : 1);
+        Runnable worker = () -> batch.run(i -> result.set(i, step.apply(input.apply(i))));
+
+        if (mode == ExecutionMode.PARALLEL) {
+            runInForkJoinPool(worker, workers);
+        } else {
+            runInVirtualThreads(worker, workers, batch);
+        }
+        batch.rethrowFailure();
+
+        return result;
+    }
+
+    static <T, R> List<R> transformSequentially(CatTransformer<T, R> transformer, List<T> list) {
+        List<R> result = new ArrayList<>(list.size());
+        Function<T, R> step = stepOf(transformer);
+
+        for (T t : list) {
+            result.add(step.apply(t));
+        }
+        return result;
+    }
+
+    static <T, R> Function<T, R> stepOf(CatTransformer<T, R> transformer) {
+        return CatTransformer.logger.isInfoEnabled() ? transformer::verboseTransform : transformer::transform;
+    }
+
+    /**
+     * Concurrent {@code get} calls are only cheap and safe on random access
+     * lists, anything else is copied to an array first.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> IntFunction<T> inputOf(List<T> list) {
+        if (list instanceof RandomAccess) {
+            return list::get;
+        }
+
+        Object[] elements = list.toArray();
+        return i -> (T) elements[i];
+    }
+
+    private static void runInForkJoinPool(Runnable worker, int workers) {
+        ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[workers - 1];
+
+        for (int w = 0; w < tasks.length; w++) {
+            tasks[w] = ForkJoinTask.adapt(worker).fork();
+        }
+        worker.run();
+
+        for (ForkJoinTask<?> task : tasks) {
+            task.quietlyJoin();
+        }
+    }
+
+    private static void runInVirtualThreads(Runnable worker, int workers, Batch batch) {
+        Thread[] threads = new Thread[workers];
+
+        for (int w = 0; w < workers; w++) {
+            threads[w] = Thread.ofVirtual().name("cat-transformer-", w).start(worker);
+        }
+        try {
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            batch.cancel();
+            for (Thread thread : threads) {
+                thread.interrupt();
+            }
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while transforming");
+        }
+    }
+
+    /**
+     * The shared cursor over the indices of one transformAll call and the first
+     * failure of its workers.
+     */
+    private static final class Batch {
+
+        private final int size;
+        private final int blockSize;
+        private final AtomicInteger cursor = new AtomicInteger();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        Batch(int size, int blockSize) {
+            this.size = size;
+            this.blockSize = blockSize;
+        }
+
+        void run(IntConsumer action) {
+            try {
+                int from;
+
+                while ((from = cursor.getAndAdd(blockSize)) < size) {
+                    int to = Math.min(from + blockSize, size);
+
+                    for (int i = from; i < to; i++) {
+                        action.accept(i);
+                    }
+                }
+            } catch (RuntimeException | Error e) {
+                failure.compareAndSet(null, e);
+                cancel();
+            }
+        }
+
+        void cancel() {
+            cursor.set(size);
+        }
+
+        void rethrowFailure() {
+            Throwable e = failure.get();
+
+            if (e instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e instanceof Error error) {
+                throw error;
+            }
+        }
+    }
+}
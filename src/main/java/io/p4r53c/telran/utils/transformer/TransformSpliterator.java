@@ -0,0 +1,148 @@
+package io.p4r53c.telran.utils.transformer;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A {@link Spliterator} that transforms the elements of a source spliterator
+ * lazily, a batch at a time.
+ *
+ * Up to {@code batchSize} elements are pulled from the source into a buffer,
+ * transformed in place and handed out one by one before the next batch is
+ * pulled, so no more than one batch is ever held whatever the size of the
+ * source. A {@link CatPipeline} transforms each batch stage by stage; any
+ * other transformer element by element, through
+ * {@link CatTransformer#verboseTransform(Object)} only while INFO is enabled.
+ *
+ * Splitting delegates to the source, and only happens between batches.
+ *
+ * @author p4r53c
+ * @param <T> the type of the input object
+ * @param <R> the type of the result object
+ */
+final class TransformSpliterator<T, R> implements Spliterator<R> {
+
+    /** Characteristics of the source that a one-to-one mapping keeps. */
+    private static final int KEPT_CHARACTERISTICS = ORDERED | SIZED | SUBSIZED | IMMUTABLE | CONCURRENT;
+
+    private final CatTransformer<T, R> transformer;
+    private final Spliterator<? extends T> source;
+    private final int batchSize;
+
+    private final Object[] buffer;
+    private final CatPipeline<T, R>.Block block;
+    private final Consumer<Object> store = this::store;
+
+    private int position;
+    private int length;
+
+    TransformSpliterator(CatTransformer<T, R> transformer, Spliterator<? extends T> source, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        this.transformer = transformer;
+        this.source = source;
+        this.batchSize = batchSize;
+
+        if (transformer instanceof CatPipeline<T, R> pipeline) {
+            block = pipeline.newBlock(batchSize);
+            buffer = block.values;
+        } else {
+            block = null;
+            buffer = new Object[batchSize];
+        }
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super R> action) {
+        if (position == length && !fill()) {
+            return false;
+        }
+        action.accept(take());
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super R> action) {
+        do {
+            while (position < length) {
+                action.accept(take());
+            }
+        } while (fill());
+    }
+
+    @Override
+    public Spliterator<R> trySplit() {
+        if (position < length) {
+            // The buffered elements come before anything the source would split off
+            return null;
+        }
+
+        Spliterator<? extends T> prefix = source.trySplit();
+
+        return prefix == null ? null : new TransformSpliterator<>(transformer, prefix, batchSize);
+    }
+
+    @Override
+    public long estimateSize() {
+        long buffered = length - position;
+        long remaining = source.estimateSize();
+
+        return remaining > Long.MAX_VALUE - buffered ? Long.MAX_VALUE : remaining + buffered;
+    }
+
+    @Override
+    public int characteristics() {
+        return source.characteristics() & KEPT_CHARACTERISTICS;
+    }
+
+    @SuppressWarnings("unchecked")
+    private R take() {
+        R result = (R) buffer[position];
+
+        buffer[position++] = null;
+        return result;
+    }
+
+    private void store(Object value) {
+        buffer[length++] = value;
+    }
+
+    /**
+     * Pulls and transforms the next batch. If the transformation throws, the
+     * batch is dropped.
+     *
+     * @return false if the source is exhausted
+     */
+    @SuppressWarnings("unchecked")
+    private boolean fill() {
+        position = 0;
+        length = 0;
+
+        while (length < batchSize && source.tryAdvance(store)) {
+            // store() appends to the buffer
+        }
+
+        int pulled = length;
+
+        if (pulled == 0) {
+            return false;
+        }
+
+        // Nothing is handed out until the whole batch is transformed
+        length = 0;
+
+        if (block != null) {
+            block.run(pulled);
+        } else {
+            Function<T, R> step = TransformExecutor.stepOf(transformer);
+
+            for (int i = 0; i < pulled; i++) {
+                buffer[i] = step.apply((T) buffer[i]);
+            }
+        }
+        length = pulled;
+        return true;
+    }
+}
@@ -6,8 +6,10 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -199,6 +201,100 @@ class ArraysTest {
         });
     }
 
+    @Test
+    void testInsertAndRemoveInPlace() {
+        int[] buffer = new int[4];
+        int length = 0;
+
+        length = ArraysUtils.insertInPlace(buffer, length, 0, 3);
+        length = ArraysUtils.insertInPlace(buffer, length, 0, 1);
+        length = ArraysUtils.insertInPlace(buffer, length, 1, 2);
+        assertEquals(3, length);
+        assertArrayEquals(new int[] { 1, 2, 3 }, Arrays.copyOf(buffer, length));
+
+        length = ArraysUtils.removeInPlace(buffer, length, 0);
+        assertEquals(2, length);
+        assertArrayEquals(new int[] { 2, 3 }, Arrays.copyOf(buffer, length));
+    }
+
+    @Test
+    void testInsertInPlaceWithoutSpareCapacity() {
+        int[] buffer = { 1, 2 };
+
+        assertThrows(IllegalArgumentException.class, () -> ArraysUtils.insertInPlace(buffer, 2, 0, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> ArraysUtils.insertInPlace(buffer, 1, 2, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> ArraysUtils.removeInPlace(buffer, 1, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> ArraysUtils.removeInPlace(buffer, 3, 0));
+    }
+
+    @Test
+    void testInsertSortedInPlace() {
+        int[] buffer = new int[6];
+        int length = 0;
+
+        for (int value : new int[] { 5, 1, 3, 3, 9, 0 }) {
+            length = ArraysUtils.insertSortedInPlace(buffer, length, value);
+        }
+        assertArrayEquals(new int[] { 0, 1, 3, 3, 5, 9 }, buffer);
+    }
+
+    @Test
+    void testInsertSortedInPlaceGenericKeepsArrivalOrder() {
+        String[] buffer = new String[4];
+        Comparator<String> byLength = Comparator.comparingInt(String::length);
+        int length = 0;
+
+        length = ArraysUtils.insertSortedInPlace(buffer, length, "ccc", byLength);
+        length = ArraysUtils.insertSortedInPlace(buffer, length, "aa", byLength);
+        length = ArraysUtils.insertSortedInPlace(buffer, length, "bb", byLength);
+
+        assertEquals(3, length);
+        assertArrayEquals(new String[] { "aa", "bb", "ccc", null }, buffer);
+    }
+
+    @Test
+    void testRemoveInPlaceGenericClearsVacatedSlot() {
+        String[] buffer = { "a", "b", "c", null };
+
+        int length = ArraysUtils.removeInPlace(buffer, 3, 1);
+
+        assertEquals(2, length);
+        assertArrayEquals(new String[] { "a", "c", null, null }, buffer);
+        assertEquals(3, ArraysUtils.insertInPlace(buffer, length, 2, "d"));
+        assertArrayEquals(new String[] { "a", "c", "d", null }, buffer);
+    }
+
+    @Test
+    void testInsertByArraycopyIntoDestination() {
+        int[] destination = new int[numbersArray.length + 3];
+
+        int length = ArraysUtils.insertByArraycopy(numbersArray, 4, 255, destination);
+
+        assertEquals(numbersArray.length + 1, length);
+        assertArrayEquals(ArraysUtils.insertByArraycopy(numbersArray, 4, 255), Arrays.copyOf(destination, length));
+        assertThrows(IllegalArgumentException.class,
+                () -> ArraysUtils.insertByArraycopy(numbersArray, 0, 255, new int[numbersArray.length]));
+    }
+
+    @Test
+    void testRemoveByArraycopyIntoSameArray() {
+        int[] expected = ArraysUtils.removeByArraycopy(numbersArray, 4);
+
+        int length = ArraysUtils.removeByArraycopy(numbersArray, 4, numbersArray);
+
+        assertEquals(expected.length, length);
+        assertArrayEquals(expected, Arrays.copyOf(numbersArray, length));
+    }
+
+    @Test
+    void testInsertSortedGenericIntoDestination() {
+        Integer[] array = { 1, 3, 5 };
+        Integer[] destination = new Integer[4];
+
+        assertEquals(4, ArraysUtils.insertSorted(array, 2, 4, destination));
+        assertArrayEquals(new Integer[] { 1, 3, 4, 5 }, destination);
+    }
+
     // ---------------------------------------------------------------------------
     //
     // Sorting Methods Tests
@@ -222,6 +318,88 @@ class ArraysTest {
         }
     }
 
+    @Test
+    void testSortIntArray() {
+        ArraysUtils.sort(numbersArray);
+        assertArrayEquals(sortedNumbersArray, numbersArray);
+
+        ArraysUtils.sort(emptyArray);
+        assertArrayEquals(new int[] {}, emptyArray);
+    }
+
+    @Test
+    void testSortIntArrayMatchesLibrarySort() {
+        // Sizes hit insertion sort, introsort and radix sort paths
+        for (int n : new int[] { 10, N_ELEMENTS, 100_000 }) {
+            int[] randomArray = getRandomArray(n);
+            int[] expected = randomArray.clone();
+
+            Arrays.sort(expected);
+            ArraysUtils.sort(randomArray);
+            assertArrayEquals(expected, randomArray);
+        }
+    }
+
+    @Test
+    void testSortIntArrayReversedAndDuplicates() {
+        int[] reversed = new int[N_ELEMENTS];
+        int[] duplicates = new int[N_ELEMENTS];
+
+        for (int i = 0; i < N_ELEMENTS; i++) {
+            reversed[i] = N_ELEMENTS - i;
+            duplicates[i] = i % 3;
+        }
+        ArraysUtils.sort(reversed);
+        ArraysUtils.sort(duplicates);
+
+        assertEquals(1, reversed[0]);
+        assertTrue(ArraysUtils.isSorted(reversed));
+        assertEquals(0, duplicates[0]);
+        assertEquals(2, duplicates[N_ELEMENTS - 1]);
+        assertTrue(ArraysUtils.isSorted(duplicates));
+    }
+
+    @Test
+    void testParallelSortIntArray() {
+        int[] randomArray = getRandomArray(100_000);
+        int[] expected = randomArray.clone();
+        ForkJoinPool pool = new ForkJoinPool(4);
+
+        Arrays.sort(expected);
+        try {
+            ArraysUtils.parallelSort(randomArray, N_ELEMENTS, pool);
+        } finally {
+            pool.shutdown();
+        }
+        assertArrayEquals(expected, randomArray);
+
+        ArraysUtils.parallelSort(numbersArray);
+        assertArrayEquals(sortedNumbersArray, numbersArray);
+    }
+
+    @Test
+    void testParallelSortIsStable() {
+        Integer[] indices = new Integer[100_000];
+        int[] keys = getRandomArray(indices.length);
+
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = i;
+            keys[i] &= 0xFF;
+        }
+
+        Comparator<Integer> byKey = Comparator.comparingInt(i -> keys[i]);
+        Integer[] expected = indices.clone();
+
+        Arrays.sort(expected, byKey);
+        ArraysUtils.parallelSort(indices, byKey, N_ELEMENTS);
+        assertArrayEquals(expected, indices);
+    }
+
+    @Test
+    void testParallelSortInvalidThreshold() {
+        assertThrows(IllegalArgumentException.class, () -> ArraysUtils.parallelSort(numbersArray, 0));
+    }
+
     @Test
     void testBinarySearchKeyFound() {
         assertEquals(4, ArraysUtils.binarySearch(sortedNumbersArray, 16));
@@ -232,6 +410,115 @@ class ArraysTest {
         assertEquals(-10, ArraysUtils.binarySearch(sortedNumbersArray, 256));
     }
 
+    @Test
+    void testBinarySearchReturnsFirstOccurrence() {
+        int[] duplicates = { 1, 2, 2, 2, 2, 2, 3 };
+        Integer[] boxedDuplicates = { 1, 2, 2, 2, 2, 2, 3 };
+
+        assertEquals(1, ArraysUtils.binarySearch(duplicates, 2));
+        assertEquals(1, ArraysUtils.binarySearch(boxedDuplicates, 2, Integer::compare));
+        assertEquals(-8, ArraysUtils.binarySearch(duplicates, 4));
+    }
+
+    @Test
+    void testBinarySearchAllMatchesSingleSearch() {
+        int[] sorted = getRandomArray(N_ELEMENTS);
+        int[] keys = new int[N_ELEMENTS];
+        int[] results = new int[N_ELEMENTS];
+        Random random = new Random();
+
+        for (int i = 0; i < N_ELEMENTS; i++) {
+            sorted[i] &= 0xFFF;
+        }
+        Arrays.sort(sorted);
+        for (int i = 0; i < N_ELEMENTS; i++) {
+            keys[i] = random.nextInt(0x1100) - 0x80;
+        }
+
+        // Unsorted keys go through the interleaved path, sorted through galloping
+        for (int round = 0; round < 2; round++) {
+            ArraysUtils.binarySearchAll(sorted, keys, results);
+            for (int i = 0; i < N_ELEMENTS; i++) {
+                assertEquals(ArraysUtils.binarySearch(sorted, keys[i]), results[i]);
+            }
+            Arrays.sort(keys);
+        }
+    }
+
+    @Test
+    void testBinarySearchAllGeneric() {
+        String[] keys = { "w", "aa", "", "comparator", "lmn" };
+        int[] results = new int[keys.length + 1];
+        int[] expected = { 0, 1, -1, -5, 2, 0 };
+
+        ArraysUtils.binarySearchAll(stringLenSortedStringArray, keys, Comparator.comparingInt(String::length),
+                results);
+        assertArrayEquals(expected, results);
+
+        Arrays.sort(keys, Comparator.comparingInt(String::length));
+        ArraysUtils.binarySearchAll(stringLenSortedStringArray, keys, Comparator.comparingInt(String::length),
+                results);
+        assertArrayEquals(new int[] { -1, 0, 1, 2, -5, 0 }, results);
+    }
+
+    @Test
+    void testBinarySearchAllEmptyArrayAndShortResults() {
+        int[] results = new int[2];
+
+        ArraysUtils.binarySearchAll(emptyArray, new int[] { 5, 1 }, results);
+        assertArrayEquals(new int[] { -1, -1 }, results);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> ArraysUtils.binarySearchAll(sortedNumbersArray, new int[] { 1, 2, 3 }, results));
+    }
+
+    @Test
+    void testLowerAndUpperBound() {
+        int[] duplicates = { 1, 2, 2, 2, 5, 5, 9 };
+
+        assertEquals(0, ArraysUtils.lowerBound(duplicates, 0));
+        assertEquals(1, ArraysUtils.lowerBound(duplicates, 2));
+        assertEquals(4, ArraysUtils.lowerBound(duplicates, 3));
+        assertEquals(7, ArraysUtils.lowerBound(duplicates, 10));
+        assertEquals(0, ArraysUtils.upperBound(duplicates, 0));
+        assertEquals(4, ArraysUtils.upperBound(duplicates, 2));
+        assertEquals(7, ArraysUtils.upperBound(duplicates, 9));
+        assertEquals(0, ArraysUtils.lowerBound(emptyArray, 1));
+        assertEquals(0, ArraysUtils.upperBound(emptyArray, 1));
+
+        // Range overloads stay within the range
+        assertEquals(4, ArraysUtils.lowerBound(duplicates, 4, 7, 2));
+        assertEquals(3, ArraysUtils.upperBound(duplicates, 0, 3, 9));
+        assertThrows(IndexOutOfBoundsException.class, () -> ArraysUtils.lowerBound(duplicates, 0, 8, 2));
+    }
+
+    @Test
+    void testEqualRange() {
+        int[] ints = { 1, 2, 2, 2, 5, 5, 9 };
+        long[] longs = { 1L, 2L, 2L, 2L, 5L, 5L, 9L };
+        String[] strings = { "a", "b", "b", "b", "e", "e", "i" };
+
+        assertArrayEquals(new int[] { 1, 4 }, ArraysUtils.equalRange(ints, 2));
+        assertArrayEquals(new int[] { 4, 4 }, ArraysUtils.equalRange(ints, 3));
+        assertArrayEquals(new int[] { 4, 6 }, ArraysUtils.equalRange(longs, 5L));
+        assertArrayEquals(new int[] { 7, 7 }, ArraysUtils.equalRange(longs, Long.MAX_VALUE));
+        assertArrayEquals(new int[] { 1, 4 }, ArraysUtils.equalRange(strings, "b", Comparator.naturalOrder()));
+        assertArrayEquals(new int[] { 0, 0 }, ArraysUtils.equalRange(strings, "", Comparator.naturalOrder()));
+    }
+
+    @Test
+    void testInsertSortedAfterDuplicates() {
+        int[] expected = { 1, 2, 2, 2, 3 };
+        assertArrayEquals(expected, ArraysUtils.insertSorted(new int[] { 1, 2, 2, 3 }, 2));
+
+        User[] users = { new User(1, "Admin"), new User(2, "Anna"), new User(3, "Anna"), new User(4, "Yuri") };
+        User[] result = ArraysUtils.insertSorted(users, new User(5, "Anna"), new UserLoginComparator());
+
+        assertEquals(5, result.length);
+        assertEquals(5, result[3].getUserId());
+        assertEquals(4, result[4].getUserId());
+    }
+
     @Test
     void testInsertSortedEmptyArray() {
         int[] expected = { 256 };
@@ -274,6 +561,82 @@ class ArraysTest {
         assertFalse(ArraysUtils.isOneSwapNeeded(arrayMultipleSwaps));
     }
 
+    @Test
+    void testIsOneSwapNeededMatchesCopyAndSwap() {
+        Random random = new Random(16);
+
+        for (int n = 0; n < 20000; n++) {
+            int[] array = random.ints(random.nextInt(9), 0, 6).toArray();
+            boolean expected = isOneSwapNeededByCopy(array);
+
+            assertEquals(expected, ArraysUtils.isOneSwapNeeded(array), Arrays.toString(array));
+            assertEquals(expected && array.length > 1, ArraysUtils.sortednessProfile(array).isOneSwapSortable(),
+                    Arrays.toString(array));
+        }
+        assertTrue(ArraysUtils.isOneSwapNeeded(new int[] { 7 }));
+        assertFalse(ArraysUtils.isOneSwapNeeded(emptyArray));
+    }
+
+    /**
+     * The original copy, swap and recheck implementation.
+     */
+    private static boolean isOneSwapNeededByCopy(int[] array) {
+        int[] copy = array.clone();
+        int n = copy.length;
+        int first = 0;
+        int second = n - 1;
+
+        while (first < n - 1 && copy[first] <= copy[first + 1]) {
+            first++;
+        }
+        while (second > 0 && copy[second] >= copy[second - 1]) {
+            second--;
+        }
+        if (first < second) {
+            int temp = copy[first];
+            copy[first] = copy[second];
+            copy[second] = temp;
+        }
+        return first <= second && ArraysUtils.isSorted(copy);
+    }
+
+    @Test
+    void testSortednessProfile() {
+        SortednessProfile profile = ArraysUtils.sortednessProfile(new int[] { 1, 2, 9, 4, 5, 3, 10 });
+
+        assertEquals(7, profile.getLength());
+        assertEquals(2, profile.getDescents());
+        assertEquals(3, profile.getRuns());
+        assertEquals(3, profile.getLongestRun());
+        // Runs of 3, 2 and 2 elements
+        assertEquals(16, profile.getInversionUpperBound());
+        assertEquals(2, profile.getFirstSwapIndex());
+        assertEquals(5, profile.getSecondSwapIndex());
+        assertTrue(profile.isOneSwapSortable());
+        assertFalse(profile.isSorted());
+    }
+
+    @Test
+    void testSortednessProfileSortedAndReversed() {
+        SortednessProfile sorted = ArraysUtils.sortednessProfile(new int[] { 1, 1, 2 });
+        SortednessProfile reversed = ArraysUtils.sortednessProfile(new int[] { 4, 3, 2, 1 });
+        SortednessProfile empty = ArraysUtils.sortednessProfile(emptyArray);
+
+        assertTrue(sorted.isSorted());
+        assertEquals(1, sorted.getRuns());
+        assertEquals(0, sorted.getInversionUpperBound());
+        assertEquals(-1, sorted.getFirstSwapIndex());
+        assertFalse(sorted.isOneSwapSortable());
+
+        assertEquals(3, reversed.getDescents());
+        assertEquals(1, reversed.getLongestRun());
+        assertEquals(6, reversed.getInversionUpperBound());
+
+        assertEquals(0, empty.getRuns());
+        assertEquals(0, empty.getLongestRun());
+        assertTrue(empty.isSorted());
+    }
+
     private int[] getRandomArray(int n) {
         Random random = new Random();
 
@@ -396,6 +759,20 @@ class ArraysTest {
         assertArrayEquals(sortedByLoginUsersArray, unsortedUsersArray);
     }
 
+    @Test
+    void testUserSortByKeys() {
+        User[] users = unsortedUsersArray.clone();
+
+        ArraysUtils.sortByIntKey(users, User::getUserId);
+        assertArrayEquals(sortedByIdUsersArray, users);
+
+        ArraysUtils.sortByStringKey(users, User::getUserLogin);
+        assertArrayEquals(sortedByLoginUsersArray, users);
+
+        ArraysUtils.sortByLongKey(unsortedUsersArray, User::getUserId);
+        assertArrayEquals(sortedByIdUsersArray, unsortedUsersArray);
+    }
+
     @Test
     void testBinarySearchUserByLogin() {
 
@@ -449,6 +826,38 @@ class ArraysTest {
         assertEquals(-5, ArraysUtils.binarySearchByExplicitPredicate(sortedPersonsArray, new Person(5, "DeletedUser")));
     }
 
+    @Test
+    void testBinarySearchUsesNaturalOrder() {
+        // Sorted numerically, which toString order would get wrong
+        Integer[] integers = { -5, 2, 10, 10, 100 };
+        Long[] longs = { -5L, 2L, 10L, 10L, 100L };
+        Person[] persons = { new Person(2, "b"), new Person(9, "z"), new Person(10, "a") };
+
+        assertEquals(2, ArraysUtils.binarySearch(integers, 10));
+        assertEquals(-3, ArraysUtils.binarySearch(integers, 3));
+        assertEquals(-6, ArraysUtils.binarySearch(integers, 1000));
+        assertEquals(2, ArraysUtils.binarySearch(longs, 10L));
+        assertEquals(-1, ArraysUtils.binarySearch(longs, -6L));
+        assertEquals(2, ArraysUtils.binarySearch(persons, new Person(10, "a")));
+        // Natural order of Person is by id only
+        assertEquals(1, ArraysUtils.binarySearch(persons, new Person(9, "a")));
+        assertEquals(-1, ArraysUtils.binarySearch(new String[0], "a"));
+        assertEquals(0, ArraysUtils.binarySearch(new String[] { "a", "a" }, "a"));
+
+        // Object[] holding integers takes the Comparable path
+        assertEquals(1, ArraysUtils.binarySearch(new Object[] { 1, 20, 300 }, (Object) 20));
+        assertThrows(ClassCastException.class,
+                () -> ArraysUtils.binarySearch(new Object[] { new Object(), new Object() }, new Object()));
+    }
+
+    @Test
+    void testBinarySearchByToString() {
+        Integer[] byToString = { 10, 100, 2, 30 };
+
+        assertEquals(2, ArraysUtils.binarySearchByToString(byToString, 2));
+        assertEquals(-3, ArraysUtils.binarySearchByToString(byToString, 11));
+    }
+
     // I did not add the following fixtures to setUp() init for convenience.
     // Separate this test class.
     @Test
@@ -475,6 +884,38 @@ class ArraysTest {
         assertArrayEquals(actualResult, ArraysUtils.getSubArrayByPredicate(inputArray, i -> i % 2 != 0));
     }
 
+    @Test
+    void testFindByPredicateKeepsComponentTypeAndOrder() {
+        Random random = new Random(10);
+        Integer[] inputArray = new Integer[N_ELEMENTS + 37];
+
+        for (int i = 0; i < inputArray.length; i++) {
+            inputArray[i] = random.nextInt(100);
+        }
+
+        Integer[] expected = Arrays.stream(inputArray).filter(i -> i % 3 == 0).toArray(Integer[]::new);
+
+        assertArrayEquals(expected, ArraysUtils.getSubArrayByPredicate(inputArray, i -> i % 3 == 0));
+        assertArrayEquals(expected, ArraysUtils.getSubArrayByPredicate(inputArray, i -> i % 3 == 0, 1));
+        assertEquals(Integer[].class, ArraysUtils.getSubArrayByPredicate(inputArray, i -> false).getClass());
+    }
+
+    @Test
+    void testFindByPredicateInvalidThreshold() {
+        Integer[] inputArray = { 1, 2, 3 };
+
+        assertThrows(IllegalArgumentException.class, () -> ArraysUtils.getSubArrayByPredicate(inputArray, i -> true, 0));
+    }
+
+    @Test
+    void testRemoveIfByStreamApiMatchesRemoveIf() {
+        Integer[] inputArray = { 1, 2, 3, 4, 5, 6, 7 };
+        Integer[] expectedResult = { 1, 2, 4, 5, 7 };
+
+        assertArrayEquals(expectedResult, ArraysUtils.removeIfByStreamApiAndPredicate(inputArray, n -> n % 3 == 0));
+        assertArrayEquals(expectedResult, ArraysUtils.removeIfbyGetSubArrayByPredicate(inputArray, n -> n % 3 == 0));
+    }
+
     @Test
     void testRemoveIfOdd() {
         Integer[] inputArray = { 1, 2, 3, 4, 5, 6 };
@@ -497,4 +938,109 @@ class ArraysTest {
 
     }
 
-}
\ No newline at end of file
+    // ---------------------------------------------------------------------------
+    //
+    // Primitive families Tests
+    //
+    // ---------------------------------------------------------------------------
+    @Test
+    void testLongFamily() {
+        long[] array = { 5, -3, 5, 1L << 40, 0, 5 };
+
+        assertEquals(0, ArraysUtils.searchByIndex(array, 5L));
+        assertEquals(3, ArraysUtils.searchByIndex(array, 1L << 40));
+        assertFalse(ArraysUtils.isSorted(array));
+
+        ArraysUtils.sort(array);
+
+        assertArrayEquals(new long[] { -3, 0, 5, 5, 5, 1L << 40 }, array);
+        assertTrue(ArraysUtils.isSorted(array));
+        assertEquals(2, ArraysUtils.binarySearch(array, 5L));
+        assertEquals(-3, ArraysUtils.binarySearch(array, 4L));
+        assertArrayEquals(new long[] { -3, 0, 5, 5, 5, 6, 1L << 40 }, ArraysUtils.insertSorted(array, 6L));
+    }
+
+    @Test
+    void testDoubleFamilyUsesDoubleCompare() {
+        double[] array = { 2.5, Double.NaN, 0.0, -0.0, -1.0 };
+
+        assertEquals(1, ArraysUtils.searchByIndex(array, Double.NaN));
+        assertEquals(3, ArraysUtils.searchByIndex(array, -0.0));
+
+        ArraysUtils.sort(array);
+
+        assertArrayEquals(new double[] { -1.0, -0.0, 0.0, 2.5, Double.NaN }, array);
+        assertTrue(ArraysUtils.isSorted(array));
+        assertEquals(1, ArraysUtils.binarySearch(array, -0.0));
+        assertEquals(4, ArraysUtils.binarySearch(array, Double.NaN));
+        assertEquals(-4, ArraysUtils.binarySearch(array, 1.0));
+        assertArrayEquals(new double[] { -1.0, -0.0, 0.0, 0.0, 2.5, Double.NaN },
+                ArraysUtils.insertSorted(array, 0.0));
+    }
+
+    @Test
+    void testShortAndCharFamilies() {
+        short[] shorts = { 7, -2, 7, 0 };
+        char[] chars = { 'c', 'a', 'c', 'b' };
+
+        assertEquals(1, ArraysUtils.searchByIndex(shorts, (short) -2));
+        assertEquals(3, ArraysUtils.searchByIndex(chars, 'b'));
+
+        ArraysUtils.sort(shorts);
+        ArraysUtils.sort(chars);
+
+        assertArrayEquals(new short[] { -2, 0, 7, 7 }, shorts);
+        assertArrayEquals(new char[] { 'a', 'b', 'c', 'c' }, chars);
+        assertEquals(2, ArraysUtils.binarySearch(shorts, (short) 7));
+        assertEquals(-1, ArraysUtils.binarySearch(chars, '0'));
+        assertArrayEquals(new char[] { 'a', 'b', 'c', 'c', 'd' }, ArraysUtils.insertSorted(chars, 'd'));
+        assertTrue(ArraysUtils.isSorted(shorts));
+        assertFalse(ArraysUtils.isSorted(new char[0]));
+    }
+
+    @Test
+    void testPrimitiveBinarySearchMatchesBounds() {
+        Random random = new Random(17);
+
+        for (int n = 0; n < 200; n++) {
+            short[] shorts = new short[random.nextInt(40)];
+
+            for (int i = 0; i < shorts.length; i++) {
+                shorts[i] = (short) random.nextInt(10);
+            }
+            ArraysUtils.sort(shorts);
+
+            for (short key = -1; key <= 10; key++) {
+                int expected = 0;
+
+                while (expected < shorts.length && shorts[expected] < key) {
+                    expected++;
+                }
+                assertEquals(expected, ArraysUtils.lowerBound(shorts, key));
+                assertEquals(expected < shorts.length && shorts[expected] == key ? expected : -expected - 1,
+                        ArraysUtils.binarySearch(shorts, key));
+            }
+        }
+    }
+
+    @Test
+    void testPrimitiveRangeBounds() {
+        double[] doubles = { 9.0, 1.0, 2.0, 2.0, 3.0, -1.0 };
+        short[] shorts = { 9, 1, 2, 2, 3, -1 };
+        char[] chars = { 'z', 'a', 'b', 'b', 'c', 'A' };
+
+        assertEquals(2, ArraysUtils.lowerBound(doubles, 1, 5, 2.0));
+        assertEquals(4, ArraysUtils.upperBound(doubles, 1, 5, 2.0));
+        assertEquals(5, ArraysUtils.upperBound(doubles, 1, 5, 7.0));
+        assertEquals(2, ArraysUtils.lowerBound(shorts, 1, 5, (short) 2));
+        assertEquals(4, ArraysUtils.upperBound(shorts, 1, 5, (short) 2));
+        assertEquals(1, ArraysUtils.lowerBound(shorts, 1, 5, (short) -5));
+        assertEquals(2, ArraysUtils.lowerBound(chars, 1, 5, 'b'));
+        assertEquals(4, ArraysUtils.upperBound(chars, 1, 5, 'b'));
+        assertEquals(3, ArraysUtils.lowerBound(chars, 3, 3, 'a'));
+
+        assertThrows(IndexOutOfBoundsException.class, () -> ArraysUtils.lowerBound(doubles, 0, 7, 2.0));
+        assertThrows(IndexOutOfBoundsException.class, () -> ArraysUtils.upperBound(shorts, 4, 3, (short) 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> ArraysUtils.lowerBound(chars, -1, 2, 'a'));
+    }
+}
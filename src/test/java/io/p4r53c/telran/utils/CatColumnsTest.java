@@ -0,0 +1,199 @@
+package io.p4r53c.telran.utils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.p4r53c.telran.utils.transformer.BigCat;
+import io.p4r53c.telran.utils.transformer.Cat;
+import io.p4r53c.telran.utils.transformer.CatColumns;
+import io.p4r53c.telran.utils.transformer.CatPipeline;
+import io.p4r53c.telran.utils.transformer.CatTransformer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+class CatColumnsTest {
+
+    private static List<Cat> cats() {
+        return List.of(new Cat(10, new String("Kitty"), new String("Domestic")),
+                new Cat(40, "Leopard", "Wild"),
+                new Cat(15, "Tom", new String("Street")),
+                new Cat(10, new String("Kitty"), "Domestic"),
+                new Cat(5, "Felix", new String("Wild")));
+    }
+
+    @Test
+    void testRoundTrip() {
+        List<Cat> cats = cats();
+        CatColumns columns = CatColumns.fromCats(cats);
+        List<Cat> copies = columns.toCats();
+
+        assertEquals(cats.size(), columns.size());
+        assertEquals(cats.size(), copies.size());
+        for (int i = 0; i < cats.size(); i++) {
+            assertEquals(cats.get(i).getWeight(), copies.get(i).getWeight());
+            assertEquals(cats.get(i).getName(), copies.get(i).getName());
+            assertEquals(cats.get(i).getKind(), copies.get(i).getKind());
+        }
+
+        List<BigCat> bigCats = CatColumns.fromBigCats(columns.toBigCats()).toBigCats();
+
+        assertEquals("Leopard", bigCats.get(1).getName());
+        assertEquals(40, bigCats.get(1).getWeight());
+        assertEquals("Wild", bigCats.get(1).getKind());
+    }
+
+    @Test
+    void testDictionaries() {
+        CatColumns columns = CatColumns.fromCats(cats());
+
+        assertEquals(3, columns.kindCount());
+        assertEquals("Domestic", columns.kind(columns.kindId("Domestic")));
+        assertEquals(-1, columns.kindId("Unknown"));
+        assertEquals(columns.kindIds()[1], columns.kindIds()[4]);
+        assertSame(columns.row(0).getName(), columns.row(3).getName());
+        assertThrows(IndexOutOfBoundsException.class, () -> columns.kind(3));
+    }
+
+    @Test
+    void testRows() {
+        CatColumns columns = CatColumns.fromCats(cats());
+        CatColumns.Row row = columns.row(2);
+
+        assertEquals(2, row.getIndex());
+        assertEquals("Tom", row.getName());
+        assertEquals("Street", row.getKind());
+
+        row.setWeight(16);
+        assertEquals(16, columns.weights()[2]);
+        assertEquals(16, row.toCat().getWeight());
+
+        assertEquals(5, columns.rows().size());
+        assertEquals("Felix", columns.rows().get(4).toBigCat().getName());
+        assertThrows(IndexOutOfBoundsException.class, () -> columns.row(5));
+        assertThrows(IndexOutOfBoundsException.class, () -> columns.row(-1));
+    }
+
+    @Test
+    void testAddGrows() {
+        CatColumns columns = new CatColumns(0);
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i, columns.add(i, "Cat" + i, i % 3 == 0 ? "Domestic" : "Street"));
+        }
+        assertEquals(1000, columns.size());
+        assertEquals(999, columns.row(999).getWeight());
+        assertEquals("Cat500", columns.row(500).getName());
+        assertEquals(2, columns.kindCount());
+
+        assertThrows(IllegalArgumentException.class, () -> new CatColumns(-1));
+        assertThrows(NullPointerException.class, () -> columns.add(1, null, "Wild"));
+        assertThrows(NullPointerException.class, () -> columns.add(1, "Tom", null));
+    }
+
+    @Test
+    void testWeightColumnOperations() {
+        CatColumns columns = CatColumns.fromCats(cats());
+
+        columns.scaleWeights(3);
+        assertArrayEquals(new int[] { 30, 120, 45, 30, 15 }, Arrays.copyOf(columns.weights(), 5));
+
+        columns.mapWeights(w -> w - 5);
+        assertArrayEquals(new int[] { 25, 115, 40, 25, 10 }, Arrays.copyOf(columns.weights(), 5));
+    }
+
+    @Test
+    void testRenameKind() {
+        CatColumns columns = CatColumns.fromCats(cats());
+
+        assertTrue(columns.renameKind("Street", "Alley"));
+        assertEquals("Alley", columns.row(2).getKind());
+        assertEquals(-1, columns.kindId("Street"));
+        assertEquals(3, columns.kindCount());
+
+        assertTrue(columns.renameKind("Alley", "Wild"));
+        assertEquals("Wild", columns.row(2).getKind());
+        assertEquals(3, columns.countKind("Wild"));
+        assertEquals(-1, columns.kindId("Alley"));
+        assertEquals(2, columns.kindCount());
+        assertFalse(columns.renameKind("Alley", "Street"));
+        assertEquals(-1, columns.kindId("Street"));
+
+        assertTrue(columns.renameKind("Domestic", "Wild"));
+        assertEquals(1, columns.kindCount());
+        assertEquals(0, columns.kindId("Wild"));
+        assertEquals("Wild", columns.row(0).getKind());
+        assertEquals("Wild", columns.row(4).getKind());
+        assertEquals(5, columns.countKind("Wild"));
+
+        assertFalse(columns.renameKind("Unknown", "Wild"));
+        assertTrue(columns.renameKind("Wild", "Wild"));
+    }
+
+    @Test
+    void testFilterAndCountKind() {
+        CatColumns columns = CatColumns.fromCats(cats());
+
+        assertEquals(2, columns.countKind("Domestic"));
+        assertEquals(0, columns.countKind("Unknown"));
+
+        CatColumns wild = columns.filterByKind("Wild");
+
+        assertEquals(2, wild.size());
+        assertEquals(1, wild.kindCount());
+        assertEquals("Leopard", wild.row(0).getName());
+        assertEquals("Felix", wild.row(1).getName());
+        assertEquals(0, columns.filterByKind("Unknown").size());
+    }
+
+    @Test
+    void testSortByWeight() {
+        Random random = new Random(42);
+        List<Cat> cats = new ArrayList<>();
+
+        for (int i = 0; i < 2000; i++) {
+            cats.add(new Cat(random.nextInt(200) - 100, "Cat" + i, i % 2 == 0 ? "Domestic" : "Street"));
+        }
+
+        CatColumns columns = CatColumns.fromCats(cats);
+        List<Cat> expected = new ArrayList<>(cats);
+
+        columns.sortByWeight();
+        expected.sort(Comparator.comparingInt(Cat::getWeight));
+
+        for (int i = 0; i < expected.size(); i++) {
+            CatColumns.Row row = columns.row(i);
+
+            assertEquals(expected.get(i).getWeight(), row.getWeight());
+            assertEquals(expected.get(i).getName(), row.getName());
+            assertEquals(expected.get(i).getKind(), row.getKind());
+        }
+
+        columns.add(-1000, "Last", "Wild");
+        assertEquals(-1000, columns.row(2000).getWeight());
+    }
+
+    @Test
+    void testTransformerAdapters() {
+        CatTransformer<Cat, BigCat> catToBigCat = cat -> new BigCat(cat.getWeight() + 1, cat.getName(),
+                cat.getKind().toUpperCase());
+        CatPipeline<CatColumns, CatColumns> pipeline = CatPipeline.from(CatColumns.scalingWeights(2))
+                .then(CatColumns.mappingWeights(w -> w + 1))
+                .then(CatColumns.renamingKind("Street", "Alley"))
+                .then(CatColumns.rowWise(catToBigCat))
+                .build();
+
+        CatColumns input = CatColumns.fromCats(cats());
+        CatColumns result = pipeline.transform(input);
+
+        assertFalse(input == result);
+        assertEquals(5, result.size());
+        assertEquals(22, result.row(0).getWeight());
+        assertEquals("DOMESTIC", result.row(0).getKind());
+        assertEquals("ALLEY", result.row(2).getKind());
+        assertEquals(21, input.row(0).getWeight());
+    }
+}
@@ -4,11 +4,23 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import io.p4r53c.telran.utils.transformer.BigCat;
 import io.p4r53c.telran.utils.transformer.Cat;
+import io.p4r53c.telran.utils.transformer.CatPipeline;
 import io.p4r53c.telran.utils.transformer.CatTransformer;
+import io.p4r53c.telran.utils.transformer.ExecutionMode;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 class CatTransformerTest {
 
@@ -75,4 +87,270 @@ class CatTransformerTest {
         assertEquals(10, transformedCat.getWeight());
         assertEquals("Domestic", transformedCat.getKind());
     }
-}
\ No newline at end of file
+
+    private static List<Cat> cats(int size) {
+        List<Cat> cats = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            cats.add(new Cat(i, "Cat" + i, i % 2 == 0 ? "Domestic" : "Street"));
+        }
+        return cats;
+    }
+
+    @Test
+    void testTransformAllModesKeepOrder() {
+        CatTransformer<Cat, BigCat> catToBigCat = cat -> new BigCat(cat.getWeight() * 10, cat.getName(),
+                cat.getKind());
+        List<Cat> cats = cats(1000);
+
+        for (ExecutionMode mode : ExecutionMode.values()) {
+            for (int concurrency : new int[] { 1, 3, 64 }) {
+                List<BigCat> bigCats = catToBigCat.transformAll(cats, mode, concurrency);
+
+                assertEquals(cats.size(), bigCats.size());
+                for (int i = 0; i < cats.size(); i++) {
+                    assertEquals(i * 10, bigCats.get(i).getWeight());
+                    assertEquals("Cat" + i, bigCats.get(i).getName());
+                }
+            }
+            assertEquals(0, catToBigCat.transformAll(List.of(), mode).size());
+        }
+    }
+
+    @Test
+    void testTransformAllLinkedList() {
+        CatTransformer<Cat, BigCat> catToBigCat = cat -> new BigCat(cat.getWeight(), cat.getName(), cat.getKind());
+        List<BigCat> bigCats = catToBigCat.transformAll(new LinkedList<>(cats(100)), ExecutionMode.PARALLEL, 4);
+
+        assertEquals(99, bigCats.get(99).getWeight());
+    }
+
+    @Test
+    void testVirtualThreadsBoundConcurrency() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        // Holds the first lookups until two of them are in flight together
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        CatTransformer<Cat, BigCat> blockingLookup = cat -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            bothStarted.countDown();
+            try {
+                bothStarted.await(10, TimeUnit.SECONDS);
+                Thread.sleep(2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+            return new BigCat(cat.getWeight(), cat.getName(), cat.getKind());
+        };
+
+        List<BigCat> bigCats = blockingLookup.transformAll(cats(200), ExecutionMode.VIRTUAL_THREADS, 8);
+
+        assertEquals(200, bigCats.size());
+        assertTrue(maxRunning.get() <= 8);
+        assertTrue(maxRunning.get() > 1);
+    }
+
+    @Test
+    void testTransformAllRethrowsFailure() {
+        CatTransformer<Cat, BigCat> failing = cat -> {
+            if (cat.getWeight() == 777) {
+                throw new IllegalStateException("Lookup failed for " + cat.getName());
+            }
+            return new BigCat(cat.getWeight(), cat.getName(), cat.getKind());
+        };
+
+        for (ExecutionMode mode : ExecutionMode.values()) {
+            assertThrows(IllegalStateException.class, () -> failing.transformAll(cats(1000), mode, 4));
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> failing.transformAll(cats(10), ExecutionMode.PARALLEL, 0));
+    }
+
+    /** Counts how often its string form is built. */
+    private static final class CountingCat extends Cat {
+
+        private final AtomicInteger toStringCalls;
+
+        CountingCat(int weight, AtomicInteger toStringCalls) {
+            super(weight, "Counted", "Domestic");
+            this.toStringCalls = toStringCalls;
+        }
+
+        @Override
+        public String toString() {
+            toStringCalls.incrementAndGet();
+            return super.toString();
+        }
+    }
+
+    @Test
+    void testQuietPathBuildsNoStrings() {
+        // INFO is off for the transformer package, see logback-test.xml
+        assertFalse(CatTransformer.logger.isInfoEnabled());
+
+        AtomicInteger toStringCalls = new AtomicInteger();
+        CatTransformer<Cat, BigCat> catToBigCat = cat -> new BigCat(cat.getWeight(), cat.getName(), cat.getKind());
+        List<Cat> cats = new ArrayList<>();
+
+        for (int i = 0; i < 100; i++) {
+            cats.add(new CountingCat(i, toStringCalls));
+        }
+
+        catToBigCat.verboseTransform(cats.get(0));
+        catToBigCat.sampled(1).verboseTransform(cats.get(0));
+        CatTransformer.transformChain(catToBigCat, bigCat -> bigCat.getName()).verboseTransform(cats.get(0));
+        for (ExecutionMode mode : ExecutionMode.values()) {
+            catToBigCat.transformAll(cats, mode);
+        }
+
+        assertEquals(0, toStringCalls.get());
+    }
+
+    @Test
+    void testSampledTransformer() {
+        CatTransformer<Cat, BigCat> catToBigCat = cat -> new BigCat(cat.getWeight(), cat.getName(), cat.getKind());
+        CatTransformer<Cat, BigCat> sampled = catToBigCat.sampled(10);
+        List<BigCat> bigCats = sampled.transformAll(cats(50), ExecutionMode.PARALLEL, 4);
+
+        assertEquals(49, bigCats.get(49).getWeight());
+        assertEquals("Cat7", sampled.verboseTransform(new Cat(7, "Cat7", "Street")).getName());
+        assertThrows(IllegalArgumentException.class, () -> catToBigCat.sampled(0));
+    }
+
+    @Test
+    void testPipelineFlattensChains() {
+        CatTransformer<Cat, BigCat> catToBigCat = cat -> new BigCat(cat.getWeight(), cat.getName(), cat.getKind());
+        CatTransformer<BigCat, Cat> bigCatToCat = bigCat -> new Cat(bigCat.getWeight() + 1, bigCat.getName(),
+                bigCat.getKind());
+
+        CatPipeline<Cat, Cat> roundTrip = CatPipeline.from(catToBigCat).then(bigCatToCat).build();
+        CatPipeline<Cat, String> pipeline = CatPipeline.from(roundTrip)
+                .then(roundTrip)
+                .then(CatTransformer.transformChain(catToBigCat, bigCatToCat))
+                .then(Cat::getName)
+                .build();
+
+        assertEquals(7, pipeline.stages());
+        assertEquals("Kitty", pipeline.verboseTransform(new Cat(10, "Kitty", "Domestic")));
+        assertEquals(13, roundTrip.transform(new Cat(12, "Tom", "Street")).getWeight());
+    }
+
+    @Test
+    void testPipelineBuilderBranches() {
+        CatTransformer<Cat, Cat> heavier = cat -> new Cat(cat.getWeight() + 1, cat.getName(), cat.getKind());
+        CatPipeline.Builder<Cat, Cat> prefix = CatPipeline.from(heavier);
+
+        CatPipeline<Cat, String> names = prefix.then(Cat::getName).build();
+        CatPipeline<Cat, Integer> weights = prefix.then(Cat::getWeight).build();
+        CatPipeline<Cat, Cat> twice = prefix.then(heavier).build();
+
+        assertEquals(2, names.stages());
+        assertEquals(2, weights.stages());
+        assertEquals(1, prefix.build().stages());
+        assertEquals("Tom", names.transform(new Cat(1, "Tom", "Street")));
+        assertEquals(2, (int) weights.transform(new Cat(1, "Tom", "Street")));
+        assertEquals(3, twice.transform(new Cat(1, "Tom", "Street")).getWeight());
+    }
+
+    @Test
+    void testPipelineBatches() {
+        CatTransformer<Cat, BigCat> catToBigCat = cat -> new BigCat(cat.getWeight(), cat.getName(), cat.getKind());
+        CatPipeline<Cat, Integer> pipeline = CatPipeline.from(catToBigCat)
+                .then(bigCat -> new BigCat(bigCat.getWeight() * 2, bigCat.getName(), bigCat.getKind()))
+                .then(BigCat::getWeight)
+                .build();
+
+        for (int size : new int[] { 0, 1, 255, 256, 257, 1000 }) {
+            List<Cat> cats = cats(size);
+            List<Integer> weights = pipeline.transformAll(new LinkedList<>(cats));
+            Integer[] destination = new Integer[size + 1];
+
+            pipeline.transformAll(cats.toArray(new Cat[0]), destination);
+
+            assertEquals(size, weights.size());
+            for (int i = 0; i < size; i++) {
+                assertEquals(2 * i, (int) weights.get(i));
+                assertEquals(2 * i, (int) destination[i]);
+            }
+            assertNull(destination[size]);
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> pipeline.transformAll(new Cat[] { new Cat(1, "a", "b") }, new Integer[0]));
+    }
+
+    @Test
+    void testTransformIteratorIsLazyAndBounded() {
+        CatTransformer<Cat, BigCat> catToBigCat = cat -> new BigCat(cat.getWeight(), cat.getName(), cat.getKind());
+        Iterator<Cat> cats = cats(100).iterator();
+        AtomicInteger pulled = new AtomicInteger();
+        Iterator<Cat> counting = new Iterator<>() {
+
+            @Override
+            public boolean hasNext() {
+                return cats.hasNext();
+            }
+
+            @Override
+            public Cat next() {
+                pulled.incrementAndGet();
+                return cats.next();
+            }
+        };
+
+        Iterator<BigCat> bigCats = catToBigCat.transformIterator(counting, 7);
+
+        assertEquals(0, pulled.get());
+        assertEquals(0, bigCats.next().getWeight());
+        assertEquals(7, pulled.get());
+
+        for (int i = 1; i < 100; i++) {
+            assertEquals(i, bigCats.next().getWeight());
+            assertTrue(pulled.get() - i <= 7);
+        }
+        assertFalse(bigCats.hasNext());
+        assertThrows(IllegalArgumentException.class, () -> catToBigCat.transformIterator(counting, 0));
+    }
+
+    @Test
+    void testTransformStream() {
+        CatTransformer<Cat, BigCat> catToBigCat = cat -> new BigCat(cat.getWeight(), cat.getName(), cat.getKind());
+        AtomicBoolean closed = new AtomicBoolean();
+
+        // An endless source works as long as the consumer stops
+        try (Stream<BigCat> bigCats = catToBigCat.transformStream(
+                Stream.iterate(0, i -> i + 1).map(i -> new Cat(i, "Cat" + i, "Street")).onClose(() -> closed.set(true)),
+                16)) {
+            assertEquals(4950, bigCats.limit(100).mapToInt(BigCat::getWeight).sum());
+        }
+        assertTrue(closed.get());
+
+        List<Integer> weights = catToBigCat.transformStream(cats(10_000).parallelStream())
+                .map(BigCat::getWeight)
+                .collect(Collectors.toList());
+
+        assertEquals(10_000, weights.size());
+        for (int i = 0; i < weights.size(); i++) {
+            assertEquals(i, (int) weights.get(i));
+        }
+    }
+
+    @Test
+    void testPipelineSpliterator() {
+        CatTransformer<Cat, BigCat> catToBigCat = cat -> new BigCat(cat.getWeight(), cat.getName(), cat.getKind());
+        CatPipeline<Cat, String> pipeline = CatPipeline.from(catToBigCat).then(BigCat::getName).build();
+        Spliterator<String> names = pipeline.transformSpliterator(cats(1000).spliterator(), 100);
+
+        assertEquals(1000, names.estimateSize());
+        assertTrue(names.hasCharacteristics(Spliterator.SIZED | Spliterator.ORDERED));
+        assertTrue(names.tryAdvance(name -> assertEquals("Cat0", name)));
+        assertEquals(999, names.estimateSize());
+        assertNull(names.trySplit());
+
+        List<String> rest = new ArrayList<>();
+
+        names.forEachRemaining(rest::add);
+        assertEquals(999, rest.size());
+        assertEquals("Cat999", rest.get(998));
+    }
+}
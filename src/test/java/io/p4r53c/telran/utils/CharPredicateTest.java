@@ -0,0 +1,49 @@
+package io.p4r53c.telran.utils;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class CharPredicateTest {
+
+    @Test
+    void testMethodReference() {
+        CharPredicate isDigit = Character::isDigit;
+
+        assertTrue(isDigit.test('7'));
+        assertFalse(isDigit.test('x'));
+    }
+
+    @Test
+    void testCombinators() {
+        CharPredicate letter = CharPredicate.range('a', 'z').or(CharPredicate.range('A', 'Z'));
+        CharPredicate consonant = letter.and(CharPredicate.not(CharPredicate.anyOf("aeiouAEIOU")));
+
+        assertTrue(consonant.test('b'));
+        assertTrue(consonant.test('Z'));
+        assertFalse(consonant.test('e'));
+        assertFalse(consonant.test('1'));
+        assertTrue(consonant.negate().test('1'));
+    }
+
+    @Test
+    void testRangeBounds() {
+        CharPredicate range = CharPredicate.range('b', 'd');
+
+        assertFalse(range.test('a'));
+        assertTrue(range.test('b'));
+        assertTrue(range.test('d'));
+        assertFalse(range.test('e'));
+        assertTrue(CharPredicate.range(Character.MAX_VALUE, Character.MAX_VALUE).test(Character.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> CharPredicate.range('z', 'a'));
+    }
+
+    @Test
+    void testIsAndBoxedAdapter() {
+        assertTrue(CharPredicate.is('.').test('.'));
+        assertFalse(CharPredicate.is('.').test(','));
+        assertTrue(CharPredicate.of(ch -> ch == '\u0416').test('\u0416'));
+    }
+}
@@ -0,0 +1,61 @@
+package io.p4r53c.telran.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Covers the insertion, widening and counting paths of
+ * {@link CountingSorter}.
+ */
+class CountingSorterTest {
+
+    private static final int[] LENGTHS = { 0, 1, 32, 33, 1000, CountingSorter.COUNTING_SORT_THRESHOLD, 100_000 };
+
+    private final Random random = new Random(17);
+
+    @Test
+    void testSortShorts() {
+        for (int length : LENGTHS) {
+            short[] array = new short[length];
+
+            for (int i = 0; i < length; i++) {
+                array[i] = (short) random.nextInt();
+            }
+
+            short[] expected = array.clone();
+            Arrays.sort(expected);
+
+            CountingSorter.sort(array, 0, length);
+            assertArrayEquals(expected, array);
+        }
+    }
+
+    @Test
+    void testSortChars() {
+        for (int length : LENGTHS) {
+            char[] array = new char[length];
+
+            for (int i = 0; i < length; i++) {
+                array[i] = (char) random.nextInt();
+            }
+
+            char[] expected = array.clone();
+            Arrays.sort(expected);
+
+            CountingSorter.sort(array, 0, length);
+            assertArrayEquals(expected, array);
+        }
+    }
+
+    @Test
+    void testSortSubRange() {
+        short[] array = { 9, 8, 7, 3, 2, 1, 0 };
+
+        CountingSorter.sort(array, 1, 5);
+        assertArrayEquals(new short[] { 9, 2, 3, 7, 8, 1, 0 }, array);
+    }
+}
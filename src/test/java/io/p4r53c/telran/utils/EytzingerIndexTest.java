@@ -0,0 +1,59 @@
+package io.p4r53c.telran.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class EytzingerIndexTest {
+
+    @Test
+    void testSearchMatchesBinarySearch() {
+        Random random = new Random(42);
+
+        for (int n = 0; n < 300; n++) {
+            int[] sorted = new int[n];
+
+            for (int i = 0; i < n; i++) {
+                // Narrow range gives plenty of duplicates and misses
+                sorted[i] = random.nextInt(n + 1) * 2;
+            }
+            Arrays.sort(sorted);
+
+            EytzingerIndex index = EytzingerIndex.of(sorted);
+
+            assertEquals(n, index.size());
+            for (int value = -1; value <= 2 * n + 3; value++) {
+                assertEquals(ArraysUtils.binarySearch(sorted, value), index.search(value));
+                assertEquals(ArraysUtils.lowerBound(sorted, value), index.lowerBound(value));
+            }
+        }
+    }
+
+    @Test
+    void testExtremeValues() {
+        int[] sorted = { Integer.MIN_VALUE, -1, 0, Integer.MAX_VALUE };
+        EytzingerIndex index = EytzingerIndex.of(sorted);
+
+        assertEquals(0, index.search(Integer.MIN_VALUE));
+        assertEquals(3, index.search(Integer.MAX_VALUE));
+        assertEquals(1, index.search(-1));
+        assertEquals(-2, index.search(-2));
+    }
+
+    @Test
+    void testEmptyIndex() {
+        EytzingerIndex index = EytzingerIndex.of(new int[] {});
+
+        assertEquals(-1, index.search(5));
+        assertEquals(0, index.lowerBound(5));
+    }
+
+    @Test
+    void testUnsortedArrayRejected() {
+        assertThrows(IllegalArgumentException.class, () -> EytzingerIndex.of(new int[] { 1, 3, 2 }));
+    }
+}
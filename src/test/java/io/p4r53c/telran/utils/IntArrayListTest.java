@@ -0,0 +1,105 @@
+package io.p4r53c.telran.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class IntArrayListTest {
+
+    private static final int N_ELEMENTS = 1000;
+
+    private IntArrayList list;
+
+    @BeforeEach
+    void setUp() {
+        list = new IntArrayList(new int[] { 8, 3, 4, 55, -15 });
+    }
+
+    @Test
+    void testAddGrowsFromZeroCapacity() {
+        IntArrayList grown = new IntArrayList(0);
+
+        for (int i = 0; i < N_ELEMENTS; i++) {
+            grown.add(i);
+        }
+        assertEquals(N_ELEMENTS, grown.size());
+        assertEquals(N_ELEMENTS - 1, grown.get(N_ELEMENTS - 1));
+    }
+
+    @Test
+    void testInsertAndRemove() {
+        list.add(0, 255);
+        list.add(3, 100);
+        list.add(list.size(), -1);
+        assertArrayEquals(new int[] { 255, 8, 3, 100, 4, 55, -15, -1 }, list.toArray());
+
+        assertEquals(100, list.removeAt(3));
+        assertEquals(255, list.removeAt(0));
+        assertEquals(-1, list.removeAt(list.size() - 1));
+        assertArrayEquals(new int[] { 8, 3, 4, 55, -15 }, list.toArray());
+    }
+
+    @Test
+    void testSetAndGet() {
+        assertEquals(4, list.set(2, 40));
+        assertEquals(40, list.get(2));
+    }
+
+    @Test
+    void testIndexOutOfBounds() {
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(5));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.add(6, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.removeAt(-1));
+        assertThrows(IllegalArgumentException.class, () -> new IntArrayList(-1));
+    }
+
+    @Test
+    void testAddSortedKeepsOrder() {
+        IntArrayList sorted = new IntArrayList();
+        Random random = new Random();
+
+        for (int i = 0; i < N_ELEMENTS; i++) {
+            sorted.addSorted(random.nextInt(100));
+        }
+        assertTrue(ArraysUtils.isSorted(sorted.toArray()));
+        assertEquals(1, new IntArrayList(new int[] { 1, 2, 2, 3 }).binarySearch(2));
+    }
+
+    @Test
+    void testBinarySearch() {
+        IntArrayList sorted = new IntArrayList(new int[] { -15, 3, 4, 8, 55 });
+
+        assertEquals(3, sorted.binarySearch(8));
+        assertEquals(-6, sorted.binarySearch(256));
+        assertEquals(2, sorted.addSorted(3));
+    }
+
+    @Test
+    void testBackingArrayIsZeroCopy() {
+        list.ensureCapacity(100);
+
+        int[] backing = list.backingArray();
+
+        list.add(7);
+        assertSame(backing, list.backingArray());
+        assertEquals(7, backing[5]);
+
+        list.trimToSize();
+        assertEquals(list.size(), list.backingArray().length);
+    }
+
+    @Test
+    void testClearAndToString() {
+        assertEquals("[8, 3, 4, 55, -15]", list.toString());
+        list.clear();
+        assertTrue(list.isEmpty());
+        assertEquals("[]", list.toString());
+    }
+}
@@ -0,0 +1,71 @@
+package io.p4r53c.telran.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class IntScansTest {
+
+    private static final int MAX_LENGTH = 100;
+
+    private final Random random = new Random(15);
+
+    private int[] randomSortedArray(int length) {
+        int[] array = new int[length];
+
+        for (int i = 1; i < length; i++) {
+            array[i] = array[i - 1] + random.nextInt(3);
+        }
+        return array;
+    }
+
+    @Test
+    void testIndexOfMatchesScalar() {
+        for (int length = 0; length <= MAX_LENGTH; length++) {
+            int[] array = random.ints(length, 0, 20).toArray();
+
+            for (int value = -1; value <= 20; value++) {
+                int expected = IntScans.scalarIndexOf(array, value);
+
+                assertEquals(expected, IntScans.indexOf(array, value));
+                assertEquals(expected, IntVectorKernels.indexOf(array, value));
+            }
+        }
+    }
+
+    @Test
+    void testDescentsMatchScalar() {
+        for (int length = 0; length <= MAX_LENGTH; length++) {
+            for (int n = 0; n < 20; n++) {
+                int[] array = randomSortedArray(length);
+
+                // Break the order at up to two random places
+                for (int k = random.nextInt(3); k > 0 && length > 1; k--) {
+                    array[random.nextInt(length)] = random.nextInt(length * 2);
+                }
+
+                int from = random.nextInt(length + 1);
+                int to = from + random.nextInt(length - from + 1);
+
+                assertEquals(IntScans.scalarFirstDescent(array, 0, length), IntScans.firstDescent(array));
+                assertEquals(IntScans.scalarFirstDescent(array, from, to), IntVectorKernels.firstDescent(array, from, to));
+                assertEquals(IntScans.scalarLastDescent(array), IntScans.lastDescent(array));
+                assertEquals(IntScans.scalarLastDescent(array), IntVectorKernels.lastDescent(array));
+            }
+        }
+    }
+
+    @Test
+    void testDescentsAtEnds() {
+        int[] array = { 5, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 0 };
+
+        assertEquals(0, IntVectorKernels.firstDescent(array, 0, array.length));
+        assertEquals(array.length - 2, IntVectorKernels.firstDescent(array, 1, array.length));
+        assertEquals(-1, IntVectorKernels.firstDescent(array, 1, array.length - 1));
+        assertEquals(array.length - 2, IntVectorKernels.lastDescent(array));
+        assertEquals(-1, IntVectorKernels.firstDescent(new int[] { 1 }, 0, 1));
+        assertEquals(-1, IntVectorKernels.lastDescent(new int[0]));
+    }
+}
@@ -0,0 +1,91 @@
+package io.p4r53c.telran.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks every strategy of {@link IntSorter} directly, the public entry point
+ * only reaches some of them for a given input.
+ */
+class IntSorterTest {
+
+    private static final int N_ELEMENTS = 5000;
+
+    private int[] randomArray;
+    private int[] expected;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(42);
+
+        randomArray = new int[N_ELEMENTS];
+        for (int i = 0; i < N_ELEMENTS; i++) {
+            randomArray[i] = random.nextInt();
+        }
+        // A few extremes to exercise the radix sign flip
+        randomArray[0] = Integer.MIN_VALUE;
+        randomArray[1] = Integer.MAX_VALUE;
+        randomArray[2] = 0;
+        randomArray[3] = -1;
+
+        expected = randomArray.clone();
+        Arrays.sort(expected);
+    }
+
+    @Test
+    void testInsertionSort() {
+        IntSorter.insertionSort(randomArray, 0, N_ELEMENTS);
+        assertArrayEquals(expected, randomArray);
+    }
+
+    @Test
+    void testIntroSort() {
+        IntSorter.introSort(randomArray, 0, N_ELEMENTS - 1, 64);
+        assertArrayEquals(expected, randomArray);
+    }
+
+    @Test
+    void testIntroSortFallsBackToHeapSort() {
+        IntSorter.introSort(randomArray, 0, N_ELEMENTS - 1, 0);
+        assertArrayEquals(expected, randomArray);
+    }
+
+    @Test
+    void testHeapSort() {
+        IntSorter.heapSort(randomArray, 0, N_ELEMENTS);
+        assertArrayEquals(expected, randomArray);
+    }
+
+    @Test
+    void testRadixSort() {
+        IntSorter.radixSort(randomArray, 0, N_ELEMENTS);
+        assertArrayEquals(expected, randomArray);
+    }
+
+    @Test
+    void testSortSubRange() {
+        int[] array = { 9, 8, 3, 1, 2, 0 };
+
+        IntSorter.sort(array, 1, 5);
+        assertArrayEquals(new int[] { 9, 1, 2, 3, 8, 0 }, array);
+    }
+
+    @Test
+    void testFinishIfMonotonic() {
+        int[] ascending = { 1, 2, 2, 3 };
+        int[] descending = { 5, 4, 4, 1 };
+        int[] mixed = { 1, 3, 2, 4 };
+
+        assertTrue(IntSorter.finishIfMonotonic(ascending, 0, ascending.length));
+        assertTrue(IntSorter.finishIfMonotonic(descending, 0, descending.length));
+        assertArrayEquals(new int[] { 1, 4, 4, 5 }, descending);
+        assertFalse(IntSorter.finishIfMonotonic(mixed, 0, mixed.length));
+    }
+}
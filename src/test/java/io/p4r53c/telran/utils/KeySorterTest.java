@@ -0,0 +1,134 @@
+package io.p4r53c.telran.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares {@link KeySorter} with the stable {@link Arrays#sort(Object[],
+ * Comparator)} on keys with many duplicates, so stability is checked too.
+ */
+class KeySorterTest {
+
+    private static final int[] LENGTHS = { 0, 1, 2, 31, 33, 1000, 20_000 };
+
+    private final Random random = new Random(18);
+
+    private User[] users(int length, int distinctIds, int loginLength) {
+        User[] users = new User[length];
+
+        for (int i = 0; i < length; i++) {
+            StringBuilder login = new StringBuilder();
+            int chars = random.nextInt(loginLength + 1);
+
+            for (int c = 0; c < chars; c++) {
+                login.append((char) ('a' + random.nextInt(3)));
+            }
+            users[i] = new User(random.nextInt(distinctIds) - distinctIds / 2, login.toString());
+        }
+        return users;
+    }
+
+    @Test
+    void testSortByIntKey() {
+        for (int length : LENGTHS) {
+            User[] users = users(length, 50, 3);
+            User[] expected = users.clone();
+
+            Arrays.sort(expected, new UserIdComparator());
+            KeySorter.sortByInt(users, User::getUserId);
+
+            assertArrayIdentical(expected, users);
+        }
+    }
+
+    @Test
+    void testSortByIntKeyExtremes() {
+        User[] users = { new User(Integer.MAX_VALUE, "a"), new User(0, "b"), new User(Integer.MIN_VALUE, "c"),
+                new User(-1, "d"), new User(Integer.MIN_VALUE, "e") };
+
+        KeySorter.sortByInt(users, User::getUserId);
+
+        assertEquals("cedba", logins(users));
+    }
+
+    @Test
+    void testSortByLongKey() {
+        for (int length : LENGTHS) {
+            User[] users = users(length, 50, 3);
+            User[] expected = users.clone();
+            Comparator<User> byKey = Comparator.comparingLong(u -> (long) u.getUserId() << 40);
+
+            Arrays.sort(expected, byKey);
+            KeySorter.sortByLong(users, u -> (long) u.getUserId() << 40);
+
+            assertArrayIdentical(expected, users);
+        }
+    }
+
+    @Test
+    void testSortByStringKey() {
+        for (int loginLength : new int[] { 2, 4, 9 }) {
+            for (int length : LENGTHS) {
+                User[] users = users(length, 1000, loginLength);
+                User[] expected = users.clone();
+
+                Arrays.sort(expected, new UserLoginComparator());
+                KeySorter.sortByString(users, User::getUserLogin);
+
+                assertArrayIdentical(expected, users);
+            }
+        }
+    }
+
+    @Test
+    void testSortByStringKeyHighChars() {
+        String[] strings = { "\uFFFF", "a\u0000", "a", "", "\u00e9t\u00e9", "abcd\uFFFF", "abcd", "abcda" };
+        String[] expected = strings.clone();
+
+        Arrays.sort(expected);
+        KeySorter.sortByString(strings, s -> s);
+
+        assertArrayEquals(expected, strings);
+    }
+
+    @Test
+    void testSortByStringKeyNullKey() {
+        User[] users = { new User(1, "b"), new User(2, null) };
+
+        assertThrows(NullPointerException.class, () -> KeySorter.sortByString(users, User::getUserLogin));
+    }
+
+    @Test
+    void testPermute() {
+        Integer[] array = { 10, 11, 12, 13, 14, 15 };
+
+        KeySorter.permute(array, new int[] { 3, 0, 1, 2, 5, 4 });
+
+        assertArrayEquals(new Integer[] { 13, 10, 11, 12, 15, 14 }, array);
+    }
+
+    private static String logins(User[] users) {
+        StringBuilder builder = new StringBuilder();
+
+        for (User user : users) {
+            builder.append(user.getUserLogin());
+        }
+        return builder.toString();
+    }
+
+    private static void assertArrayIdentical(Object[] expected, Object[] actual) {
+        assertEquals(expected.length, actual.length);
+
+        for (int i = 0; i < expected.length; i++) {
+            assertSame(expected[i], actual[i]);
+        }
+    }
+}
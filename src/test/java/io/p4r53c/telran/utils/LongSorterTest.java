@@ -0,0 +1,96 @@
+package io.p4r53c.telran.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks the strategies of {@link LongSorter} on lengths that reach each of
+ * them, and the double mapping on the values where Double.compare differs from
+ * the primitive comparison.
+ */
+class LongSorterTest {
+
+    private static final int[] LENGTHS = { 0, 1, 2, 31, 33, 5000, LongSorter.RADIX_SORT_THRESHOLD + 1 };
+
+    private final Random random = new Random(17);
+
+    @Test
+    void testSortLongs() {
+        for (int length : LENGTHS) {
+            long[] array = random.longs(length).toArray();
+
+            if (length > 2) {
+                array[0] = Long.MIN_VALUE;
+                array[1] = Long.MAX_VALUE;
+                array[2] = -1;
+            }
+
+            long[] expected = array.clone();
+            Arrays.sort(expected);
+
+            LongSorter.sort(array, 0, length);
+            assertArrayEquals(expected, array);
+        }
+    }
+
+    @Test
+    void testSortReversedAndDuplicateLongs() {
+        long[] array = new long[5000];
+
+        for (int i = 0; i < array.length; i++) {
+            array[i] = (array.length - i) / 3;
+        }
+
+        long[] expected = array.clone();
+        Arrays.sort(expected);
+
+        LongSorter.sort(array, 0, array.length);
+        assertArrayEquals(expected, array);
+    }
+
+    @Test
+    void testSortDoubles() {
+        for (int length : LENGTHS) {
+            double[] array = new double[length];
+
+            for (int i = 0; i < length; i++) {
+                array[i] = random.nextGaussian() * 1e6;
+            }
+            if (length > 6) {
+                array[0] = -0.0;
+                array[1] = 0.0;
+                array[2] = Double.NaN;
+                array[3] = Double.NEGATIVE_INFINITY;
+                array[4] = Double.POSITIVE_INFINITY;
+                array[5] = -Double.MIN_VALUE;
+                array[6] = Double.longBitsToDouble(0xfff8000000000001L);
+            }
+
+            double[] expected = array.clone();
+            Arrays.sort(expected);
+
+            LongSorter.sort(array, 0, length);
+            assertArrayEquals(expected, array);
+        }
+    }
+
+    @Test
+    void testSortableBitsRoundTrip() {
+        double[] values = { -0.0, 0.0, -1.5, 1.5, Double.MAX_VALUE, -Double.MAX_VALUE, Double.MIN_VALUE };
+
+        for (double a : values) {
+            assertEquals(Double.doubleToRawLongBits(a),
+                    Double.doubleToRawLongBits(LongSorter.fromSortableBits(LongSorter.toSortableBits(a))));
+
+            for (double b : values) {
+                assertEquals(Integer.signum(Double.compare(a, b)),
+                        Integer.signum(Long.compare(LongSorter.toSortableBits(a), LongSorter.toSortableBits(b))));
+            }
+        }
+    }
+}
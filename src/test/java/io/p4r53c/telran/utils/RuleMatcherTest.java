@@ -4,7 +4,20 @@ import io.p4r53c.telran.utils.emums.ErrorString;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.LinkedList;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 
 /**
@@ -101,4 +114,280 @@ class RuleMatcherTest {
                 ErrorString.DOT_REQUIRED.getErrorMessage()),
                 result);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCompiledMatcherMatchesMatchesRules() {
+        RuleMatcher matcher = RuleMatcher.compile(mustBeRules, mustNotBeRules);
+        char[][] inputs = {
+                {}, { ' ', ' ' }, { 'a', 'n', '*', '.', ' ' }, { 'a', 'n', '*', 'G', '.', '.', '1' },
+                { 'a', 'n', '*', 'G', '.', '.', '1', ' ' }, { 'A', 'a', '1', '.', 'b', ' ', 'c' }
+        };
+
+        for (char[] input : inputs) {
+            assertEquals(ArraysUtils.matchesRules(input, mustBeRules, mustNotBeRules), matcher.match(input));
+        }
+    }
+
+    @Test
+    void testCompiledMatcherRandomInputs() {
+        CharacterRule[] notRules = {
+                new CharacterRule(false, Character::isWhitespace, ErrorString.SPACES_NOT_ALLOWED),
+                new CharacterRule(false, Character::isDigit, ErrorString.DIGIT_REQUIRED),
+                new CharacterRule(false, ch -> ch == '\t', ErrorString.SPACES_NOT_ALLOWED)
+        };
+        CharacterRule[] beRules = {
+                mustBeRules[0],
+                new CharacterRule(false, Character::isLowerCase, ErrorString.LOWERCASE_REQUIRED),
+                mustBeRules[3],
+                new CharacterRule(true, Character::isUpperCase, ErrorString.DOT_REQUIRED)
+        };
+        RuleMatcher matcher = RuleMatcher.compile(beRules, notRules);
+        String alphabet = "aB3. \t\u00e9\u0416";
+        Random random = new Random(11);
+
+        for (int n = 0; n < 2000; n++) {
+            char[] input = new char[random.nextInt(12)];
+
+            for (int i = 0; i < input.length; i++) {
+                input[i] = alphabet.charAt(random.nextInt(alphabet.length()));
+            }
+            assertEquals(ArraysUtils.matchesRules(input, beRules, notRules), matcher.match(input));
+        }
+    }
+
+    @Test
+    void testCompiledMatcherRange() {
+        RuleMatcher matcher = RuleMatcher.compile(mustBeRules, mustNotBeRules);
+        char[] input = { ' ', 'A', 'a', '1', '.', ' ' };
+
+        assertEquals(EMPTY_STRING, matcher.match(input, 1, 5));
+        assertThrows(IndexOutOfBoundsException.class, () -> matcher.match(input, 2, 7));
+    }
+
+    @Test
+    void testCompileTooManyRules() {
+        CharacterRule[] rules = new CharacterRule[RuleMatcher.MAX_RULES + 1];
+
+        Arrays.fill(rules, mustBeRules[0]);
+        assertThrows(IllegalArgumentException.class, () -> RuleMatcher.compile(rules, new CharacterRule[0]));
+    }
+
+    @Test
+    void testPrimitiveRulesMatchBoxedRules() {
+        CharacterRule[] primitiveMustBeRules = {
+                CharacterRule.mustBe(Character::isUpperCase, ErrorString.UPPERCASE_REQUIRED),
+                CharacterRule.mustBe(Character::isLowerCase, ErrorString.LOWERCASE_REQUIRED),
+                CharacterRule.mustBe(Character::isDigit, ErrorString.DIGIT_REQUIRED),
+                CharacterRule.mustBe(CharPredicate.is('.'), ErrorString.DOT_REQUIRED)
+        };
+        CharacterRule[] primitiveMustNotBeRules = {
+                CharacterRule.mustNotBe(Character::isWhitespace, ErrorString.SPACES_NOT_ALLOWED)
+        };
+        char[][] inputs = { {}, { ' ', ' ' }, { 'a', 'n', '*', '.', ' ' }, { 'a', 'n', '*', 'G', '.', '.', '1' } };
+
+        for (char[] input : inputs) {
+            assertEquals(ArraysUtils.matchesRules(input, mustBeRules, mustNotBeRules),
+                    ArraysUtils.matchesRules(input, primitiveMustBeRules, primitiveMustNotBeRules));
+        }
+    }
+
+    @Test
+    void testErrorMaskMatchesMessages() {
+        RuleMatcher matcher = RuleMatcher.compile(mustBeRules, mustNotBeRules);
+        char[][] inputs = {
+                {}, { ' ', ' ' }, { 'a', 'n', '*', '.', ' ' }, { 'a', 'n', '*', 'G', '.', '.', '1' },
+                { 'a', 'n', '*', 'G', '.', '.', '1', ' ' }, { 'a', 'n', '*', '.', '.', '1' }
+        };
+
+        for (char[] input : inputs) {
+            long mask = matcher.errorMask(input);
+
+            assertEquals(ArraysUtils.matchesRules(input, mustBeRules, mustNotBeRules), matcher.message(mask));
+            assertEquals(mask, matcher.errorMask(new String(input)));
+        }
+        assertEquals(0L, matcher.errorMask(new char[] { 'A', 'a', '1', '.' }));
+        assertEquals(EnumSet.of(ErrorString.SPACES_NOT_ALLOWED, ErrorString.DIGIT_REQUIRED),
+                RuleMatcher.errors(matcher.errorMask(new char[] { 'A', 'a', ' ', '.' })));
+    }
+
+    @Test
+    void testErrorMaskMessagesWithSharedError() {
+        // DIGIT_REQUIRED is raised both by a missing digit and by a space
+        CharacterRule[] sharedMustBeRules = {
+                new CharacterRule(true, Character::isUpperCase, ErrorString.UPPERCASE_REQUIRED),
+                new CharacterRule(true, Character::isDigit, ErrorString.DIGIT_REQUIRED),
+                new CharacterRule(true, ch -> ch == '.', ErrorString.DOT_REQUIRED)
+        };
+        CharacterRule[] sharedMustNotBeRules = {
+                new CharacterRule(false, Character::isWhitespace, ErrorString.DIGIT_REQUIRED)
+        };
+        RuleMatcher matcher = RuleMatcher.compile(sharedMustBeRules, sharedMustNotBeRules);
+        String[] inputs = { "a b", "a 1", "A b.", "A b1.", "A1.", "A.", "a1.", " " };
+
+        for (String input : inputs) {
+            char[] chars = input.toCharArray();
+            String expected = ArraysUtils.matchesRules(chars, sharedMustBeRules, sharedMustNotBeRules);
+
+            assertEquals(expected, matcher.match(chars));
+            assertEquals(expected, matcher.message(matcher.errorMask(chars)));
+        }
+
+        // Only the must-be rule is broken, which the mask cannot tell apart
+        assertEquals("At least one uppercase letter required, At least one digit required",
+                matcher.match("a.".toCharArray()));
+        assertEquals("At least one digit required, At least one uppercase letter required",
+                matcher.message(matcher.errorMask("a.".toCharArray())));
+    }
+
+    @Test
+    void testErrorMasksForAllInputLayouts() {
+        RuleMatcher matcher = RuleMatcher.compile(mustBeRules, mustNotBeRules);
+        String[] words = { "Ab1.", "", "no digits.", "A b1.", "UPPER1.", "x" };
+        char[][] inputs = new char[words.length][];
+        int[] offsets = new int[words.length + 1];
+        StringBuilder packed = new StringBuilder();
+
+        for (int i = 0; i < words.length; i++) {
+            inputs[i] = words[i].toCharArray();
+            packed.append(words[i]);
+            offsets[i + 1] = packed.length();
+        }
+
+        long[] expected = new long[words.length];
+
+        for (int i = 0; i < words.length; i++) {
+            expected[i] = matcher.errorMask(inputs[i]);
+        }
+
+        assertArrayEquals(expected, matcher.errorMasks(inputs));
+        assertArrayEquals(expected, matcher.errorMasks(inputs, 1));
+        assertArrayEquals(expected, matcher.errorMasks(Arrays.asList(words)));
+        assertArrayEquals(expected, matcher.errorMasks(new LinkedList<>(Arrays.asList(words)), 1));
+        assertArrayEquals(expected, matcher.errorMasks(packed.toString().toCharArray(), offsets));
+        assertArrayEquals(expected, matcher.errorMasks(packed.toString().toCharArray(), offsets, 1));
+        assertThrows(IllegalArgumentException.class, () -> matcher.errorMasks(inputs, 0));
+    }
+
+    @Test
+    void testStreamingMatchesArrayMatch() throws IOException {
+        RuleMatcher matcher = RuleMatcher.compile(mustBeRules, mustNotBeRules);
+        String[] inputs = { "", "  ", "an*. ", "an*G..1", "an*G..1 ", "an*..1" };
+
+        for (String input : inputs) {
+            String expected = ArraysUtils.matchesRules(input.toCharArray(), mustBeRules, mustNotBeRules);
+
+            assertEquals(expected, matcher.match(new StringReader(input), false));
+            assertEquals(expected, matcher.match(CharBuffer.wrap(input), false));
+            assertEquals(expected, matcher.match(CharBuffer.wrap(input.toCharArray()), false));
+        }
+    }
+
+    @Test
+    void testStreamingFailFast() throws IOException {
+        RuleMatcher matcher = RuleMatcher.compile(mustBeRules, mustNotBeRules);
+        StringBuilder input = new StringBuilder("a b");
+
+        input.append("x".repeat(100_000));
+
+        assertEquals(ErrorString.SPACES_NOT_ALLOWED.getErrorMessage(),
+                matcher.match(new StringReader(input.toString()), true));
+        assertEquals(String.join(", ",
+                ErrorString.SPACES_NOT_ALLOWED.getErrorMessage(),
+                ErrorString.UPPERCASE_REQUIRED.getErrorMessage(),
+                ErrorString.DIGIT_REQUIRED.getErrorMessage(),
+                ErrorString.DOT_REQUIRED.getErrorMessage()),
+                matcher.match(new StringReader(input.toString()), false));
+    }
+
+    @Test
+    void testCharBufferPositionIsKept() {
+        RuleMatcher matcher = RuleMatcher.compile(mustBeRules, mustNotBeRules);
+        CharBuffer buffer = CharBuffer.wrap(" Aa1.".toCharArray());
+
+        buffer.position(1);
+
+        assertEquals(EMPTY_STRING, matcher.match(buffer, false));
+        assertEquals(1, buffer.position());
+    }
+
+    @Test
+    void testFailFastReportsEveryRuleOfTheFirstViolatingCharacter() throws IOException {
+        CharacterRule[] twoMustNotBeRules = {
+                new CharacterRule(false, Character::isWhitespace, ErrorString.SPACES_NOT_ALLOWED),
+                new CharacterRule(false, ch -> ch == '\t', ErrorString.DOT_REQUIRED),
+                new CharacterRule(false, Character::isDigit, ErrorString.DIGIT_REQUIRED)
+        };
+        RuleMatcher matcher = RuleMatcher.compile(mustBeRules, twoMustNotBeRules);
+
+        assertEquals(String.join(", ",
+                ErrorString.SPACES_NOT_ALLOWED.getErrorMessage(),
+                ErrorString.DOT_REQUIRED.getErrorMessage()),
+                matcher.match(new StringReader("a\t1"), true));
+        assertEquals(String.join(", ",
+                ErrorString.UPPERCASE_REQUIRED.getErrorMessage(),
+                ErrorString.DIGIT_REQUIRED.getErrorMessage(),
+                ErrorString.DOT_REQUIRED.getErrorMessage()),
+                matcher.match(CharBuffer.wrap("ab"), true));
+    }
+
+    @Test
+    void testMappedFileAcrossWindows() throws IOException {
+        RuleMatcher matcher = RuleMatcher.compile(mustBeRules, mustNotBeRules);
+        // Two-byte UTF-8 characters split by odd-sized windows
+        String text = "\u00e9\u0416".repeat(1000) + "A1.b" + "\u0416".repeat(1000);
+        Path file = Files.createTempFile("rules", ".txt");
+
+        try {
+            Files.writeString(file, text, StandardCharsets.UTF_8);
+
+            String expected = matcher.match(text.toCharArray());
+
+            assertEquals(expected, matcher.match(file, StandardCharsets.UTF_8, false));
+            assertEquals(expected, matcher.match(file, StandardCharsets.UTF_8, false, 7));
+
+            Files.writeString(file, text + " ", StandardCharsets.UTF_8);
+            assertEquals(ErrorString.SPACES_NOT_ALLOWED.getErrorMessage(),
+                    matcher.match(file, StandardCharsets.UTF_8, true, 5));
+
+            assertEquals(ErrorString.SPACES_NOT_ALLOWED.getErrorMessage(),
+                    matcher.match(file, StandardCharsets.UTF_8, true, 1));
+            assertThrows(IllegalArgumentException.class,
+                    () -> matcher.match(file, StandardCharsets.UTF_8, false, 0));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void testMappedFileWindowShorterThanCharacter() throws IOException {
+        RuleMatcher matcher = RuleMatcher.compile(mustBeRules, mustNotBeRules);
+        // Four-byte UTF-8 characters straddling every window boundary
+        String text = "\uD83D\uDE001" + "a\uD83D\uDE00".repeat(100) + "B.";
+        Path file = Files.createTempFile("rules", ".txt");
+
+        try {
+            Files.writeString(file, text, StandardCharsets.UTF_8);
+
+            String expected = matcher.match(text.toCharArray());
+
+            for (int windowBytes = 1; windowBytes <= 9; windowBytes++) {
+                assertEquals(expected, matcher.match(file, StandardCharsets.UTF_8, false, windowBytes));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void testMappedFileMalformedInput() throws IOException {
+        RuleMatcher matcher = RuleMatcher.compile(mustBeRules, mustNotBeRules);
+        Path file = Files.createTempFile("rules", ".txt");
+
+        try {
+            Files.write(file, new byte[] { 'a', (byte) 0xC3 });
+            assertThrows(IOException.class, () -> matcher.match(file, StandardCharsets.UTF_8, false));
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
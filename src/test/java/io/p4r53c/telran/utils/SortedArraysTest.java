@@ -0,0 +1,240 @@
+package io.p4r53c.telran.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Checks every operation against a multiset reference, on pairs of lengths
+ * that take both the linear and the galloping paths.
+ */
+class SortedArraysTest {
+
+    private static final int[][] LENGTH_PAIRS = { { 0, 0 }, { 0, 5 }, { 5, 0 }, { 1, 1 }, { 10, 12 }, { 3, 100 },
+            { 100, 3 }, { 1, 1000 }, { 1000, 1 }, { 50, 5000 }, { 5000, 50 }, { 3000, 3000 } };
+
+    private final Random random = new Random(20);
+
+    private int[] sortedInts(int length, int bound) {
+        int[] array = random.ints(length, 0, bound).toArray();
+
+        Arrays.sort(array);
+        return array;
+    }
+
+    private static TreeMap<Integer, Integer> counts(int[] array) {
+        TreeMap<Integer, Integer> counts = new TreeMap<>();
+
+        for (int value : array) {
+            counts.merge(value, 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    private static int[] expand(TreeMap<Integer, Integer> counts) {
+        return counts.entrySet().stream()
+                .flatMapToInt(e -> IntStream.generate(e::getKey).limit(Math.max(e.getValue(), 0)))
+                .toArray();
+    }
+
+    private static int[] expectedUnion(int[] first, int[] second) {
+        TreeMap<Integer, Integer> counts = counts(first);
+
+        counts(second).forEach((value, count) -> counts.merge(value, count, Math::max));
+        return expand(counts);
+    }
+
+    private static int[] expectedIntersection(int[] first, int[] second) {
+        TreeMap<Integer, Integer> counts = counts(first);
+        TreeMap<Integer, Integer> other = counts(second);
+
+        counts.replaceAll((value, count) -> Math.min(count, other.getOrDefault(value, 0)));
+        return expand(counts);
+    }
+
+    private static int[] expectedDifference(int[] first, int[] second) {
+        TreeMap<Integer, Integer> counts = counts(first);
+
+        counts(second).forEach((value, count) -> counts.computeIfPresent(value, (v, c) -> c - count));
+        return expand(counts);
+    }
+
+    @Test
+    void testIntOperations() {
+        for (int[] lengths : LENGTH_PAIRS) {
+            for (int bound : new int[] { 10, 1_000_000 }) {
+                int[] first = sortedInts(lengths[0], bound);
+                int[] second = sortedInts(lengths[1], bound);
+                int[] destination = new int[first.length + second.length];
+
+                int[] merged = IntStream.concat(Arrays.stream(first), Arrays.stream(second)).sorted().toArray();
+                int length = SortedArrays.merge(first, second, destination);
+                assertArrayEquals(merged, Arrays.copyOf(destination, length));
+
+                length = SortedArrays.union(first, second, destination);
+                assertArrayEquals(expectedUnion(first, second), Arrays.copyOf(destination, length));
+
+                length = SortedArrays.intersection(first, second, destination);
+                assertArrayEquals(expectedIntersection(first, second), Arrays.copyOf(destination, length));
+
+                length = SortedArrays.difference(first, second, destination);
+                assertArrayEquals(expectedDifference(first, second), Arrays.copyOf(destination, length));
+            }
+        }
+    }
+
+    @Test
+    void testLongOperations() {
+        for (int[] lengths : LENGTH_PAIRS) {
+            int[] first = sortedInts(lengths[0], 50);
+            int[] second = sortedInts(lengths[1], 50);
+            long[] firstLongs = toLongs(first);
+            long[] secondLongs = toLongs(second);
+            long[] destination = new long[first.length + second.length];
+
+            int length = SortedArrays.union(firstLongs, secondLongs, destination);
+            assertArrayEquals(toLongs(expectedUnion(first, second)), Arrays.copyOf(destination, length));
+
+            length = SortedArrays.intersection(firstLongs, secondLongs, destination);
+            assertArrayEquals(toLongs(expectedIntersection(first, second)), Arrays.copyOf(destination, length));
+
+            length = SortedArrays.difference(firstLongs, secondLongs, destination);
+            assertArrayEquals(toLongs(expectedDifference(first, second)), Arrays.copyOf(destination, length));
+
+            length = SortedArrays.merge(firstLongs, secondLongs, destination);
+            assertArrayEquals(LongStream.concat(Arrays.stream(firstLongs), Arrays.stream(secondLongs)).sorted()
+                    .toArray(), Arrays.copyOf(destination, length));
+        }
+    }
+
+    private static long[] toLongs(int[] array) {
+        return Arrays.stream(array).mapToLong(i -> (long) i << 33).toArray();
+    }
+
+    @Test
+    void testGenericOperationsTakeFromFirstAndKeepOrder() {
+        Comparator<User> byId = new UserIdComparator();
+
+        for (int[] lengths : LENGTH_PAIRS) {
+            User[] first = users(sortedInts(lengths[0], 20), "a");
+            User[] second = users(sortedInts(lengths[1], 20), "b");
+            User[] destination = new User[first.length + second.length];
+
+            // Merge is stable: equal ids from the first array go first
+            User[] expected = Arrays.copyOf(first, destination.length);
+            System.arraycopy(second, 0, expected, first.length, second.length);
+            Arrays.sort(expected, byId);
+
+            int length = SortedArrays.merge(first, second, byId, destination);
+            assertIdentical(expected, destination, length);
+
+            length = SortedArrays.intersection(first, second, byId, destination);
+            assertArrayEquals(expectedIntersection(ids(first), ids(second)), ids(Arrays.copyOf(destination, length)));
+            for (int i = 0; i < length; i++) {
+                assertEquals("a", destination[i].getUserLogin());
+            }
+
+            length = SortedArrays.union(first, second, byId, destination);
+            assertArrayEquals(expectedUnion(ids(first), ids(second)), ids(Arrays.copyOf(destination, length)));
+
+            length = SortedArrays.difference(first, second, byId, destination);
+            assertArrayEquals(expectedDifference(ids(first), ids(second)), ids(Arrays.copyOf(destination, length)));
+        }
+    }
+
+    @Test
+    void testGenericUnionPrefersFirst() {
+        User[] first = { new User(1, "a"), new User(2, "a"), new User(2, "a") };
+        User[] second = { new User(2, "b"), new User(2, "b"), new User(2, "b"), new User(3, "b") };
+        User[] destination = new User[7];
+
+        int length = SortedArrays.union(first, second, new UserIdComparator(), destination);
+
+        assertEquals(5, length);
+        assertArrayEquals(new User[] { first[0], first[1], first[2], second[2], second[3] },
+                Arrays.copyOf(destination, length));
+    }
+
+    @Test
+    void testMergeAll() {
+        for (int k : new int[] { 0, 1, 2, 3, 7, 64 }) {
+            int[][] arrays = new int[k][];
+
+            for (int a = 0; a < k; a++) {
+                arrays[a] = sortedInts(random.nextInt(3) == 0 ? 0 : random.nextInt(500), 100);
+            }
+
+            int[] expected = Arrays.stream(arrays).flatMapToInt(Arrays::stream).sorted().toArray();
+            int[] destination = new int[expected.length];
+
+            assertEquals(expected.length, SortedArrays.mergeAll(arrays, destination));
+            assertArrayEquals(expected, destination);
+
+            long[][] longs = Arrays.stream(arrays).map(SortedArraysTest::toLongs).toArray(long[][]::new);
+            long[] longDestination = new long[expected.length];
+
+            assertEquals(expected.length, SortedArrays.mergeAll(longs, longDestination));
+            assertArrayEquals(toLongs(expected), longDestination);
+        }
+    }
+
+    @Test
+    void testGenericMergeAllIsStable() {
+        Comparator<User> byId = new UserIdComparator();
+        User[][] arrays = new User[5][];
+
+        for (int a = 0; a < arrays.length; a++) {
+            arrays[a] = users(sortedInts(200, 30), Integer.toString(a));
+        }
+
+        User[] expected = Arrays.stream(arrays).flatMap(Arrays::stream).toArray(User[]::new);
+        Arrays.sort(expected, byId);
+
+        User[] destination = new User[expected.length];
+
+        assertEquals(expected.length, SortedArrays.mergeAll(arrays, byId, destination));
+        assertIdentical(expected, destination, expected.length);
+    }
+
+    @Test
+    void testDestinationTooShort() {
+        int[] first = { 1, 2, 3 };
+        int[] second = { 2, 3, 4 };
+
+        assertThrows(IllegalArgumentException.class, () -> SortedArrays.merge(first, second, new int[5]));
+        assertThrows(IllegalArgumentException.class, () -> SortedArrays.union(first, second, new int[5]));
+        assertThrows(IllegalArgumentException.class, () -> SortedArrays.intersection(first, second, new int[2]));
+        assertThrows(IllegalArgumentException.class, () -> SortedArrays.difference(first, second, new int[2]));
+        assertThrows(IllegalArgumentException.class,
+                () -> SortedArrays.mergeAll(new int[][] { first, second, first }, new int[8]));
+
+        // The bounds are what the caller can know up front, not the actual size
+        assertEquals(2, SortedArrays.intersection(first, second, new int[3]));
+    }
+
+    private static User[] users(int[] ids, String login) {
+        return Arrays.stream(ids).mapToObj(id -> new User(id, login)).toArray(User[]::new);
+    }
+
+    private static int[] ids(User[] users) {
+        return Arrays.stream(users).mapToInt(User::getUserId).toArray();
+    }
+
+    private static void assertIdentical(User[] expected, User[] actual, int length) {
+        assertEquals(expected.length, length);
+
+        for (int i = 0; i < length; i++) {
+            assertSame(expected[i], actual[i]);
+        }
+    }
+}
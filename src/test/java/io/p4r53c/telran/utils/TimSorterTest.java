@@ -0,0 +1,121 @@
+package io.p4r53c.telran.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link TimSorter} through {@link ArraysUtils#sort(Object[], Comparator)}:
+ * ordering, stability and comparator call counts.
+ */
+class TimSorterTest {
+
+    private static final int N_ELEMENTS = 10_000;
+    private static final int N_KEYS = 100;
+
+    private User[] users;
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(42);
+
+        // Login is the sort key, userId records the original position
+        users = new User[N_ELEMENTS];
+        for (int i = 0; i < N_ELEMENTS; i++) {
+            users[i] = new User(i, "user" + random.nextInt(N_KEYS));
+        }
+    }
+
+    @Test
+    void testSortIsStable() {
+        User[] expected = users.clone();
+        Arrays.sort(expected, new UserLoginComparator());
+
+        ArraysUtils.sort(users, new UserLoginComparator());
+
+        assertArrayEquals(expected, users);
+        for (int i = 1; i < N_ELEMENTS; i++) {
+            if (users[i - 1].getUserLogin().equals(users[i].getUserLogin())) {
+                assertTrue(users[i - 1].getUserId() < users[i].getUserId());
+            }
+        }
+    }
+
+    @Test
+    void testComparisonsAreLinearithmic() {
+        CountingComparator<User> comparator = new CountingComparator<>(new UserIdComparator());
+        long bound = (long) N_ELEMENTS * (32 - Integer.numberOfLeadingZeros(N_ELEMENTS));
+
+        shuffle(users);
+        ArraysUtils.sort(users, comparator);
+
+        assertTrue(comparator.getCount() <= bound, "comparisons: " + comparator.getCount());
+        for (int i = 0; i < N_ELEMENTS; i++) {
+            assertEquals(i, users[i].getUserId());
+        }
+    }
+
+    @Test
+    void testPresortedInputTakesLinearComparisons() {
+        CountingComparator<User> comparator = new CountingComparator<>(new UserIdComparator());
+
+        ArraysUtils.sort(users, comparator);
+        assertEquals(N_ELEMENTS - 1, comparator.getCount());
+
+        comparator.reset();
+        ArraysUtils.sort(users, comparator.reversed());
+        assertEquals(N_ELEMENTS - 1, comparator.getCount());
+        assertEquals(N_ELEMENTS - 1, users[0].getUserId());
+    }
+
+    @Test
+    void testGallopingMergeOfInterleavedBlocks() {
+        // Long blocks alternating between two ranges force galloping in both
+        // merge directions
+        Integer[] array = new Integer[N_ELEMENTS];
+        int block = 500;
+
+        for (int i = 0; i < N_ELEMENTS; i++) {
+            int blockIndex = i / block;
+            array[i] = (blockIndex % 2 == 0 ? 0 : N_ELEMENTS) + blockIndex * block + i % block;
+        }
+
+        Integer[] expected = array.clone();
+        Arrays.sort(expected);
+
+        ArraysUtils.sort(array, Comparator.naturalOrder());
+        assertArrayEquals(expected, array);
+    }
+
+    @Test
+    void testRepeatedSortsReuseBuffer() {
+        for (int round = 0; round < 3; round++) {
+            shuffle(users);
+            ArraysUtils.sort(users, new UserIdComparator());
+            assertEquals(0, users[0].getUserId());
+            assertEquals(N_ELEMENTS - 1, users[N_ELEMENTS - 1].getUserId());
+        }
+    }
+
+    @Test
+    void testMinRunLength() {
+        assertEquals(31, TimSorter.minRunLength(31));
+        assertEquals(16, TimSorter.minRunLength(1024));
+        assertEquals(17, TimSorter.minRunLength(1025));
+    }
+
+    private static void shuffle(User[] array) {
+        Random random = new Random(7);
+
+        for (int i = array.length - 1; i > 0; i--) {
+            ArraysUtils.swap(array, i, random.nextInt(i + 1));
+        }
+    }
+}